@@ -0,0 +1,43 @@
+package org.example.bench;
+
+import org.example.Difficulty;
+import org.example.Level;
+import org.example.brick.Brick;
+import org.example.brick.BrickGrid;
+import org.example.brick.UnbreakableBrick;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Level helpers shared by the benchmarks. Levels are read from assets/ in the
+ * working directory, so benchmarks must be started from the repository root.
+ */
+final class BenchLevels {
+    private BenchLevels() {
+    }
+
+    static void requireAssets() {
+        if (!Files.isDirectory(Path.of("assets/levels"))) {
+            throw new IllegalStateException("assets/levels not found; run the benchmarks from the repository root");
+        }
+    }
+
+    /**
+     * The bundled level with every brick replaced by an unbreakable one of the same geometry,
+     * so collisions can be repeated without the layout wearing away.
+     */
+    static BrickGrid unbreakableCopy(Difficulty difficulty, int level) {
+        requireAssets();
+        BrickGrid source = Level.loadLevel(difficulty, level);
+        BrickGrid copy = new BrickGrid(source.getLayout());
+        for (int cell = 0; cell < source.getLayout().getCellCount(); cell++) {
+            Brick b = source.getCell(cell);
+            if (b == null) continue;
+            int row = cell / source.getLayout().getCols();
+            int col = cell % source.getLayout().getCols();
+            copy.put(row, col, new UnbreakableBrick(b.getX(), b.getY(), b.getWidth(), b.getHeight()));
+        }
+        return copy;
+    }
+}
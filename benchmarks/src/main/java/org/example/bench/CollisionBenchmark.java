@@ -0,0 +1,117 @@
+package org.example.bench;
+
+import org.example.CollisionManager;
+import org.example.Difficulty;
+import org.example.GameWorld;
+import org.example.Paddle;
+import org.example.ball.Ball;
+import org.example.brick.Brick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One ball against a whole bundled brick layout, the way a tick tests it.
+ * Ball positions cycle through a fixed random sample of the playfield, so most
+ * tests miss and a few hit, as in play. Bricks are unbreakable copies of the
+ * level's bricks so hits don't change the layout between invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final int POSITIONS = 1024;
+    private static final double BALL_SIZE = 10;
+
+    @Param({"EASY:1", "MEDIUM:2", "HARD:3"})
+    public String level;
+
+    private List<Brick> bricks;
+    private Paddle paddle;
+    private final double[] xs = new double[POSITIONS];
+    private final double[] ys = new double[POSITIONS];
+    private Ball[] sampleBalls;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        String[] parts = level.split(":");
+        bricks = BenchLevels.unbreakableCopy(Difficulty.valueOf(parts[0]), Integer.parseInt(parts[1])).getBricks();
+        paddle = new Paddle(GameWorld.WIDTH / 2.0 - 60, GameWorld.HEIGHT - 40, 120, 15);
+
+        Random random = new Random(42);
+        sampleBalls = new Ball[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            xs[i] = random.nextDouble() * (GameWorld.WIDTH - BALL_SIZE);
+            ys[i] = random.nextDouble() * (GameWorld.HEIGHT - BALL_SIZE);
+            sampleBalls[i] = new Ball(xs[i], ys[i], BALL_SIZE, 1.5, 1.5);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (POSITIONS - 1);
+        return next;
+    }
+
+    /**
+     * Pure AABB tests against every brick; balls are never moved.
+     */
+    @Benchmark
+    public int isCollidingAllBricks() {
+        Ball ball = sampleBalls[nextIndex()];
+        int hits = 0;
+        for (Brick b : bricks) {
+            if (CollisionManager.isColliding(ball, b)) hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * Full ball/brick handling against every brick. A fresh ball is made per call
+     * because a hit moves and reflects it.
+     */
+    @Benchmark
+    public Ball handleBallBrickAllBricks() {
+        int i = nextIndex();
+        Ball ball = new Ball(xs[i], ys[i], BALL_SIZE, 1.5, -1.5);
+        for (Brick b : bricks) {
+            CollisionManager.handleBallBrickCollision(ball, b);
+        }
+        return ball;
+    }
+
+    /**
+     * Ball/paddle handling for a ball that misses the paddle.
+     */
+    @Benchmark
+    public Ball handleBallPaddleMiss() {
+        Ball ball = sampleBalls[nextIndex()];
+        CollisionManager.handleBallPaddleCollision(ball, paddle);
+        return ball;
+    }
+
+    /**
+     * Ball/paddle handling for a ball landing on the paddle, including the bounce.
+     */
+    @Benchmark
+    public Ball handleBallPaddleHit() {
+        Ball ball = new Ball(paddle.getX() + 40, paddle.getY() - BALL_SIZE + 2, BALL_SIZE, 1.5, 1.5);
+        CollisionManager.handleBallPaddleCollision(ball, paddle);
+        return ball;
+    }
+}
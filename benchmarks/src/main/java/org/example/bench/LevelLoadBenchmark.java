@@ -0,0 +1,47 @@
+package org.example.bench;
+
+import org.example.Difficulty;
+import org.example.Level;
+import org.example.brick.BrickGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Level#loadLevel} on every bundled level: map the compiled file (or parse the text
+ * level if it hasn't been compiled) and build the brick grid.
+ * Files are in the OS page cache after warmup, so this is load/build cost, not disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelLoadBenchmark {
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public Difficulty difficulty;
+
+    @Param({"1", "2", "3"})
+    public int level;
+
+    @Setup
+    public void setUp() {
+        BenchLevels.requireAssets();
+    }
+
+    @Benchmark
+    public BrickGrid loadLevel() {
+        return Level.loadLevel(difficulty, level);
+    }
+}
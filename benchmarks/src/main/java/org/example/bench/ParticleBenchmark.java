@@ -0,0 +1,90 @@
+package org.example.bench;
+
+import org.example.GameWorld;
+import org.example.effects.ParticleSystem;
+import org.example.render.PixelRasterizer;
+import org.example.render.Sprite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of particles at a steady live count: {@link ParticleSystem#update} by a
+ * 60 Hz step, topping the pool back up with brick debris as particles die, then
+ * clearing and plotting them into a playfield-sized target at scale 1, as
+ * {@code ParticleLayer} does. Run with {@code -prof gc} to check that a frame
+ * allocates nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleBenchmark {
+    private static final float FRAME_SECONDS = 1f / 60;
+    private static final Sprite[] DEBRIS = {Sprite.BRICK_YELLOW, Sprite.BRICK_ORANGE, Sprite.BRICK_RED};
+
+    @Param({"5000", "50000"})
+    public int particles;
+
+    private ParticleSystem system;
+    private PixelRasterizer target;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = new ParticleSystem();
+        target = new PixelRasterizer(new int[GameWorld.WIDTH * GameWorld.HEIGHT], GameWorld.WIDTH, GameWorld.HEIGHT);
+        random = new Random(11);
+        topUp();
+        // Spread the lifetimes out, as in play, rather than all dying together
+        for (int i = 0; i < 60; i++) {
+            system.update(FRAME_SECONDS);
+            topUp();
+        }
+    }
+
+    /** Bricks broken in the usual brick area until the pool is back at the target count. */
+    private void topUp() {
+        while (system.getCount() < particles) {
+            system.emitBrickDebris(random.nextInt(GameWorld.WIDTH - 50), 50 + random.nextInt(250), 50, 20,
+                    DEBRIS[random.nextInt(DEBRIS.length)]);
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        system.update(FRAME_SECONDS);
+        topUp();
+        return system.getCount();
+    }
+
+    @Benchmark
+    public int plot() {
+        target.clearBlended(0);
+        system.draw(target, 1.0);
+        return target.getPixels()[0];
+    }
+
+    @Benchmark
+    public int frame() {
+        system.update(FRAME_SECONDS);
+        topUp();
+        target.clearBlended(0);
+        system.draw(target, 1.0);
+        return system.getCount();
+    }
+}
@@ -0,0 +1,320 @@
+package org.example.bench;
+
+import org.example.AudioSink;
+import org.example.Difficulty;
+import org.example.FrameSnapshot;
+import org.example.GameState;
+import org.example.GameWorld;
+import org.example.ScoreManager;
+import org.example.ball.Ball;
+import org.example.brick.BrickGrid;
+import org.example.brick.GridLayout;
+import org.example.brick.NormalBrick;
+import org.example.brick.UnbreakableBrick;
+import org.example.effects.ParticleSystem;
+import org.example.powerup.BiggerPaddle;
+import org.example.powerup.BreakerBall;
+import org.example.powerup.FastBall;
+import org.example.powerup.PowerUp;
+import org.example.powerup.TripleBallPowerUp;
+import org.example.render.FrameRasterizer;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Macro benchmark of how tick and render cost grow with load.
+ * For every point on a grid of ball count x level size x falling power-ups it
+ * builds a synthetic world, measures ticks per second and the cost of rasterising
+ * one frame with the software renderer's {@link FrameRasterizer} (headless, scale 1),
+ * and writes:
+ * <ul>
+ *     <li>{@code scaling.csv}: one row per grid point</li>
+ *     <li>{@code scaling-summary.txt}: log-log fitted growth exponents along each axis,
+ *     overall and between neighbouring points, so the step where cost stops growing
+ *     linearly stands out</li>
+ * </ul>
+ * Loads are held steady while measuring: bricks are unbreakable (plus one breakable
+ * brick out of reach, so the level never counts as cleared), and between timed chunks
+ * balls, power-ups and lives are topped back up to the grid point's values.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.example.bench.ScalingHarness --out=scaling
+ * </pre>
+ * Run from the repository root, like the benchmarks.
+ */
+public class ScalingHarness {
+    private static final int[] BALLS = {1, 10, 100, 1000, 10000};
+    private static final int[][] LEVELS = {{8, 7}, {16, 14}, {32, 28}, {64, 56}};
+    private static final int[] POWER_UPS = {0, 100, 1000, 10000};
+
+    private static final int[] QUICK_BALLS = {1, 100, 10000};
+    private static final int[][] QUICK_LEVELS = {{8, 7}, {32, 28}};
+    private static final int[] QUICK_POWER_UPS = {0, 1000};
+
+    private static final int CHUNK_TICKS = 30;
+    private static final int WARMUP_CHUNKS = 3;
+    private static final int MIN_CHUNKS = 3;
+    private static final int RENDERS_PER_CHUNK = 2;
+    private static final double BRICK_AREA_TOP = 50;
+    private static final double BRICK_AREA_HEIGHT = 300;
+
+    private final long measureNanos;
+    private final Random random = new Random(3);
+    private final FrameSnapshot snapshot = new FrameSnapshot();
+    private final ParticleSystem noParticles = new ParticleSystem(1);
+
+    /** One measured grid point. */
+    private record Point(int balls, int cells, int powerUps, double ticksPerSecond, double tickMicros,
+                         double renderMicros, long ticks) {
+        double value(boolean render) {
+            return render ? renderMicros : tickMicros;
+        }
+    }
+
+    private ScalingHarness(long measureNanos) {
+        this.measureNanos = measureNanos;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = Path.of("scaling");
+        boolean quick = false;
+        double seconds = 1.0;
+        for (String arg : args) {
+            if (arg.startsWith("--out=")) out = Path.of(arg.substring(6));
+            else if (arg.equals("--quick")) quick = true;
+            else if (arg.startsWith("--seconds=")) seconds = Double.parseDouble(arg.substring(10));
+            else {
+                System.err.println("Unknown option " + arg + "; options: --out=DIR --quick --seconds=N");
+                System.exit(2);
+            }
+        }
+        BenchLevels.requireAssets();
+
+        ScalingHarness harness = new ScalingHarness((long) (seconds * 1e9));
+        List<Point> points = harness.measureGrid(quick ? QUICK_BALLS : BALLS, quick ? QUICK_LEVELS : LEVELS,
+                quick ? QUICK_POWER_UPS : POWER_UPS);
+
+        Files.createDirectories(out);
+        writeCsv(out.resolve("scaling.csv"), points);
+        String summary = summarize(points);
+        Files.writeString(out.resolve("scaling-summary.txt"), summary);
+        System.out.print(summary);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private List<Point> measureGrid(int[] ballCounts, int[][] levels, int[] powerUpCounts) {
+        // Compile the tick and raster paths before the first real point, or the
+        // smallest loads (measured first) come out slower than the larger ones.
+        for (int[] level : levels) {
+            measure(100, level[0], level[1], 1000, measureNanos / 2);
+        }
+
+        List<Point> points = new ArrayList<>();
+        for (int[] level : levels) {
+            for (int powerUps : powerUpCounts) {
+                for (int balls : ballCounts) {
+                    Point p = measure(balls, level[0], level[1], powerUps, measureNanos);
+                    points.add(p);
+                    System.out.printf(Locale.ROOT, "balls=%-6d cells=%-5d power-ups=%-6d %10.0f ticks/s %10.1f us/tick %8.1f us/render%n",
+                            p.balls(), p.cells(), p.powerUps(), p.ticksPerSecond(), p.tickMicros(), p.renderMicros());
+                }
+            }
+        }
+        return points;
+    }
+
+    private Point measure(int balls, int rows, int cols, int powerUps, long budgetNanos) {
+        GameWorld world = new GameWorld(Difficulty.MEDIUM, AudioSink.SILENT);
+        world.setBrickGrid(syntheticLevel(rows, cols));
+        FrameRasterizer rasterizer = new FrameRasterizer(GameWorld.WIDTH, GameWorld.HEIGHT, 1.0);
+
+        long tickNanos = 0;
+        long ticks = 0;
+        long renderNanos = 0;
+        long renders = 0;
+        for (int chunk = 0; ; chunk++) {
+            topUp(world, balls, powerUps);
+            long start = System.nanoTime();
+            for (int t = 0; t < CHUNK_TICKS; t++) {
+                world.tick(false, (t & 16) != 0);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (world.getGameState() != GameState.PLAYING) {
+                throw new IllegalStateException("world left the steady state: " + world.getGameState());
+            }
+
+            world.writeSnapshot(snapshot);
+            long renderStart = System.nanoTime();
+            for (int r = 0; r < RENDERS_PER_CHUNK; r++) {
+                rasterizer.rasterize(snapshot, noParticles);
+            }
+            long renderElapsed = System.nanoTime() - renderStart;
+
+            if (chunk < WARMUP_CHUNKS) continue;
+            tickNanos += elapsed;
+            ticks += CHUNK_TICKS;
+            renderNanos += renderElapsed;
+            renders += RENDERS_PER_CHUNK;
+            if (chunk - WARMUP_CHUNKS + 1 >= MIN_CHUNKS && tickNanos + renderNanos >= budgetNanos) break;
+        }
+        double tickMicros = tickNanos / 1e3 / ticks;
+        return new Point(balls, rows * cols, powerUps, 1e6 / tickMicros, tickMicros,
+                renderNanos / 1e3 / renders, ticks);
+    }
+
+    /**
+     * A rows x cols level filling the usual brick area, all unbreakable apart from
+     * one unreachable breakable sentinel that keeps the win check false.
+     */
+    private static BrickGrid syntheticLevel(int rows, int cols) {
+        double spacing = Math.max(1, Math.min(5, BRICK_AREA_HEIGHT / rows / 6));
+        double cellWidth = (GameWorld.WIDTH - (cols + 1) * spacing) / cols;
+        double cellHeight = Math.min(25, BRICK_AREA_HEIGHT / rows - spacing);
+        GridLayout layout = new GridLayout(rows, cols, spacing, BRICK_AREA_TOP, cellWidth, cellHeight, spacing);
+        BrickGrid grid = new BrickGrid(layout);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (row == 0 && col == 0) {
+                    grid.put(row, col, new NormalBrick(0, -1000, 10, 10));
+                } else {
+                    grid.put(row, col, new UnbreakableBrick(layout.cellX(col), layout.cellY(row), cellWidth, cellHeight));
+                }
+            }
+        }
+        return grid;
+    }
+
+    private void topUp(GameWorld world, int balls, int powerUps) {
+        ScoreManager score = world.getScoreManager();
+        while (score.getLives() < 3) score.addLife();
+
+        List<Ball> inFlight = world.getBalls();
+        while (inFlight.size() > balls) inFlight.remove(inFlight.size() - 1);
+        double below = BRICK_AREA_TOP + BRICK_AREA_HEIGHT + 10;
+        while (inFlight.size() < balls) {
+            double x = 5 + random.nextDouble() * (GameWorld.WIDTH - 20);
+            double y = below + random.nextDouble() * (GameWorld.HEIGHT - below - 80);
+            inFlight.add(new Ball(x, y, 10, random.nextBoolean() ? 1.5 : -1.5, random.nextBoolean() ? 1.5 : -1.5));
+        }
+
+        // Respawned every chunk, high enough that none reaches the paddle before the next
+        // top-up: a collected TripleBall would otherwise multiply the ball count mid-chunk.
+        List<PowerUp> falling = world.getPowerUps();
+        falling.clear();
+        while (falling.size() < powerUps) {
+            double x = random.nextDouble() * (GameWorld.WIDTH - 18);
+            double y = random.nextDouble() * (GameWorld.HEIGHT - 150 - CHUNK_TICKS);
+            falling.add(switch (random.nextInt(4)) {
+                case 0 -> new FastBall(x, y, 18);
+                case 1 -> new TripleBallPowerUp(x, y, 18);
+                case 2 -> new BiggerPaddle(x, y, 18);
+                default -> new BreakerBall(x, y, 18);
+            });
+        }
+    }
+
+    private static void writeCsv(Path file, List<Point> points) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("balls,brick_cells,power_ups,ticks_per_second,tick_us,render_us,ticks_measured");
+            for (Point p : points) {
+                out.printf(Locale.ROOT, "%d,%d,%d,%.1f,%.3f,%.3f,%d%n", p.balls(), p.cells(), p.powerUps(),
+                        p.ticksPerSecond(), p.tickMicros(), p.renderMicros(), p.ticks());
+            }
+        }
+    }
+
+    private enum Axis {
+        BALLS("balls"), CELLS("brick cells"), POWER_UPS("power-ups");
+
+        final String label;
+
+        Axis(String label) {
+            this.label = label;
+        }
+
+        int of(Point p) {
+            return switch (this) {
+                case BALLS -> p.balls();
+                case CELLS -> p.cells();
+                case POWER_UPS -> p.powerUps();
+            };
+        }
+    }
+
+    /**
+     * For each axis and each setting of the other two, the slope of log(cost) against
+     * log(axis value): ~1 is linear, ~2 quadratic, ~0 means that axis doesn't matter there.
+     * Zero-valued points (no power-ups) can't go on a log axis and are left out of the fit.
+     */
+    private static String summarize(List<Point> points) {
+        StringBuilder out = new StringBuilder();
+        out.append("Fitted growth exponents, cost ~ n^k\n");
+        out.append("overall = least-squares fit over the line; steps = between neighbouring points\n\n");
+        for (boolean render : new boolean[]{false, true}) {
+            out.append(render ? "Render (us per frame)\n" : "Tick (us per tick)\n");
+            for (Axis axis : Axis.values()) {
+                List<String> seen = new ArrayList<>();
+                for (Point anchor : points) {
+                    String key = otherAxesKey(anchor, axis);
+                    if (seen.contains(key)) continue;
+                    seen.add(key);
+
+                    List<Point> line = new ArrayList<>();
+                    for (Point p : points) {
+                        if (otherAxesKey(p, axis).equals(key) && axis.of(p) > 0) line.add(p);
+                    }
+                    line.sort((a, b) -> Integer.compare(axis.of(a), axis.of(b)));
+                    if (line.size() < 2) continue;
+
+                    out.append(String.format(Locale.ROOT, "  %-11s at %-30s overall k=%5.2f  steps:",
+                            axis.label, key, fitExponent(line, axis, render)));
+                    for (int i = 1; i < line.size(); i++) {
+                        Point a = line.get(i - 1);
+                        Point b = line.get(i);
+                        double k = Math.log(b.value(render) / a.value(render)) / Math.log((double) axis.of(b) / axis.of(a));
+                        out.append(String.format(Locale.ROOT, " %d->%d %.2f", axis.of(a), axis.of(b), k));
+                    }
+                    out.append('\n');
+                }
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String otherAxesKey(Point p, Axis axis) {
+        StringBuilder key = new StringBuilder();
+        for (Axis other : Axis.values()) {
+            if (other == axis) continue;
+            if (key.length() > 0) key.append(", ");
+            key.append(other.label).append('=').append(other.of(p));
+        }
+        return key.toString();
+    }
+
+    private static double fitExponent(List<Point> line, Axis axis, boolean render) {
+        int n = line.size();
+        double meanX = 0;
+        double meanY = 0;
+        for (Point p : line) {
+            meanX += Math.log(axis.of(p));
+            meanY += Math.log(p.value(render));
+        }
+        meanX /= n;
+        meanY /= n;
+        double covariance = 0;
+        double variance = 0;
+        for (Point p : line) {
+            double dx = Math.log(axis.of(p)) - meanX;
+            covariance += dx * (Math.log(p.value(render)) - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+}
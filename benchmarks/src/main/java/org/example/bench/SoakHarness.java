@@ -0,0 +1,350 @@
+package org.example.bench;
+
+import org.example.AudioSink;
+import org.example.Difficulty;
+import org.example.FrameSnapshot;
+import org.example.GameWorld;
+import org.example.Paddle;
+import org.example.ball.Ball;
+import org.example.brick.Brick;
+import org.example.brick.UnbreakableBrick;
+import org.example.perf.GcMonitor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Headless soak test. Plays many simulated hours of the game as fast as the CPU
+ * allows, cycling through every difficulty and level with a noisy bot, and samples
+ * live heap, entity counts, allocation per tick and GC pauses at a fixed simulated
+ * interval. The samples are fitted with a straight line: process-wide metrics
+ * against run time (after a warmup), entity counts against the age of the game
+ * session they were taken in, since a world's entities die with it. If any
+ * metric's fitted growth is larger than its tolerance, the harness prints the
+ * report and exits with status 1.
+ * <p>
+ * Ball paths don't depend on where the paddle hits, so a ball can settle into a
+ * loop that never reaches the last bricks. When no points are scored for a while
+ * the harness clears the level itself, as a player eventually would.
+ * <p>
+ * By default a life is given back whenever the bot is down to its last one, so a
+ * session only ends when all levels are won; long sessions are where leaks show.
+ * {@code --allow-game-over} plays normal games instead.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.example.bench.SoakHarness --hours=24 --csv=soak.csv
+ * </pre>
+ * Run from the repository root, like the benchmarks.
+ */
+public class SoakHarness {
+    private static final int TICKS_PER_MINUTE = 60 * 60;
+    // Samples before this fraction of the run are warmup and not fitted
+    private static final double WARMUP_FRACTION = 0.2;
+
+    private static final long STALL_TICKS = 3L * TICKS_PER_MINUTE;
+
+    /** One sampled metric and how much fitted growth it may show. */
+    private enum Metric {
+        LIVE_HEAP_KB("live heap KB", false, 0.25, 2048),
+        // Entity counts should not grow with session age at all, beyond sampling noise
+        BALLS("balls", true, 0, 3),
+        POWER_UPS("power-ups", true, 0, 3),
+        ALLOC_BYTES_PER_TICK("alloc B/tick", false, 0.25, 64),
+        GC_PAUSE_MS("gc pause ms", false, 0.5, 20);
+
+        final String label;
+        final boolean perSession;
+        final double relativeTolerance;
+        final double absoluteFloor;
+
+        Metric(String label, boolean perSession, double relativeTolerance, double absoluteFloor) {
+            this.label = label;
+            this.perSession = perSession;
+            this.relativeTolerance = relativeTolerance;
+            this.absoluteFloor = absoluteFloor;
+        }
+    }
+
+    private final Random random;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final GcMonitor gcMonitor = new GcMonitor();
+    private final FrameSnapshot snapshot = new FrameSnapshot();
+
+    private final boolean keepAlive;
+    private GameWorld world;
+    private int session;
+    private int levelsCleared;
+    private int gamesLost;
+    private int gamesWon;
+    private int forcedClears;
+    private long sessionTicks;
+    private long ticksSinceScore;
+    private int lastScore;
+
+    // Bot state
+    private final boolean[] keys = new boolean[2];
+    private double aimOffset;
+    private int ticksUntilNewAim;
+    private int randomKeyTicks;
+    private boolean randomLeft;
+
+    private SoakHarness(long seed, boolean keepAlive) {
+        random = new Random(seed);
+        this.keepAlive = keepAlive;
+    }
+
+    public static void main(String[] args) throws IOException {
+        double hours = 24;
+        double sampleMinutes = 5;
+        long seed = 1;
+        Path csv = null;
+        boolean keepAlive = true;
+        for (String arg : args) {
+            if (arg.startsWith("--hours=")) hours = Double.parseDouble(arg.substring(8));
+            else if (arg.startsWith("--sample-minutes=")) sampleMinutes = Double.parseDouble(arg.substring(17));
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring(7));
+            else if (arg.startsWith("--csv=")) csv = Path.of(arg.substring(6));
+            else if (arg.equals("--allow-game-over")) keepAlive = false;
+            else {
+                System.err.println("Unknown option " + arg
+                        + "; options: --hours=N --sample-minutes=N --seed=N --csv=FILE --allow-game-over");
+                System.exit(2);
+            }
+        }
+        BenchLevels.requireAssets();
+
+        boolean passed = new SoakHarness(seed, keepAlive).run(hours, sampleMinutes, csv);
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(double hours, double sampleMinutes, Path csv) throws IOException {
+        long totalTicks = (long) (hours * 60 * TICKS_PER_MINUTE);
+        long ticksPerSample = Math.max(1, (long) (sampleMinutes * TICKS_PER_MINUTE));
+        int sampleCount = (int) (totalTicks / ticksPerSample);
+        double[][] samples = new double[Metric.values().length][sampleCount];
+        double[] sessionAges = new double[sampleCount];
+        long threadId = Thread.currentThread().getId();
+
+        newSession();
+        long started = System.nanoTime();
+        for (int s = 0; s < sampleCount; s++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            int maxBalls = 0;
+            int maxPowerUps = 0;
+            for (long t = 0; t < ticksPerSample; t++) {
+                step();
+                maxBalls = Math.max(maxBalls, world.getBalls().size());
+                maxPowerUps = Math.max(maxPowerUps, world.getPowerUps().size());
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            // Pauses while playing, then a full collection so the heap figure is live data only
+            gcMonitor.sample();
+            long pauseMillis = gcMonitor.getRecentTimeMillis();
+            System.gc();
+            long liveHeap = memory.getHeapMemoryUsage().getUsed();
+            gcMonitor.sample();
+
+            samples[Metric.LIVE_HEAP_KB.ordinal()][s] = liveHeap / 1024.0;
+            samples[Metric.BALLS.ordinal()][s] = maxBalls;
+            samples[Metric.POWER_UPS.ordinal()][s] = maxPowerUps;
+            samples[Metric.ALLOC_BYTES_PER_TICK.ordinal()][s] = (double) allocated / ticksPerSample;
+            samples[Metric.GC_PAUSE_MS.ordinal()][s] = pauseMillis;
+            sessionAges[s] = sessionTicks / (double) TICKS_PER_MINUTE;
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        if (csv != null) {
+            writeCsv(csv, samples, sessionAges, sampleCount, sampleMinutes);
+        }
+        return report(samples, sessionAges, sampleCount, hours, seconds);
+    }
+
+    private void newSession() {
+        Difficulty difficulty = Difficulty.values()[session % Difficulty.values().length];
+        session++;
+        world = new GameWorld(difficulty, AudioSink.SILENT);
+        sessionTicks = 0;
+        ticksSinceScore = 0;
+        lastScore = 0;
+    }
+
+    private void step() {
+        switch (world.getGameState()) {
+            case PLAYING -> {
+                if (keepAlive && world.getScoreManager().getLives() == 1) {
+                    // Kiosk-style: one session keeps going for as long as the bot can't win
+                    world.getScoreManager().addLife();
+                }
+                boolean[] keys = botKeys();
+                world.tick(keys[0], keys[1]);
+                world.writeSnapshot(snapshot);
+                sessionTicks++;
+                trackStall();
+            }
+            case LEVEL_TRANSITION -> {
+                levelsCleared++;
+                world.continueToNextLevel();
+            }
+            case GAME_OVER -> {
+                gamesLost++;
+                newSession();
+            }
+            case GAME_WON -> {
+                levelsCleared++;
+                gamesWon++;
+                newSession();
+            }
+        }
+    }
+
+    private void trackStall() {
+        int score = world.getScoreManager().getScore();
+        if (score != lastScore) {
+            lastScore = score;
+            ticksSinceScore = 0;
+        } else if (++ticksSinceScore > STALL_TICKS) {
+            for (Brick b : world.getBrickGrid().getBricks()) {
+                if (!(b instanceof UnbreakableBrick)) b.destroy();
+            }
+            forcedClears++;
+            ticksSinceScore = 0;
+        }
+    }
+
+    /**
+     * Follows the lowest falling ball with a wandering aim offset, and now and then
+     * mashes a random direction for a moment, so it both clears levels and loses lives.
+     */
+    private boolean[] botKeys() {
+        keys[0] = false;
+        keys[1] = false;
+        if (randomKeyTicks > 0) {
+            randomKeyTicks--;
+            keys[randomLeft ? 0 : 1] = true;
+            return keys;
+        }
+        if (random.nextInt(600) == 0) {
+            randomKeyTicks = 10 + random.nextInt(50);
+            randomLeft = random.nextBoolean();
+        }
+        if (--ticksUntilNewAim <= 0) {
+            aimOffset = (random.nextDouble() - 0.5) * 100;
+            ticksUntilNewAim = 30 + random.nextInt(90);
+        }
+
+        Ball target = null;
+        for (Ball ball : world.getBalls()) {
+            if (ball.getDy() > 0 && (target == null || ball.getY() > target.getY())) {
+                target = ball;
+            }
+        }
+        if (target == null && !world.getBalls().isEmpty()) {
+            target = world.getBalls().get(0);
+        }
+        if (target == null) return keys;
+
+        Paddle paddle = world.getPaddle();
+        double paddleCenter = paddle.getX() + paddle.getWidth() / 2;
+        double aim = target.getX() + target.getSize() / 2 + aimOffset * 0.3;
+        if (aim < paddleCenter - 8) keys[0] = true;
+        else if (aim > paddleCenter + 8) keys[1] = true;
+        return keys;
+    }
+
+    private boolean report(double[][] samples, double[] sessionAges, int n, double hours, double seconds) {
+        System.out.printf(Locale.ROOT, "Soak: %.1f simulated hours in %.1f s (%.0fx), %d sessions, "
+                        + "%d levels cleared (%d forced), %d games won, %d lost%n",
+                hours, seconds, hours * 3600 / seconds, session, levelsCleared, forcedClears, gamesWon, gamesLost);
+        int from = (int) (n * WARMUP_FRACTION);
+        if (n - from < 3) {
+            System.out.println("Too few samples to fit a trend; run longer or sample more often.");
+            return true;
+        }
+        double[] runTime = new double[n];
+        for (int i = 0; i < n; i++) runTime[i] = i;
+
+        boolean passed = true;
+        System.out.printf(Locale.ROOT, "%-14s %-12s %10s %10s %10s %14s %10s  %s%n",
+                "metric", "fitted vs", "min", "mean", "max", "fitted growth", "allowed", "result");
+        for (Metric metric : Metric.values()) {
+            double[] values = samples[metric.ordinal()];
+            double[] x = metric.perSession ? sessionAges : runTime;
+            int start = metric.perSession ? 0 : from;
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            double minX = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE;
+            double sum = 0;
+            for (int i = start; i < n; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+                minX = Math.min(minX, x[i]);
+                maxX = Math.max(maxX, x[i]);
+                sum += values[i];
+            }
+            double mean = sum / (n - start);
+            double growth = slope(x, values, start, n) * (maxX - minX);
+            double allowed = Math.max(metric.absoluteFloor, Math.abs(mean) * metric.relativeTolerance);
+            boolean ok = growth <= allowed;
+            passed &= ok;
+            System.out.printf(Locale.ROOT, "%-14s %-12s %10.1f %10.1f %10.1f %14.1f %10.1f  %s%n",
+                    metric.label, metric.perSession ? "session age" : "run time",
+                    min, mean, max, growth, allowed, ok ? "ok" : "GROWING");
+        }
+        System.out.println(passed ? "PASSED" : "FAILED: at least one metric trends upward");
+        return passed;
+    }
+
+    // Least-squares slope of y[from..to) against x[from..to)
+    private static double slope(double[] x, double[] y, int from, int to) {
+        int n = to - from;
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = from; i < to; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = from; i < to; i++) {
+            double dx = x[i] - meanX;
+            covariance += dx * (y[i] - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private static void writeCsv(Path file, double[][] samples, double[] sessionAges, int n, double sampleMinutes)
+            throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            List<String> header = new ArrayList<>();
+            header.add("sim_minutes");
+            header.add("session_minutes");
+            for (Metric metric : Metric.values()) {
+                header.add(metric.name().toLowerCase(Locale.ROOT));
+            }
+            out.println(String.join(",", header));
+            for (int i = 0; i < n; i++) {
+                StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%.1f,%.1f",
+                        (i + 1) * sampleMinutes, sessionAges[i]));
+                for (Metric metric : Metric.values()) {
+                    line.append(String.format(Locale.ROOT, ",%.2f", samples[metric.ordinal()][i]));
+                }
+                out.println(line);
+            }
+        }
+        System.out.println("Samples written to " + file.toAbsolutePath());
+    }
+}
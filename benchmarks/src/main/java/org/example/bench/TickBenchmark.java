@@ -0,0 +1,89 @@
+package org.example.bench;
+
+import org.example.AudioSink;
+import org.example.Difficulty;
+import org.example.GameState;
+import org.example.GameWorld;
+import org.example.Paddle;
+import org.example.ball.Ball;
+import org.example.brick.BrickGrid;
+import org.example.brick.NormalBrick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full headless {@link GameWorld#tick} with a given number of balls in flight.
+ * The world is held in a steady state so every iteration measures the same work:
+ * bricks are unbreakable copies of the hard level 3 layout (plus one breakable
+ * brick out of reach, so the level never counts as cleared) and the paddle spans
+ * the whole width, so no ball is ever lost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+    @Param({"1", "3", "100", "10000"})
+    public int balls;
+
+    private GameWorld world;
+    private int tick;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = new GameWorld(Difficulty.HARD, AudioSink.SILENT);
+
+        BrickGrid grid = BenchLevels.unbreakableCopy(Difficulty.HARD, 3);
+        double top = grid.getBricks().stream().mapToDouble(b -> b.getY() + b.getHeight()).max().orElse(0) + 20;
+        // Keeps the win check false without ever being reachable
+        grid.put(0, findEmptyCol(grid), new NormalBrick(0, -1000, 10, 10));
+        world.setBrickGrid(grid);
+
+        Paddle paddle = world.getPaddle();
+        paddle.scaleWidth(GameWorld.WIDTH / paddle.getWidth());
+
+        List<Ball> inFlight = world.getBalls();
+        inFlight.clear();
+        Random random = new Random(7);
+        for (int i = 0; i < balls; i++) {
+            double x = random.nextDouble() * (GameWorld.WIDTH - 20) + 5;
+            double y = top + random.nextDouble() * (paddle.getY() - top - 30);
+            double dx = random.nextBoolean() ? 2 : -2;
+            double dy = random.nextBoolean() ? 2 : -2;
+            inFlight.add(new Ball(x, y, 10, dx, dy));
+        }
+    }
+
+    @Benchmark
+    public long tick() {
+        world.tick(false, (tick++ & 64) != 0);
+        if (world.getGameState() != GameState.PLAYING) {
+            throw new IllegalStateException("world left the steady state: " + world.getGameState());
+        }
+        return world.getTickCount();
+    }
+
+    private static int findEmptyCol(BrickGrid grid) {
+        int cols = grid.getLayout().getCols();
+        for (int col = 0; col < cols; col++) {
+            if (grid.getCell(col) == null) return col;
+        }
+        throw new IllegalStateException("first row of the layout is full");
+    }
+}
@@ -0,0 +1,20 @@
+package org.example;
+
+/**
+ * Where the simulation sends its sound requests.
+ * {@link SoundManager} plays them directly; other sinks may queue or drop them.
+ */
+public interface AudioSink {
+    /** A sink that ignores everything, for headless runs. */
+    AudioSink SILENT = new AudioSink() {};
+
+    default void playSoundEffect(String effectName) {}
+
+    default void playBackgroundMusic(String musicName) {}
+
+    default void pauseBackgroundMusic() {}
+
+    default void stopAllSoundEffects() {}
+
+    default void stopAllSounds() {}
+}
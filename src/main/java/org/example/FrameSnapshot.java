@@ -0,0 +1,71 @@
+package org.example;
+
+import org.example.brick.GridLayout;
+
+import java.util.Arrays;
+
+/**
+ * Everything a renderer needs to draw one frame, copied out of the {@link GameWorld}.
+ * Snapshots are preallocated and reused: the simulation fills one, publishes it,
+ * and the renderer only reads it. Arrays grow when entity counts exceed their
+ * capacity and are reused afterwards, so steady-state ticks allocate nothing.
+ * Sprites are stored as {@link org.example.render.Sprite} ordinals; empty or
+ * destroyed brick cells hold {@link #NO_SPRITE}.
+ */
+public class FrameSnapshot {
+    public static final int NO_SPRITE = -1;
+
+    public long tick;
+
+    public double paddleX, paddleY, paddleWidth, paddleHeight;
+
+    public int ballCount;
+    public double[] ballX = new double[8];
+    public double[] ballY = new double[8];
+    public double[] ballSize = new double[8];
+    public int[] ballSprite = new int[8];
+
+    public int powerUpCount;
+    public double[] powerUpX = new double[8];
+    public double[] powerUpY = new double[8];
+    public double[] powerUpSize = new double[8];
+    public int[] powerUpSprite = new int[8];
+
+    public GridLayout brickLayout;
+    public int[] brickSprites = new int[0];
+    // How far the brick layout is drawn below its own coordinates, for scrolling levels
+    public double brickScrollY;
+
+    public int score;
+    public int highScore;
+    public int lives;
+    public int level;
+    public GameState state = GameState.PLAYING;
+
+    void ensureBallCapacity(int count) {
+        if (ballX.length >= count) return;
+        int capacity = Math.max(count, ballX.length * 2);
+        ballX = Arrays.copyOf(ballX, capacity);
+        ballY = Arrays.copyOf(ballY, capacity);
+        ballSize = Arrays.copyOf(ballSize, capacity);
+        ballSprite = Arrays.copyOf(ballSprite, capacity);
+    }
+
+    void ensurePowerUpCapacity(int count) {
+        if (powerUpX.length >= count) return;
+        int capacity = Math.max(count, powerUpX.length * 2);
+        powerUpX = Arrays.copyOf(powerUpX, capacity);
+        powerUpY = Arrays.copyOf(powerUpY, capacity);
+        powerUpSize = Arrays.copyOf(powerUpSize, capacity);
+        powerUpSprite = Arrays.copyOf(powerUpSprite, capacity);
+    }
+
+    void copyBricks(GridLayout layout, int[] sprites, double scrollY) {
+        brickLayout = layout;
+        brickScrollY = scrollY;
+        if (brickSprites.length != sprites.length) {
+            brickSprites = new int[sprites.length];
+        }
+        System.arraycopy(sprites, 0, brickSprites, 0, sprites.length);
+    }
+}
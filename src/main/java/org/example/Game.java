@@ -1,511 +1,435 @@
 package org.example;
 
-import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
 import javafx.scene.Scene;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.input.KeyCode;
+import javafx.scene.control.Alert;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
 import javafx.stage.Stage;
-import org.example.ball.Ball;
-import org.example.brick.Brick;
-import org.example.brick.UnbreakableBrick;
-import org.example.powerup.BiggerPaddle;
-import org.example.powerup.BreakerBall;
-import org.example.powerup.FastBall;
-import org.example.powerup.TripleBallPowerUp;
-import org.example.powerup.PowerUp;
-
-import java.util.List;
-import java.util.ArrayList;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.example.asset.AssetLoader;
+import org.example.core.AudioQueue;
+import org.example.core.EffectQueue;
+import org.example.core.InputEvent;
+import org.example.core.SimulationLoop;
+import org.example.effects.ParticleSystem;
+import org.example.jfr.RenderEvent;
+import org.example.level.EndlessLevelSource;
+import org.example.level.LevelCells;
+import org.example.level.LevelEdit;
+import org.example.level.LevelWatcher;
+import org.example.level.LevelSource;
+import org.example.level.PrefetchingLevelSource;
+import org.example.perf.FrameProfiler;
+import org.example.perf.PerfCounter;
+import org.example.perf.Phase;
+import org.example.render.GameRenderer;
+import org.example.render.PerfOverlay;
+import org.example.render.QualityGovernor;
+import org.example.render.RenderScheduler;
+import org.example.render.Viewport;
+import org.example.telemetry.TelemetrySink;
 
 /**
- * This class manages the entire game lifecycle:
- * - Initializes game objects (paddle, ball, bricks)
- * - Handles keyboard input
- * - Runs the update and render loop using AnimationTimer
- * - Detects collisions and manages game over/restart
+ * This class manages the entire game lifecycle on the JavaFX side:
+ * - Creates the {@link GameWorld} and runs it on a {@link SimulationLoop} thread
+ * - Forwards keyboard input to the simulation
+ * - Renders the latest published frame, only while something on screen is changing
+ * - Plays the sounds the simulation requested and handles pause/restart/menu
+ * - Pauses by itself when the window loses focus or is minimised
  */
 public class Game {
-    // Window dimensions
-    private static final int WIDTH = 800;
-    private static final int HEIGHT = 600;
-
-    // Core game objects
-    private Paddle paddle;
-    private List<Ball> balls;
-    private List<Brick> bricks;
-    private Canvas canvas;
-    private List<PowerUp> powerUps = new ArrayList<>();
-    private ScoreManager scoreManager;
+    // Logical playfield size; the window itself can be any size
+    private static final int WIDTH = GameWorld.WIDTH;
+    private static final int HEIGHT = GameWorld.HEIGHT;
+    // Frame time we try to stay within, one 60 Hz refresh
+    private static final long FRAME_BUDGET_NANOS = 1_000_000_000L / 60;
+    // Longest step particles take in one frame, so a stall doesn't teleport them
+    private static final double MAX_PARTICLE_STEP_SECONDS = 0.05;
+
+    private GameWorld world;
+    private SimulationLoop simulation;
+    private TelemetrySink telemetry = TelemetrySink.NONE;
+    private LevelSource levels;
+    private AudioQueue audioQueue;
+    private EffectQueue effectQueue;
+    private final ParticleSystem particles = new ParticleSystem();
+    private GameRenderer renderer;
+    private final FrameProfiler profiler = new FrameProfiler();
+    private PerfOverlay perfOverlay;
+    private Viewport viewport;
+    private long lastFrameNanos;
     private SoundManager soundManager;
-    private double powerUpDropRate = 0.4;
-    private double fastBallSpawnRate = 0.4;
-    private double tripleBallSpawnRate = 0.3;
-    private double biggerPaddleDurationRemaining = 0.0;
-    private double fastBallDurationRemaining = 0.0;
+    private Stage stage;
+    private RenderScheduler scheduler;
     private boolean isPaused = false;
-    private double breakerBallDurationRemaining = 0.0;
-    private AnimationTimer gameLoop;
-
-    // Input tracking
-    private boolean leftPressed, rightPressed;
-
-
-    private enum GameState {
-        PLAYING,
-        LEVEL_TRANSITION,
-        GAME_OVER,
-        GAME_WON
-    }
-
-    private GameState gameState = GameState.PLAYING;
-    private int currentLevel = 1;
+    private final ChangeListener<Boolean> focusListener = (obs, oldValue, focused) -> {
+        if (!focused) suspend();
+    };
+    private final ChangeListener<Boolean> iconifiedListener = (obs, oldValue, iconified) -> {
+        if (iconified) suspend();
+    };
+    private final ChangeListener<Number> resizeListener = (obs, oldValue, newValue) -> requestRepaint();
+
+    // Latest frame published by the simulation
+    private FrameSnapshot frame;
+    // What is currently on screen, to skip frames that would look the same
+    private long renderedTick = -1;
+    private GameState renderedState;
+    private boolean particlesShown;
+    private boolean repaintRequested;
 
     Image heartImage;
     Image heartEmptyImage;
     private final Difficulty difficulty;
+    private final boolean endless;
+    private final int firstLevel;
+    // Plays saved edits of this game's levels; added to the session's watcher while the game runs
+    private final LevelWatcher.Listener levelListener = this::levelChanged;
 
     public Game(Difficulty difficulty) {
+        this(difficulty, false, 1);
+    }
+
+    /**
+     * An endless game plays generated levels until the player runs out of lives;
+     * otherwise the bundled levels are played from {@code firstLevel} on.
+     */
+    public Game(Difficulty difficulty, boolean endless, int firstLevel) {
         this.difficulty = difficulty;
+        this.endless = endless;
+        this.firstLevel = firstLevel;
     }
 
 
     /**
-     * Initializes the JavaFX scene, sets up the game, and starts the game loop.
+     * Initializes the JavaFX scene, sets up the game, and starts the simulation and render loops.
      */
     public void start(Stage stage) {
-        Pane root = new Pane();
-        canvas = new Canvas(WIDTH, HEIGHT);
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-        root.getChildren().add(canvas);
+        this.stage = stage;
 
-        // Load heart images
+        // Decoded once per session, normally by the loading screen
         try {
-            heartImage = new Image("file:assets/Heart.png");
-            heartEmptyImage = new Image("file:assets/Heart_empty.png");
+            heartImage = AssetLoader.shared().image("Heart.png");
+            heartEmptyImage = AssetLoader.shared().image("Heart_empty.png");
         } catch (Exception e) {
             System.err.println("Could not load heart images: " + e.getMessage());
             heartImage = null;
             heartEmptyImage = null;
         }
 
-        // Initialize core game elements
-        paddle = new Paddle(WIDTH / 2 - 60, HEIGHT - 40, 120, 15);
-        paddle.scaleWidth(difficulty.getPaddleWidthMultiplier());
-        balls = new ArrayList<>();
-        balls.add(new Ball(WIDTH / 2, HEIGHT / 2, 10, 1.5 * difficulty.getBallSpeedMultiplier(), 1.5 * difficulty.getBallSpeedMultiplier()));
-        bricks = Level.loadLevel(difficulty, currentLevel);
-        scoreManager = new ScoreManager();
+        // Initialize the simulation; its sounds are replayed on this thread
         soundManager = SoundManager.oneAndOnly();
+        audioQueue = new AudioQueue(soundManager);
+        effectQueue = new EffectQueue(1024);
+        telemetry = GameSettings.getTelemetry().openSession();
+        // The next level is built in the background while this one is played
+        levels = endless ? new EndlessLevelSource(difficulty, endlessSeed())
+                : new PrefetchingLevelSource(LevelSource.bundled(difficulty));
+        try {
+            world = new GameWorld(difficulty, audioQueue, effectQueue, telemetry, levels, endless ? 1 : firstLevel);
+        } catch (RuntimeException e) {
+            // The first level couldn't be loaded; nothing else has started yet
+            levels.close();
+            GameSettings.getTelemetry().closeSession(telemetry);
+            MainMenu.show(stage);
+            showError(stage, e);
+            return;
+        }
+        simulation = new SimulationLoop(world);
+        simulation.setProfiler(profiler);
+        simulation.setCounters(GameSettings.getPerfCounters());
+        frame = simulation.latestFrame();
+
+        // Set up the render backend chosen at launch
+        renderer = GameRenderer.create(GameSettings.getRendererType(), WIDTH, HEIGHT, 1.0, heartImage, heartEmptyImage);
+        renderer.setProfiler(profiler);
+        Node view = renderer.getNode();
+        perfOverlay = new PerfOverlay(profiler);
+        Pane root = new Pane(view, perfOverlay.getNode());
+        viewport = new Viewport(root, renderer, new QualityGovernor(FRAME_BUDGET_NANOS), WIDTH, HEIGHT, 1.0);
+        // The viewport may rebuild the renderer on resize, which has to be painted even when idle
+        root.widthProperty().addListener(resizeListener);
+        root.heightProperty().addListener(resizeListener);
 
         // Create the scene and bind controls
-        Scene scene = new Scene(root);
-        setupControls(scene, canvas);
+        Scene scene = new Scene(root, WIDTH, HEIGHT);
+        setupControls(scene);
 
-        // Ensure canvas receives focus for keyboard input
-        canvas.setFocusTraversable(true);
-        canvas.setOnMouseClicked(e -> canvas.requestFocus());
-        canvas.requestFocus();
+        // Ensure the game view receives focus for keyboard input
+        view.setFocusTraversable(true);
+        view.setOnMouseClicked(e -> view.requestFocus());
+        view.requestFocus();
 
         // Configure window
         stage.setTitle("Arkanoid Game");
         stage.setScene(scene);
+        stage.setResizable(true);
         stage.show();
 
-        // Ensure focus goes to our input target when the window gains focus
-        root.requestFocus();
-
         soundManager.playBackgroundMusic("main_theme");
 
-        // Main game loop using AnimationTimer
-        gameLoop = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                if (isPaused) {
-                    drawPauseOverlay(gc);
-                    return;
-                }
-
-                update();
-                render(gc);
-            }
-        };
-        gameLoop.start();
+        // Frames are rendered on demand; the simulation runs on its own thread
+        scheduler = new RenderScheduler(this::renderFrame);
+        simulation.setOnResume(() -> Platform.runLater(this::requestRepaint));
+        simulation.setOnFailure(e -> Platform.runLater(() -> simulationFailed(e)));
+        stage.focusedProperty().addListener(focusListener);
+        stage.iconifiedProperty().addListener(iconifiedListener);
+        simulation.start();
+        scheduler.requestFrame();
+        if (!endless && GameSettings.getLevelWatcher() != null) {
+            GameSettings.getLevelWatcher().addListener(levelListener);
+        }
     }
 
     /**
-     * Configures keyboard input.
-     * - LEFT/RIGHT or A/D move the paddle
-     * - R restarts the game after game over
+     * Applies an edit to one of this game's level files as it is saved; called on the watcher thread.
      */
-    private void setupControls(Scene scene, Canvas canvas) {
-        scene.setOnKeyPressed(e -> {
-            if (gameState == GameState.PLAYING) {
-                if (e.getCode() == KeyCode.LEFT || e.getCode() == KeyCode.A) leftPressed = true;
-                if (e.getCode() == KeyCode.RIGHT || e.getCode() == KeyCode.D) rightPressed = true;
-            } else if (gameState == GameState.LEVEL_TRANSITION) {
-                currentLevel++;
-                bricks = Level.loadLevel(difficulty, currentLevel);
-                balls.clear();
-                balls.add(new Ball(WIDTH / 2, HEIGHT / 2, 10, 1.5 * difficulty.getBallSpeedMultiplier(), 1.5 * difficulty.getBallSpeedMultiplier()));
-                paddle.resetWidth();
-                paddle.scaleWidth(difficulty.getPaddleWidthMultiplier());
-                gameState = GameState.PLAYING;
-                soundManager.playBackgroundMusic("main_theme");
-            }
-
-            // Return to Main Menu when ESC is pressed
-            if (e.getCode() == KeyCode.ESCAPE) {
-                stopGame();
-                soundManager.oneAndOnly().stopAllSounds();
-                MainMenu.show((Stage) canvas.getScene().getWindow());
-            }
+    private void levelChanged(Path file, LevelCells cells) {
+        int level = Level.levelNumberOf(difficulty, file);
+        if (level > 0) {
+            LevelEdit edit = new LevelEdit(level, cells);
+            Platform.runLater(() -> offerEdit(edit));
+        }
+    }
 
-            if (e.getCode() == KeyCode.R && gameState == GameState.GAME_OVER) {
-                restart();
-            }
+    /**
+     * Hands a level edit to the simulation, trying again on a later pulse while its
+     * input queue is full, so a stalled simulation still gets the edit when it catches up.
+     */
+    private void offerEdit(LevelEdit edit) {
+        if (!simulation.offerInput(InputEvent.EDIT_LEVEL, edit) && simulation.isRunning()) {
+            Platform.runLater(() -> offerEdit(edit));
+        }
+    }
 
-            // Pause(UnPause) the game when P is pressed
-            if (e.getCode() == KeyCode.P) {
-                if (isPaused) {
-                    // Resume game
-                    isPaused = false;
-                    soundManager.resumeBackgroundMusic();
-                } else {
-                    // Pause game
-                    isPaused = true;
-                    soundManager.pauseBackgroundMusic();
-                }
+    /**
+     * Renders one pulse if anything on screen changed. Returns false once nothing
+     * will change without outside input, which stops the render loop.
+     */
+    private boolean renderFrame(long now) {
+        frame = simulation.latestFrame();
+        // Sounds are queued before their frame is published, so this sees all of them
+        long dispatchStart = profiler.now();
+        audioQueue.dispatch();
+        profiler.lap(Phase.AUDIO_DISPATCH, dispatchStart);
+
+        if (isPaused) {
+            // The overlay is blended once over a fresh frame, not once per pulse
+            if (repaintRequested) {
+                renderer.render(frame, particles);
+                renderer.renderPauseOverlay();
+                repaintRequested = false;
             }
-        });
+            lastFrameNanos = 0;
+            return false;
+        }
 
-        scene.setOnKeyReleased(e -> {
-            if (e.getCode() == KeyCode.LEFT || e.getCode() == KeyCode.A) leftPressed = false;
-            if (e.getCode() == KeyCode.RIGHT || e.getCode() == KeyCode.D) rightPressed = false;
-        });
+        // Particles are cosmetic and live entirely on this thread
+        effectQueue.drainTo(particles);
+        if (lastFrameNanos != 0) {
+            particles.update((float) Math.min((now - lastFrameNanos) / 1e9, MAX_PARTICLE_STEP_SECONDS));
+        }
 
-        canvas.setOnKeyPressed(e -> {
-            if (gameState == GameState.PLAYING) {
-                if (e.getCode() == KeyCode.LEFT || e.getCode() == KeyCode.A) leftPressed = true;
-                if (e.getCode() == KeyCode.RIGHT || e.getCode() == KeyCode.D) rightPressed = true;
-            } else if (gameState == GameState.LEVEL_TRANSITION) {
-                currentLevel++;
-                bricks = Level.loadLevel(difficulty, currentLevel);
-                balls.clear();
-                balls.add(new Ball(WIDTH / 2, HEIGHT / 2, 10, 1.5 * difficulty.getBallSpeedMultiplier(), 1.5 * difficulty.getBallSpeedMultiplier()));
-                paddle.resetWidth();
-                paddle.scaleWidth(difficulty.getPaddleWidthMultiplier());
-                gameState = GameState.PLAYING;
-                soundManager.playBackgroundMusic("main_theme");
+        boolean hasParticles = particles.getCount() > 0;
+        if (repaintRequested || frame.tick != renderedTick || frame.state != renderedState
+                || hasParticles || particlesShown) {
+            RenderEvent event = new RenderEvent();
+            event.begin();
+            long renderStart = System.nanoTime();
+            renderer.render(frame, particles);
+            long renderNanos = System.nanoTime() - renderStart;
+            GameSettings.getPerfCounters().add(PerfCounter.FRAMES_RENDERED, 1);
+            event.end();
+            if (event.shouldCommit()) {
+                event.tick = frame.tick;
+                event.renderer = GameSettings.getRendererType().name();
+                event.renderScale = viewport.getRenderScale();
+                event.ballCount = frame.ballCount;
+                event.particleCount = particles.getCount();
+                event.commit();
             }
-            if (e.getCode() == KeyCode.R && gameState == GameState.GAME_OVER) {
-                restart();
-            }
-
-            // Return to Main Menu when ESC is pressed
-            if (e.getCode() == KeyCode.ESCAPE) {
-                stopGame();
-                soundManager.oneAndOnly().stopAllSounds();
-                MainMenu.show((Stage) canvas.getScene().getWindow());
+            if (lastFrameNanos != 0) {
+                viewport.onFrame(now - lastFrameNanos, renderNanos);
             }
+            renderedTick = frame.tick;
+            renderedState = frame.state;
+            particlesShown = hasParticles;
+            repaintRequested = false;
+        }
+        perfOverlay.refresh(now, frame, particles.getCount());
 
-            // Pause(UnPause) the game when P is pressed
-            if (e.getCode() == KeyCode.P) {
-                if (isPaused) {
-                    // Resume game
-                    isPaused = false;
-                    soundManager.resumeBackgroundMusic();
-                } else {
-                    // Pause game
-                    isPaused = true;
-                    soundManager.pauseBackgroundMusic();
-                }
-            }
-        });
+        if (frame.state != GameState.PLAYING && !hasParticles) {
+            // Static screen; the simulation wakes us when it resumes
+            lastFrameNanos = 0;
+            return false;
+        }
+        lastFrameNanos = now;
+        return true;
+    }
 
-        canvas.setOnKeyReleased(e -> {
-            if (e.getCode() == KeyCode.LEFT || e.getCode() == KeyCode.A) leftPressed = false;
-            if (e.getCode() == KeyCode.RIGHT || e.getCode() == KeyCode.D) rightPressed = false;
-        });
+    private void requestRepaint() {
+        repaintRequested = true;
+        if (scheduler != null) {
+            scheduler.requestFrame();
+        }
     }
 
     /**
-     * Updates all game objects each frame:
-     * - Moves the paddle and ball
-     * - Updates the power-ups
-     * - Checks collisions between the ball, paddle, bricks, power-ups, and walls
-     * - Updates the game state (win/lose)
-     * - Handles sound effects and background musics
+     * Window lost focus or was minimised: pause a running game so simulation, music
+     * and rendering all stop until the player comes back and presses P.
      */
-    private void update() {
-        if (gameState != GameState.PLAYING) return;
-
-        paddle.update(leftPressed, rightPressed);
-
-        for (Ball ball : balls) {
-            ball.update();
+    private void suspend() {
+        if (!isPaused && frame.state == GameState.PLAYING) {
+            togglePause();
         }
+    }
 
-        for (PowerUp p : powerUps) {
-            p.update();
+    private void togglePause() {
+        if (isPaused) {
+            // Resume game
+            isPaused = false;
+            simulation.offerInput(InputEvent.RESUME);
+            soundManager.resumeBackgroundMusic();
+            scheduler.requestFrame();
+        } else {
+            // Pause game
+            isPaused = true;
+            simulation.offerInput(InputEvent.PAUSE);
+            soundManager.pauseBackgroundMusic();
+            requestRepaint();
         }
+    }
 
+    /**
+     * Configures keyboard input.
+     * - LEFT/RIGHT or A/D move the paddle
+     * - Any key continues after a level is cleared
+     * - R restarts the game after game over
+     * - P pauses, ESC returns to the main menu
+     * - F3 shows the performance overlay, F4 exports the timings, F5 resets them
+     * Handlers sit on the scene only, so every key is handled exactly once
+     * whichever node has focus.
+     */
+    private void setupControls(Scene scene) {
+        scene.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.LEFT || e.getCode() == KeyCode.A) simulation.offerInput(InputEvent.LEFT_PRESSED);
+            if (e.getCode() == KeyCode.RIGHT || e.getCode() == KeyCode.D) simulation.offerInput(InputEvent.RIGHT_PRESSED);
 
-        // Check collision for balls with walls and paddle
-        for (Ball ball : balls) {
-            CollisionManager.handleBallWallCollision(ball, WIDTH, HEIGHT);
-            CollisionManager.handleBallPaddleCollision(ball, paddle);
-        }
-
-        // Check collision between balls and bricks
-        Brick destroyed = null;
-        for (Brick b : bricks) {
-            if (!b.isDestroyed()) {
-                for (Ball ball : balls) {
-                    CollisionManager.handleBallBrickCollision(ball, b);
-                    if (b.isDestroyed()) {
-                        destroyed = b;
-                        scoreManager.addScore(100);
-                        soundManager.playSoundEffect("brick_break");
-                        break;
-                    }
-                }
-                if (destroyed != null) break;
+            if (frame.state == GameState.LEVEL_TRANSITION) {
+                simulation.offerInput(InputEvent.CONTINUE);
             }
-        }
-        // Drop power-up if a brick is destroyed
-        if (destroyed != null && Math.random() < powerUpDropRate) {
-            double size = 18;
-            double px = destroyed.x + destroyed.width / 2 - size / 2;
-            double py = destroyed.y + destroyed.height / 2 - size / 2;
-
-            double rand = Math.random();
-            if (rand < 0.25) {
-                powerUps.add(new FastBall(px, py, size));
-            } else if (rand < 0.5) {
-                powerUps.add(new TripleBallPowerUp(px, py, size));
-            } else if (rand < 0.75) {
-                powerUps.add(new BiggerPaddle(px, py, size));
-            } else {
-                powerUps.add(new BreakerBall(px, py, size));
-            }
-        }
 
-        // Check collision between paddle and power-ups
-        for (PowerUp p : powerUps) {
-            if (!p.isCollected() && CollisionManager.isColliding(p, paddle)) {
-                String powerUpType = p.getId();
-
-                switch (powerUpType) {
-                    case "BiggerPaddle":
-                        if (biggerPaddleDurationRemaining <= 0) {
-                            ((BiggerPaddle) p).applyToPaddle(paddle);
-                            soundManager.playSoundEffect(p.getSoundEffect());
-                        }
-                        biggerPaddleDurationRemaining = p.getDuration();
-                        p.setCollected();
-                        break;
-
-                    case "FastBall":
-                        if (fastBallDurationRemaining <= 0) {
-                            for (Ball ball : balls) {
-                                ((FastBall) p).applyToBall(ball);
-                            }
-                            soundManager.playSoundEffect(p.getSoundEffect());
-                        }
-                        fastBallDurationRemaining = p.getDuration();
-                        p.setCollected();
-                        break;
-
-                    case "TripleBall":
-                        ((TripleBallPowerUp) p).apply(balls);
-                        soundManager.playSoundEffect(p.getSoundEffect());
-                        p.setCollected();
-                        break;
-
-                    case "BreakerBall":
-                        if (breakerBallDurationRemaining <= 0) {
-                            for (Ball ball : balls) {
-                                ((BreakerBall) p).applyToBall(ball);
-                            }
-                            soundManager.playSoundEffect(p.getSoundEffect());
-                        }
-                        breakerBallDurationRemaining = p.getDuration();
-                        p.setCollected();
-                        break;
-                }
-
-                break;
+            // Return to Main Menu when ESC is pressed
+            if (e.getCode() == KeyCode.ESCAPE) {
+                stopGame();
+                soundManager.stopAllSounds();
+                MainMenu.show(stage);
             }
-        }
 
-        // Remove collected power-ups
-        powerUps.removeIf(PowerUp::isCollected);
-
-        // Handle balls falling below screen
-        balls.removeIf(ball -> ball.getY() > HEIGHT);
-        if (balls.isEmpty() && gameState == GameState.PLAYING) {
-            if (scoreManager.loseLife()) {
-                soundManager.playSoundEffect("life_lost");
-                balls.add(new Ball(WIDTH / 2, HEIGHT / 2, 10, 1.5, 1.5));
-            } else {
-                gameState = GameState.GAME_OVER;
-                soundManager.oneAndOnly().stopAllSounds();
-                soundManager.stopAllSoundEffects();
-                soundManager.playSoundEffect("game_over");
+            if (e.getCode() == KeyCode.R && frame.state == GameState.GAME_OVER) {
+                restart();
             }
-        }
 
-        // Check win condition (all breakable bricks destroyed)
-        if (bricks.stream().filter(b -> !(b instanceof UnbreakableBrick)).allMatch(Brick::isDestroyed)) {
-            if (currentLevel == 3) {
-                gameState = GameState.GAME_WON;
-            } else {
-                gameState = GameState.LEVEL_TRANSITION;
+            // Pause(UnPause) the game when P is pressed
+            if (e.getCode() == KeyCode.P) {
+                togglePause();
             }
-            soundManager.pauseBackgroundMusic();
-            soundManager.stopAllSoundEffects();
-            soundManager.playSoundEffect("victory");
-        }
-
 
-        double delta = 1.0 / 60.0;
-
-        // Bigger Paddle timer
-        if (biggerPaddleDurationRemaining > 0) {
-            biggerPaddleDurationRemaining -= delta;
-            if (biggerPaddleDurationRemaining <= 0 && !balls.isEmpty()) {
-                new BiggerPaddle(0, 0, 0).reset(balls.get(0), paddle);
-                biggerPaddleDurationRemaining = 0.0;
+            if (e.getCode() == KeyCode.F3) {
+                perfOverlay.toggle();
+                requestRepaint();
             }
-        }
-
-        // Fast Ball timer
-        if (fastBallDurationRemaining > 0) {
-            fastBallDurationRemaining -= delta;
-            if (fastBallDurationRemaining <= 0 && !balls.isEmpty()) {
-                new FastBall(0, 0, 0).reset(balls.get(0), paddle);
-                fastBallDurationRemaining = 0.0;
+            if (e.getCode() == KeyCode.F4) {
+                exportTimings();
             }
-        }
-
-        // Breaker Ball timer
-        if (breakerBallDurationRemaining > 0) {
-            breakerBallDurationRemaining -= delta;
-            if (breakerBallDurationRemaining <= 0 && !balls.isEmpty()) {
-                new BreakerBall(0, 0, 0).reset(balls.get(0), paddle);
-                breakerBallDurationRemaining = 0.0;
+            if (e.getCode() == KeyCode.F5) {
+                profiler.reset();
             }
-        }
+        });
+
+        scene.setOnKeyReleased(e -> {
+            if (e.getCode() == KeyCode.LEFT || e.getCode() == KeyCode.A) simulation.offerInput(InputEvent.LEFT_RELEASED);
+            if (e.getCode() == KeyCode.RIGHT || e.getCode() == KeyCode.D) simulation.offerInput(InputEvent.RIGHT_RELEASED);
+        });
     }
 
+
     /**
-     * Renders the current frame to the screen.
+     * Writes the timing histograms to a CSV in the working directory, off the FX thread.
      */
-    private void render(GraphicsContext gc) {
-        // Reset any transform / state from previous frames or operations
-        gc.setTransform(1, 0, 0, 1, 0, 0);
-        gc.clearRect(0, 0, WIDTH, HEIGHT);
-
-        // Draw background
-        gc.setFill(Color.BLACK);
-        gc.fillRect(0, 0, WIDTH, HEIGHT);
-
-        // Draw game objects
-        paddle.draw(gc);
-        for (Ball ball : balls) ball.draw(gc);
-        for (Brick b : bricks) b.draw(gc);
-        for (PowerUp p : powerUps) p.draw(gc);
-
-        // Display score and lives
-        gc.setFill(Color.WHITE);
-        gc.setFont(javafx.scene.text.Font.font("Consolas", 16));
-        
-        gc.setTextAlign(javafx.scene.text.TextAlignment.LEFT);
-        gc.setTextBaseline(javafx.geometry.VPos.TOP);
-
-        gc.fillText("Score: " + scoreManager.getScoreString(), 30, 10);
-
-        scoreManager.drawLives(gc, heartImage, heartEmptyImage, WIDTH / 2 - 50, 8);
-        gc.fillText("High Score: " + scoreManager.getHighScoreString(), WIDTH - 180, 10);
-
-        // Display Game Over / Win overlay
-        if (gameState == GameState.GAME_OVER) {
-            
-            gc.setFill(Color.WHITE);
-            gc.setTextAlign(javafx.scene.text.TextAlignment.CENTER);
-            gc.setTextBaseline(javafx.geometry.VPos.CENTER);
-
-            gc.setFont(javafx.scene.text.Font.font("Consolas", 28));
-            gc.fillText("GAME OVER", WIDTH / 2, HEIGHT / 2 - 20);
-
-            gc.setFont(javafx.scene.text.Font.font("Consolas", 16));
-            gc.fillText("Final Score: " + scoreManager.getScoreString(), WIDTH / 2, HEIGHT / 2 + 10);
-            gc.fillText("High Score: " + scoreManager.getHighScoreString(), WIDTH / 2, HEIGHT / 2 + 30);
-            gc.fillText("Press R to Restart", WIDTH / 2, HEIGHT / 2 + 60);
-            gc.fillText("Press ESC to Return to Main Menu", WIDTH / 2, HEIGHT / 2 + 85);
-        } else if (gameState == GameState.GAME_WON) {
-            gc.setFill(Color.WHITE);
-            gc.setTextAlign(javafx.scene.text.TextAlignment.CENTER);
-            gc.setTextBaseline(javafx.geometry.VPos.CENTER);
-
-            gc.setFont(javafx.scene.text.Font.font("Consolas", 28));
-            gc.fillText("YOU WIN!", WIDTH / 2, HEIGHT / 2 - 20);
-
-            gc.setFont(javafx.scene.text.Font.font("Consolas", 16));
-            gc.fillText("Final Score: " + scoreManager.getScoreString(), WIDTH / 2, HEIGHT / 2 + 10);
-            gc.fillText("High Score: " + scoreManager.getHighScoreString(), WIDTH / 2, HEIGHT / 2 + 30);
-            gc.fillText("Press ESC to Return to Main Menu", WIDTH / 2, HEIGHT / 2 + 60);
-        } else if (gameState == GameState.LEVEL_TRANSITION) {
-            gc.setFill(Color.WHITE);
-            gc.setTextAlign(javafx.scene.text.TextAlignment.CENTER);
-            gc.setTextBaseline(javafx.geometry.VPos.CENTER);
-
-            gc.setFont(javafx.scene.text.Font.font("Consolas", 28));
-            gc.fillText("LEVEL " + currentLevel + " CLEARED", WIDTH / 2, HEIGHT / 2 - 20);
-
-            gc.setFont(javafx.scene.text.Font.font("Consolas", 16));
-            gc.fillText("Press any key to continue", WIDTH / 2, HEIGHT / 2 + 20);
-        }
+    private void exportTimings() {
+        FrameProfiler copy = profiler.copy();
+        Path file = Path.of("perf-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        Thread writer = new Thread(() -> {
+            try {
+                copy.export(file);
+                System.out.println("Frame timings written to " + file.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("Could not write frame timings: " + e.getMessage());
+            }
+        }, "arkanoid-perf-export");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static long endlessSeed() {
+        Long seed = GameSettings.getEndlessSeed();
+        return seed != null ? seed : System.nanoTime();
     }
 
     /**
-     * Draws the overlay when the game is paused.
-     * Called when the player presses P.
+     * The simulation thread stopped on an error, such as a level that can't be loaded.
+     * Rather than leave its last frame on screen ignoring input, go back to the menu
+     * and say why.
      */
-    private void drawPauseOverlay(GraphicsContext gc) {
-       
-        gc.setTransform(1, 0, 0, 1, 0, 0);
-
-        gc.setFill(Color.rgb(0, 0, 0, 0.5));
-        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-
-        gc.setFill(Color.WHITE);
-        gc.setTextAlign(javafx.scene.text.TextAlignment.CENTER);
-        gc.setTextBaseline(javafx.geometry.VPos.CENTER);
-        gc.setFont(javafx.scene.text.Font.font("Arial", javafx.scene.text.FontWeight.BOLD, 32));
-        gc.fillText("PAUSED", canvas.getWidth() / 2, canvas.getHeight() / 2 - 20);
-
-        gc.setFont(javafx.scene.text.Font.font("Arial", 18));
-        gc.fillText("Press P to Resume", canvas.getWidth() / 2, canvas.getHeight() / 2 + 20);
-        gc.fillText("Press ESC to Return to Main Menu", canvas.getWidth() / 2, canvas.getHeight() / 2 + 50);
+    private void simulationFailed(RuntimeException e) {
+        stopGame();
+        soundManager.stopAllSounds();
+        MainMenu.show(stage);
+        showError(stage, e);
+    }
+
+    private static void showError(Stage stage, RuntimeException e) {
+        String message = e.getMessage();
+        if (e.getCause() != null && e.getCause().getMessage() != null) {
+            message += ": " + e.getCause().getMessage();
+        }
+        Alert alert = new Alert(Alert.AlertType.ERROR, message);
+        alert.initOwner(stage);
+        alert.setHeaderText("The game stopped");
+        alert.show();
     }
 
-    
     private void restart() {
         stopGame();
-        Stage stage = (Stage) canvas.getScene().getWindow();
-        Game newGame = new Game(difficulty);
+        Game newGame = new Game(difficulty, endless, firstLevel);
         newGame.start(stage);
     }
 
-    
+
     public void stopGame() {
-        if (gameLoop != null) {
-            gameLoop.stop();
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        stage.focusedProperty().removeListener(focusListener);
+        stage.iconifiedProperty().removeListener(iconifiedListener);
+        if (simulation != null) {
+            simulation.stop();
+        }
+        GameSettings.getTelemetry().closeSession(telemetry);
+        if (levels != null) {
+            levels.close();
+        }
+        if (GameSettings.getLevelWatcher() != null) {
+            GameSettings.getLevelWatcher().removeListener(levelListener);
         }
         soundManager.pauseBackgroundMusic();
         soundManager.stopAllSoundEffects();
@@ -13,5 +13,15 @@ public abstract class GameObject {
         this.height = height;
     }
 
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getWidth() { return width; }
+    public double getHeight() { return height; }
+
+    public void moveBy(double dx, double dy) {
+        x += dx;
+        y += dy;
+    }
+
     public abstract void draw(GraphicsContext gc);
 }
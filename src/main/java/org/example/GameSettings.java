@@ -1,7 +1,19 @@
 package org.example;
 
+import org.example.level.LevelWatcher;
+import org.example.perf.PerfCounters;
+import org.example.render.RendererType;
+import org.example.telemetry.TelemetryWriter;
+
 public class GameSettings {
     private static Difficulty difficulty = Difficulty.MEDIUM;
+    private static RendererType rendererType = RendererType.CANVAS;
+    private static PerfCounters perfCounters = PerfCounters.DISABLED;
+    private static TelemetryWriter telemetry = TelemetryWriter.DISABLED;
+    // Seed of every endless game, or null for a new one each game
+    private static Long endlessSeed;
+    // Watches the level files for edits, or null when there are none to edit
+    private static LevelWatcher levelWatcher;
 
     public static Difficulty getDifficulty() {
         return difficulty;
@@ -10,4 +22,44 @@ public class GameSettings {
     public static void setDifficulty(Difficulty difficulty) {
         GameSettings.difficulty = difficulty;
     }
+
+    public static RendererType getRendererType() {
+        return rendererType;
+    }
+
+    public static void setRendererType(RendererType rendererType) {
+        GameSettings.rendererType = rendererType;
+    }
+
+    public static PerfCounters getPerfCounters() {
+        return perfCounters;
+    }
+
+    public static void setPerfCounters(PerfCounters perfCounters) {
+        GameSettings.perfCounters = perfCounters;
+    }
+
+    public static TelemetryWriter getTelemetry() {
+        return telemetry;
+    }
+
+    public static void setTelemetry(TelemetryWriter telemetry) {
+        GameSettings.telemetry = telemetry;
+    }
+
+    public static Long getEndlessSeed() {
+        return endlessSeed;
+    }
+
+    public static void setEndlessSeed(Long endlessSeed) {
+        GameSettings.endlessSeed = endlessSeed;
+    }
+
+    public static LevelWatcher getLevelWatcher() {
+        return levelWatcher;
+    }
+
+    public static void setLevelWatcher(LevelWatcher levelWatcher) {
+        GameSettings.levelWatcher = levelWatcher;
+    }
 }
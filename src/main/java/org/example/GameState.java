@@ -0,0 +1,11 @@
+package org.example;
+
+/**
+ * High-level state of a running game.
+ */
+public enum GameState {
+    PLAYING,
+    LEVEL_TRANSITION,
+    GAME_OVER,
+    GAME_WON
+}
@@ -0,0 +1,520 @@
+package org.example;
+
+import org.example.ball.Ball;
+import org.example.brick.Brick;
+import org.example.brick.BrickGrid;
+import org.example.brick.GridLayout;
+import org.example.brick.UnbreakableBrick;
+import org.example.effects.EffectSink;
+import org.example.jfr.PowerUpEvent;
+import org.example.jfr.StateTransitionEvent;
+import org.example.level.LevelCells;
+import org.example.level.LevelSource;
+import org.example.level.ScrollingBrickGrid;
+import org.example.perf.FrameProfiler;
+import org.example.perf.Phase;
+import org.example.powerup.BiggerPaddle;
+import org.example.powerup.BreakerBall;
+import org.example.powerup.FastBall;
+import org.example.powerup.PowerUp;
+import org.example.powerup.TripleBallPowerUp;
+import org.example.telemetry.DeathCause;
+import org.example.telemetry.TelemetrySink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The simulation side of a game: paddle, balls, bricks, power-ups, score and
+ * level progression. It knows nothing about scenes, canvases or threads, so it
+ * can be stepped from the simulation thread or from a headless harness.
+ * Sounds are requested through an {@link AudioSink}, visual effects are
+ * reported to an {@link EffectSink} and gameplay events to a {@link TelemetrySink}.
+ */
+public class GameWorld {
+    // Playfield size in logical units; rendering scales this to whatever the window and quality allow
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 600;
+
+    public static final double TICK_SECONDS = 1.0 / 60.0;
+
+    private final Difficulty difficulty;
+    private final AudioSink audio;
+    private final EffectSink effects;
+    private final TelemetrySink telemetry;
+    private final LevelSource levels;
+
+    // Core game objects
+    private final Paddle paddle;
+    private final List<Ball> balls = new ArrayList<>();
+    private final List<PowerUp> powerUps = new ArrayList<>();
+    private final ScoreManager scoreManager = new ScoreManager();
+    private BrickGrid brickGrid;
+    // Sprite ordinal per brick cell, kept current by the bricks' change listeners
+    private int[] brickSprites;
+
+    private double powerUpDropRate = 0.4;
+    private double biggerPaddleDurationRemaining = 0.0;
+    private double fastBallDurationRemaining = 0.0;
+    private double breakerBallDurationRemaining = 0.0;
+
+    private GameState gameState = GameState.PLAYING;
+    private int currentLevel = 1;
+    private long tickCount;
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+
+    public GameWorld(Difficulty difficulty, AudioSink audio) {
+        this(difficulty, audio, EffectSink.NONE);
+    }
+
+    public GameWorld(Difficulty difficulty, AudioSink audio, EffectSink effects) {
+        this(difficulty, audio, effects, TelemetrySink.NONE);
+    }
+
+    public GameWorld(Difficulty difficulty, AudioSink audio, EffectSink effects, TelemetrySink telemetry) {
+        this(difficulty, audio, effects, telemetry, LevelSource.bundled(difficulty), 1);
+    }
+
+    /**
+     * A world whose levels come from {@code levels}, starting at {@code firstLevel}.
+     * Each level is loaded when it starts, and the one after it is prefetched right away.
+     */
+    public GameWorld(Difficulty difficulty, AudioSink audio, EffectSink effects, TelemetrySink telemetry,
+                     LevelSource levels, int firstLevel) {
+        this.difficulty = difficulty;
+        this.audio = audio;
+        this.effects = effects;
+        this.telemetry = telemetry;
+        this.levels = levels;
+        this.currentLevel = firstLevel;
+
+        paddle = new Paddle(WIDTH / 2 - 60, HEIGHT - 40, 120, 15);
+        paddle.scaleWidth(difficulty.getPaddleWidthMultiplier());
+        balls.add(new Ball(WIDTH / 2, HEIGHT / 2, 10, 1.5 * difficulty.getBallSpeedMultiplier(), 1.5 * difficulty.getBallSpeedMultiplier()));
+        startLevel();
+        telemetry.sessionStarted(difficulty, tickCount);
+        telemetry.levelStarted(tickCount, currentLevel);
+    }
+
+    /**
+     * Times the integrate / collide / effects phases of each tick. Set before ticking starts.
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Moves on from the level cleared screen to the next level.
+     * Does nothing unless the world is waiting on that screen.
+     */
+    public void continueToNextLevel() {
+        if (gameState != GameState.LEVEL_TRANSITION) return;
+
+        currentLevel++;
+        startLevel();
+        balls.clear();
+        balls.add(new Ball(WIDTH / 2, HEIGHT / 2, 10, 1.5 * difficulty.getBallSpeedMultiplier(), 1.5 * difficulty.getBallSpeedMultiplier()));
+        paddle.resetWidth();
+        paddle.scaleWidth(difficulty.getPaddleWidthMultiplier());
+        setGameState(GameState.PLAYING);
+        telemetry.levelStarted(tickCount, currentLevel);
+        audio.playBackgroundMusic("main_theme");
+    }
+
+    private void startLevel() {
+        setBrickGrid(levels.load(currentLevel));
+        if (levels.hasLevel(currentLevel + 1)) {
+            levels.prefetch(currentLevel + 1);
+        }
+    }
+
+    /**
+     * Replaces the brick field of the current level and starts tracking its cells.
+     */
+    public void setBrickGrid(BrickGrid grid) {
+        brickGrid = grid;
+        GridLayout layout = grid.getLayout();
+        brickSprites = new int[layout.getCellCount()];
+        Arrays.fill(brickSprites, FrameSnapshot.NO_SPRITE);
+        trackCells();
+    }
+
+    private void trackCells() {
+        for (int i = 0; i < brickSprites.length; i++) {
+            trackCell(i);
+        }
+    }
+
+    private void trackCell(int cell) {
+        Brick b = brickGrid.getCell(cell);
+        if (b == null) {
+            brickSprites[cell] = FrameSnapshot.NO_SPRITE;
+            return;
+        }
+        brickSprites[cell] = b.getSprite().ordinal();
+        b.setChangeListener(changed -> brickSprites[cell] =
+                changed.isDestroyed() ? FrameSnapshot.NO_SPRITE : changed.getSprite().ordinal());
+    }
+
+    /**
+     * A level file was edited while the game runs. If it is the level being played,
+     * only the cells whose brick type changed get a new brick (or none); the rest,
+     * hits and all, stay as they are, so the renderers redraw just those cells.
+     * A level with new dimensions, or a scrolling one, is swapped in whole. A later
+     * level is dropped from any prefetch so it is read again. Returns the number of
+     * cells replaced.
+     */
+    public int levelEdited(int level, LevelCells cells) {
+        if (level != currentLevel) {
+            if (level > currentLevel) levels.invalidate(level);
+            return 0;
+        }
+        GridLayout layout = brickGrid.getLayout();
+        if (cells.getRows() != layout.getRows() || cells.getCols() != layout.getCols()
+                || cells.getRows() > ScrollingBrickGrid.VIEW_ROWS) {
+            setBrickGrid(Level.grid(cells));
+            return cells.getCellCount();
+        }
+        int changed = 0;
+        for (int cell = 0; cell < cells.getCellCount(); cell++) {
+            int type = cells.type(cell);
+            if (type == Level.typeOf(brickGrid.getCell(cell))) continue;
+            brickGrid.set(cell, Level.createBrick(type, layout, cell));
+            trackCell(cell);
+            changed++;
+        }
+        return changed;
+    }
+
+    /**
+     * Advances the simulation by one fixed step (1/60 s):
+     * - Moves the paddle and ball
+     * - Updates the power-ups
+     * - Checks collisions between the ball, paddle, bricks, power-ups, and walls
+     * - Updates the game state (win/lose)
+     * - Handles sound effects and background musics
+     */
+    public void tick(boolean leftPressed, boolean rightPressed) {
+        if (gameState != GameState.PLAYING) return;
+        tickCount++;
+        long phaseStart = profiler.now();
+        int collisionTests = 0;
+
+        paddle.update(leftPressed, rightPressed);
+        if (brickGrid.advance()) {
+            trackCells();
+        }
+
+        for (Ball ball : balls) {
+            ball.update();
+        }
+
+        for (PowerUp p : powerUps) {
+            p.update();
+        }
+        phaseStart = profiler.lap(Phase.INTEGRATE, phaseStart);
+
+
+        // Check collision for balls with walls and paddle
+        for (Ball ball : balls) {
+            CollisionManager.handleBallWallCollision(ball, WIDTH, HEIGHT);
+            CollisionManager.handleBallPaddleCollision(ball, paddle);
+            collisionTests += 2;
+        }
+
+        // Check collision between balls and bricks
+        Brick destroyed = null;
+        for (Brick b : brickGrid.getBricks()) {
+            if (!b.isDestroyed()) {
+                for (Ball ball : balls) {
+                    CollisionManager.handleBallBrickCollision(ball, b);
+                    collisionTests++;
+                    if (b.isDestroyed()) {
+                        destroyed = b;
+                        scoreManager.addScore(100);
+                        telemetry.brickDestroyed(tickCount, currentLevel, scoreManager.getScore());
+                        audio.playSoundEffect("brick_break");
+                        effects.brickDestroyed(b.x, b.y, b.width, b.height, b.getSprite());
+                        break;
+                    }
+                }
+                if (destroyed != null) break;
+            }
+        }
+        phaseStart = profiler.lap(Phase.COLLIDE, phaseStart);
+
+        // Drop power-up if a brick is destroyed
+        if (destroyed != null && Math.random() < powerUpDropRate) {
+            double size = 18;
+            double px = destroyed.x + destroyed.width / 2 - size / 2;
+            double py = destroyed.y + destroyed.height / 2 - size / 2;
+
+            double rand = Math.random();
+            PowerUp dropped;
+            if (rand < 0.25) {
+                dropped = new FastBall(px, py, size);
+            } else if (rand < 0.5) {
+                dropped = new TripleBallPowerUp(px, py, size);
+            } else if (rand < 0.75) {
+                dropped = new BiggerPaddle(px, py, size);
+            } else {
+                dropped = new BreakerBall(px, py, size);
+            }
+            powerUps.add(dropped);
+            telemetry.powerUpSpawned(tickCount, currentLevel, dropped.getId());
+        }
+
+        // Check collision between paddle and power-ups
+        for (PowerUp p : powerUps) {
+            collisionTests++;
+            if (!p.isCollected() && CollisionManager.isColliding(p, paddle)) {
+                String powerUpType = p.getId();
+
+                switch (powerUpType) {
+                    case "BiggerPaddle":
+                        if (biggerPaddleDurationRemaining <= 0) {
+                            ((BiggerPaddle) p).applyToPaddle(paddle);
+                            audio.playSoundEffect(p.getSoundEffect());
+                        }
+                        biggerPaddleDurationRemaining = p.getDuration();
+                        p.setCollected();
+                        break;
+
+                    case "FastBall":
+                        if (fastBallDurationRemaining <= 0) {
+                            for (Ball ball : balls) {
+                                ((FastBall) p).applyToBall(ball);
+                            }
+                            audio.playSoundEffect(p.getSoundEffect());
+                        }
+                        fastBallDurationRemaining = p.getDuration();
+                        p.setCollected();
+                        break;
+
+                    case "TripleBall":
+                        ((TripleBallPowerUp) p).apply(balls);
+                        audio.playSoundEffect(p.getSoundEffect());
+                        p.setCollected();
+                        break;
+
+                    case "BreakerBall":
+                        if (breakerBallDurationRemaining <= 0) {
+                            for (Ball ball : balls) {
+                                ((BreakerBall) p).applyToBall(ball);
+                            }
+                            audio.playSoundEffect(p.getSoundEffect());
+                        }
+                        breakerBallDurationRemaining = p.getDuration();
+                        p.setCollected();
+                        break;
+                }
+                effects.powerUpCollected(p.x, p.y, p.width, p.getSprite());
+                telemetry.powerUpCollected(tickCount, currentLevel, powerUpType);
+                PowerUpEvent event = new PowerUpEvent();
+                if (event.isEnabled()) {
+                    event.type = powerUpType;
+                    event.level = currentLevel;
+                    event.ballCount = balls.size();
+                    event.paddleWidth = paddle.getWidth();
+                    event.commit();
+                }
+
+                break;
+            }
+        }
+
+        // Remove collected power-ups and those that fell past the paddle
+        for (PowerUp p : powerUps) {
+            if (!p.isCollected() && p.getY() > HEIGHT) {
+                telemetry.powerUpMissed(tickCount, currentLevel, p.getId());
+            }
+        }
+        powerUps.removeIf(p -> p.isCollected() || p.getY() > HEIGHT);
+
+        // Handle balls falling below screen
+        double lostBallX = 0;
+        for (Ball ball : balls) {
+            if (ball.getY() > HEIGHT) lostBallX = ball.getX() + ball.getSize() / 2;
+        }
+        balls.removeIf(ball -> ball.getY() > HEIGHT);
+        if (balls.isEmpty() && gameState == GameState.PLAYING) {
+            boolean lifeLeft = scoreManager.loseLife();
+            telemetry.lifeLost(tickCount, currentLevel, deathCause(lostBallX), scoreManager.getLives());
+            if (lifeLeft) {
+                audio.playSoundEffect("life_lost");
+                balls.add(new Ball(WIDTH / 2, HEIGHT / 2, 10, 1.5, 1.5));
+            } else {
+                setGameState(GameState.GAME_OVER);
+                audio.stopAllSounds();
+                audio.playSoundEffect("game_over");
+            }
+        }
+
+        // Check win condition (all breakable bricks destroyed)
+        if (!brickGrid.hasMoreRows() && !hasBreakableBricksLeft()) {
+            if (!levels.hasLevel(currentLevel + 1)) {
+                setGameState(GameState.GAME_WON);
+            } else {
+                setGameState(GameState.LEVEL_TRANSITION);
+            }
+            audio.pauseBackgroundMusic();
+            audio.stopAllSoundEffects();
+            audio.playSoundEffect("victory");
+        }
+
+
+        double delta = TICK_SECONDS;
+
+        // Bigger Paddle timer
+        if (biggerPaddleDurationRemaining > 0) {
+            biggerPaddleDurationRemaining -= delta;
+            if (biggerPaddleDurationRemaining <= 0 && !balls.isEmpty()) {
+                new BiggerPaddle(0, 0, 0).reset(balls.get(0), paddle);
+                biggerPaddleDurationRemaining = 0.0;
+            }
+        }
+
+        // Fast Ball timer
+        if (fastBallDurationRemaining > 0) {
+            fastBallDurationRemaining -= delta;
+            if (fastBallDurationRemaining <= 0 && !balls.isEmpty()) {
+                new FastBall(0, 0, 0).reset(balls.get(0), paddle);
+                fastBallDurationRemaining = 0.0;
+            }
+        }
+
+        // Breaker Ball timer
+        if (breakerBallDurationRemaining > 0) {
+            breakerBallDurationRemaining -= delta;
+            if (breakerBallDurationRemaining <= 0 && !balls.isEmpty()) {
+                new BreakerBall(0, 0, 0).reset(balls.get(0), paddle);
+                breakerBallDurationRemaining = 0.0;
+            }
+        }
+        profiler.lap(Phase.EFFECTS, phaseStart);
+        profiler.recordCollisionTests(collisionTests);
+    }
+
+    private DeathCause deathCause(double lostBallX) {
+        if (fastBallDurationRemaining > 0) return DeathCause.FAST_BALL;
+        double halfWidth = paddle.getWidth() / 2;
+        double distance = Math.abs(lostBallX - (paddle.getX() + halfWidth)) - halfWidth;
+        return distance <= halfWidth ? DeathCause.NEAR_MISS : DeathCause.MISSED;
+    }
+
+    private void setGameState(GameState state) {
+        StateTransitionEvent event = new StateTransitionEvent();
+        if (event.isEnabled()) {
+            event.from = gameState.name();
+            event.to = state.name();
+            event.level = currentLevel;
+            event.score = scoreManager.getScore();
+            event.lives = scoreManager.getLives();
+            event.commit();
+        }
+        if (state == GameState.LEVEL_TRANSITION || state == GameState.GAME_WON) {
+            telemetry.levelCleared(tickCount, currentLevel, scoreManager.getScore());
+        }
+        if (state == GameState.GAME_WON || state == GameState.GAME_OVER) {
+            telemetry.sessionEnded(tickCount, currentLevel, state, scoreManager.getScore());
+        }
+        gameState = state;
+    }
+
+    /**
+     * Breakable and unbreakable bricks still standing.
+     */
+    /**
+     * Checked every tick, so a plain loop rather than a stream.
+     */
+    private boolean hasBreakableBricksLeft() {
+        for (Brick b : brickGrid.getBricks()) {
+            if (!b.isDestroyed() && !(b instanceof UnbreakableBrick)) return true;
+        }
+        return false;
+    }
+
+    public int countBricksLeft() {
+        int count = 0;
+        for (Brick b : brickGrid.getBricks()) {
+            if (!b.isDestroyed()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Copies the state a renderer needs into a preallocated snapshot.
+     */
+    public void writeSnapshot(FrameSnapshot s) {
+        s.tick = tickCount;
+
+        s.paddleX = paddle.getX();
+        s.paddleY = paddle.getY();
+        s.paddleWidth = paddle.getWidth();
+        s.paddleHeight = paddle.getHeight();
+
+        int ballCount = balls.size();
+        s.ensureBallCapacity(ballCount);
+        for (int i = 0; i < ballCount; i++) {
+            Ball ball = balls.get(i);
+            s.ballX[i] = ball.getX();
+            s.ballY[i] = ball.getY();
+            s.ballSize[i] = ball.getSize();
+            s.ballSprite[i] = ball.getSprite().ordinal();
+        }
+        s.ballCount = ballCount;
+
+        int powerUpCount = 0;
+        s.ensurePowerUpCapacity(powerUps.size());
+        for (PowerUp p : powerUps) {
+            if (p.isCollected()) continue;
+            s.powerUpX[powerUpCount] = p.getX();
+            s.powerUpY[powerUpCount] = p.getY();
+            s.powerUpSize[powerUpCount] = p.getWidth();
+            s.powerUpSprite[powerUpCount] = p.getSprite().ordinal();
+            powerUpCount++;
+        }
+        s.powerUpCount = powerUpCount;
+
+        s.copyBricks(brickGrid.getLayout(), brickSprites, brickGrid.getScrollY());
+
+        s.score = scoreManager.getScore();
+        s.highScore = scoreManager.getHighScore();
+        s.lives = scoreManager.getLives();
+        s.level = currentLevel;
+        s.state = gameState;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public int getCurrentLevel() {
+        return currentLevel;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public Paddle getPaddle() {
+        return paddle;
+    }
+
+    public List<Ball> getBalls() {
+        return balls;
+    }
+
+    public List<PowerUp> getPowerUps() {
+        return powerUps;
+    }
+
+    public BrickGrid getBrickGrid() {
+        return brickGrid;
+    }
+
+    public ScoreManager getScoreManager() {
+        return scoreManager;
+    }
+}
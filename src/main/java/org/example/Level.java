@@ -1,64 +1,197 @@
 package org.example;
 
+import org.example.asset.Assets;
 import org.example.brick.Brick;
+import org.example.brick.BrickGrid;
+import org.example.brick.GridLayout;
 import org.example.brick.NormalBrick;
 import org.example.brick.StrongBrick;
 import org.example.brick.UnbreakableBrick;
+import org.example.jfr.LevelLoadEvent;
+import org.example.level.LevelCells;
+import org.example.level.LevelCompiler;
+import org.example.level.LevelFile;
+import org.example.level.ScrollingBrickGrid;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Loads levels. The text files under {@code assets/levels} are the source; the build
+ * compiles them to {@link LevelFile}s and packs those into the {@link Assets} pack,
+ * from which they are read in place instead of parsed. A text level that has no
+ * compiled file, or was edited since it was compiled, is compiled in memory on the fly.
+ * <p>
+ * The cells of each level are kept once read, so loading a level again reads nothing.
+ * Edits reach the cache through {@link #edited}.
+ */
 public class Level {
+    /** Bundled levels per difficulty, numbered from 1. */
+    public static final int LEVEL_COUNT = 3;
+    private static final String DIRECTORY = "levels";
+    private static final Map<String, LevelCells> CELLS = new ConcurrentHashMap<>();
 
-    public static List<Brick> loadLevel(Difficulty difficulty, int levelNumber) {
-        String path = "assets/levels/" + difficulty.name().toLowerCase() + "/" + levelNumber + ".txt";
-        List<Brick> bricks = new ArrayList<>();
-        int brickHeight = 25;
-        int startY = 50;
-        int spacing = 5;
+    /**
+     * Throws {@link UncheckedIOException} if the level is missing or invalid.
+     */
+    public static BrickGrid loadLevel(Difficulty difficulty, int levelNumber) {
+        LevelLoadEvent event = new LevelLoadEvent();
+        event.begin();
+        boolean cached = CELLS.containsKey(key(difficulty, levelNumber));
+        BrickGrid bricks = grid(loadCells(difficulty, levelNumber));
+        event.end();
+        if (event.shouldCommit()) {
+            event.difficulty = difficulty.name();
+            event.level = levelNumber;
+            event.source = cached ? "memory" : DIRECTORY + "/" + key(difficulty, levelNumber);
+            event.rows = bricks.getLayout().getRows();
+            event.columns = bricks.getLayout().getCols();
+            event.brickCount = bricks.getBricks().size();
+            event.commit();
+        }
+        return bricks;
+    }
 
+    /**
+     * The level's cells, read on first use and kept. Throws {@link UncheckedIOException}
+     * if the level is missing or invalid.
+     */
+    public static LevelCells loadCells(Difficulty difficulty, int levelNumber) {
+        String name = key(difficulty, levelNumber);
+        LevelCells cells = CELLS.get(name);
+        if (cells != null) return cells;
+        Assets assets = Assets.shared();
+        Path text = sourceFile(difficulty, levelNumber);
+        String compiled = DIRECTORY + "/" + name + LevelFile.SUFFIX;
         try {
-            List<String> lines = Files.readAllLines(Paths.get(path));
-            if (lines.isEmpty()) {
-                return bricks;
-            }
+            cells = isCompiled(assets, compiled, text)
+                    ? LevelFile.read(assets.find(compiled), compiled) : LevelCompiler.parse(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load level " + name, e);
+        }
+        // An edit that arrived while this was being read wins
+        LevelCells raced = CELLS.putIfAbsent(name, cells);
+        return raced != null ? raced : cells;
+    }
 
-            String[] firstLine = lines.get(0).split(" ");
-            int numCols = firstLine.length;
-            double brickWidth = (800.0 - (numCols + 1) * spacing) / numCols;
-            double startX = spacing;
-
-            for (int row = 0; row < lines.size(); row++) {
-                String[] brickTypes = lines.get(row).split(" ");
-                for (int col = 0; col < brickTypes.length; col++) {
-                    int brickType = Integer.parseInt(brickTypes[col]);
-                    if (brickType == 0) {
-                        continue;
-                    }
-
-                    double x = startX + col * (brickWidth + spacing);
-                    double y = startY + row * (brickHeight + spacing);
-
-                    switch (brickType) {
-                        case 1:
-                            bricks.add(new NormalBrick(x, y, brickWidth, brickHeight));
-                            break;
-                        case 2:
-                            bricks.add(new StrongBrick(x, y, brickWidth, brickHeight));
-                            break;
-                        case 3:
-                            bricks.add(new UnbreakableBrick(x, y, brickWidth, brickHeight));
-                            break;
-                    }
+    /**
+     * A level's source was changed to these cells; later loads get them.
+     */
+    public static void edited(Difficulty difficulty, int levelNumber, LevelCells cells) {
+        CELLS.put(key(difficulty, levelNumber), cells);
+    }
+
+    private static String key(Difficulty difficulty, int levelNumber) {
+        return difficulty.name().toLowerCase() + "/" + levelNumber;
+    }
+
+    /**
+     * True if the compiled level exists and is at least as new as its text source.
+     */
+    private static boolean isCompiled(Assets assets, String compiled, Path text) throws IOException {
+        FileTime compiledAt = assets.lastModified(compiled);
+        return compiledAt != null && (!Files.exists(text)
+                || compiledAt.compareTo(Files.getLastModifiedTime(text)) >= 0);
+    }
+
+    /**
+     * Lays the cells out across the playfield width and creates their bricks.
+     */
+    public static BrickGrid build(LevelCells cells) {
+        int numCols = cells.getCols();
+        BrickGrid bricks = new BrickGrid(layoutFor(cells.getRows(), numCols));
+        GridLayout layout = bricks.getLayout();
+
+        for (int row = 0; row < cells.getRows(); row++) {
+            for (int col = 0; col < numCols; col++) {
+                Brick brick = createBrick(cells.type(row * numCols + col), layout, row * numCols + col);
+                if (brick != null) {
+                    bricks.put(row, col, brick);
                 }
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
-
         return bricks;
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads the cells into a grid: a plain one if the level fits the screen, else a
+     * {@link ScrollingBrickGrid} that keeps only a window of rows resident.
+     */
+    public static BrickGrid grid(LevelCells cells) {
+        return cells.getRows() > ScrollingBrickGrid.VIEW_ROWS ? new ScrollingBrickGrid(cells) : build(cells);
+    }
+
+    /**
+     * The grid geometry of a level: bricks fill the playfield width, the first row at the top.
+     */
+    public static GridLayout layoutFor(int rows, int cols) {
+        int brickHeight = 25;
+        int startY = 50;
+        int spacing = 5;
+        double brickWidth = ((double) GameWorld.WIDTH - (cols + 1) * spacing) / cols;
+        double startX = spacing;
+        return new GridLayout(rows, cols, startX, startY, brickWidth, brickHeight, spacing);
+    }
+
+    /**
+     * A new brick of a {@link LevelCells} type for a cell of the layout, or null for an empty cell.
+     */
+    public static Brick createBrick(int type, GridLayout layout, int index) {
+        double x = layout.cellXOf(index);
+        double y = layout.cellYOf(index);
+        double w = layout.getCellWidth();
+        double h = layout.getCellHeight();
+        switch (type) {
+            case LevelCells.NORMAL:
+                return new NormalBrick(x, y, w, h);
+            case LevelCells.STRONG:
+                return new StrongBrick(x, y, w, h);
+            case LevelCells.UNBREAKABLE:
+                return new UnbreakableBrick(x, y, w, h);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The {@link LevelCells} type a brick was created as; {@link LevelCells#EMPTY} for null.
+     */
+    public static int typeOf(Brick brick) {
+        if (brick instanceof UnbreakableBrick) return LevelCells.UNBREAKABLE;
+        if (brick instanceof StrongBrick) return LevelCells.STRONG;
+        return brick == null ? LevelCells.EMPTY : LevelCells.NORMAL;
+    }
+
+    /**
+     * The number of a level file of the difficulty, e.g. 2 for {@code easy/2.txt}, or -1
+     * if the file is something else. {@code file} is relative to the level directory.
+     */
+    public static int levelNumberOf(Difficulty difficulty, Path file) {
+        if (file.getNameCount() != 2 || !file.getName(0).toString().equals(difficulty.name().toLowerCase())) {
+            return -1;
+        }
+        String name = file.getFileName().toString();
+        if (!name.endsWith(LevelCompiler.SOURCE_SUFFIX)) return -1;
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - LevelCompiler.SOURCE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The text source of a bundled level.
+     */
+    public static Path sourceFile(Difficulty difficulty, int levelNumber) {
+        return sourceDirectory().resolve(difficulty.name().toLowerCase() + "/" + levelNumber + LevelCompiler.SOURCE_SUFFIX);
+    }
+
+    public static Path sourceDirectory() {
+        return Assets.shared().sourcePath(DIRECTORY);
+    }
+}
@@ -0,0 +1,261 @@
+package org.example;
+
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.example.brick.GridLayout;
+import org.example.level.LevelCells;
+import org.example.level.LevelCompiler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Paints brick types onto a level's grid and saves it in the text format.
+ * The left mouse button paints the selected type (keys 0-3 select it), the right
+ * one erases. Saving replaces the level file in one step, so a running game's
+ * {@link org.example.level.LevelWatcher} picks up the finished file; Test saves
+ * and starts a game at the level. Leaving a level with unsaved edits, for another
+ * level or the menu, asks whether to save them first.
+ */
+public class LevelEditor {
+    private static final Color[] COLORS = {Color.rgb(40, 40, 40), Color.YELLOW, Color.RED, Color.GRAY};
+    private static final String[] TYPE_NAMES = {"Empty", "Normal", "Strong", "Unbreakable"};
+    private static final int MAX_ROWS = 12;
+    private static final int MAX_COLS = 32;
+
+    private final Stage stage;
+    private final Canvas canvas = new Canvas(GameWorld.WIDTH, GameWorld.HEIGHT - 150);
+    private final Label status = new Label();
+    private final ToggleGroup palette = new ToggleGroup();
+    private final ComboBox<Difficulty> difficultyBox = new ComboBox<>();
+    private final ComboBox<Integer> levelBox = new ComboBox<>();
+    private Difficulty difficulty = GameSettings.getDifficulty();
+    private int level = 1;
+    private int rows;
+    private int cols;
+    private byte[] types;
+    private GridLayout layout;
+    private boolean modified;
+
+    private LevelEditor(Stage stage) {
+        this.stage = stage;
+    }
+
+    public static void show(Stage stage) {
+        new LevelEditor(stage).build();
+    }
+
+    private void build() {
+        difficultyBox.getItems().addAll(Difficulty.values());
+        difficultyBox.setValue(difficulty);
+        for (int n = 1; n <= Level.LEVEL_COUNT; n++) levelBox.getItems().add(n);
+        levelBox.setValue(level);
+        difficultyBox.setOnAction(e -> switchTo(difficultyBox.getValue(), level));
+        levelBox.setOnAction(e -> switchTo(difficulty, levelBox.getValue()));
+
+        HBox types = new HBox(8);
+        for (int type = 0; type < TYPE_NAMES.length; type++) {
+            ToggleButton button = new ToggleButton(type + " " + TYPE_NAMES[type]);
+            button.setUserData(type);
+            button.setToggleGroup(palette);
+            types.getChildren().add(button);
+        }
+        palette.selectToggle(palette.getToggles().get(LevelCells.NORMAL));
+        // Keep one type selected at all times
+        palette.selectedToggleProperty().addListener((observable, before, after) -> {
+            if (after == null) palette.selectToggle(before);
+        });
+
+        Button addRow = new Button("Row +");
+        Button removeRow = new Button("Row -");
+        Button addCol = new Button("Column +");
+        Button removeCol = new Button("Column -");
+        addRow.setOnAction(e -> resize(rows + 1, cols));
+        removeRow.setOnAction(e -> resize(rows - 1, cols));
+        addCol.setOnAction(e -> resize(rows, cols + 1));
+        removeCol.setOnAction(e -> resize(rows, cols - 1));
+
+        Button save = new Button("Save");
+        Button test = new Button("Test");
+        Button back = new Button("Back to Menu");
+        save.setOnAction(e -> save());
+        test.setOnAction(e -> {
+            if (save()) new Game(difficulty, false, level).start(stage);
+        });
+        back.setOnAction(e -> {
+            if (confirmDiscard()) MainMenu.show(stage);
+        });
+
+        HBox top = new HBox(8, difficultyBox, levelBox, addRow, removeRow, addCol, removeCol);
+        HBox bottom = new HBox(8, save, test, back);
+        status.setTextFill(Color.WHITE);
+        VBox layoutBox = new VBox(10, top, types, canvas, bottom, status);
+        layoutBox.setStyle("-fx-background-color: black; -fx-padding: 10;");
+
+        canvas.setOnMousePressed(this::paint);
+        canvas.setOnMouseDragged(this::paint);
+
+        Scene scene = new Scene(layoutBox, GameWorld.WIDTH + 20, GameWorld.HEIGHT);
+        scene.setOnKeyPressed(e -> {
+            String text = e.getText();
+            if (text.length() == 1 && text.charAt(0) >= '0' && text.charAt(0) < '0' + TYPE_NAMES.length) {
+                palette.selectToggle(palette.getToggles().get(text.charAt(0) - '0'));
+            }
+            if (e.getCode() == KeyCode.S && e.isShortcutDown()) save();
+        });
+        stage.setScene(scene);
+        stage.setTitle("Arkanoid - Level Editor");
+        open(difficulty, level);
+    }
+
+    /**
+     * Opens another level once unsaved edits are saved or discarded; if the switch is
+     * cancelled the selectors go back to the level being edited.
+     */
+    private void switchTo(Difficulty difficulty, int level) {
+        if (difficulty == this.difficulty && level == this.level) return;
+        if (!confirmDiscard()) {
+            // Re-selecting the current level makes these handlers return straight away
+            difficultyBox.setValue(this.difficulty);
+            levelBox.setValue(this.level);
+            return;
+        }
+        open(difficulty, level);
+    }
+
+    /**
+     * Asks what to do with unsaved edits. Returns true if they were saved or may be
+     * dropped, false if the user cancelled or saving failed.
+     */
+    private boolean confirmDiscard() {
+        if (!modified) return true;
+        ButtonType saveButton = new ButtonType("Save", ButtonBar.ButtonData.YES);
+        ButtonType discardButton = new ButtonType("Discard", ButtonBar.ButtonData.NO);
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION,
+                "Save your changes to " + Level.sourceFile(difficulty, level) + "?",
+                saveButton, discardButton, ButtonType.CANCEL);
+        alert.initOwner(stage);
+        alert.setHeaderText("Unsaved changes");
+        Optional<ButtonType> choice = alert.showAndWait();
+        if (choice.isEmpty() || choice.get() == ButtonType.CANCEL) return false;
+        return choice.get() == discardButton || save();
+    }
+
+    private void open(Difficulty difficulty, int level) {
+        this.difficulty = difficulty;
+        this.level = level;
+        Path file = Level.sourceFile(difficulty, level);
+        try {
+            LevelCells cells = LevelCompiler.parse(file);
+            rows = cells.getRows();
+            cols = cells.getCols();
+            types = new byte[rows * cols];
+            for (int i = 0; i < types.length; i++) types[i] = (byte) cells.type(i);
+            status.setText("Editing " + file);
+        } catch (IOException e) {
+            rows = 6;
+            cols = 8;
+            types = new byte[rows * cols];
+            status.setText("New level (" + e.getMessage() + ")");
+        }
+        modified = false;
+        relayout();
+    }
+
+    private void resize(int newRows, int newCols) {
+        if (newRows < 1 || newCols < 1 || newRows > MAX_ROWS || newCols > MAX_COLS) return;
+        byte[] resized = new byte[newRows * newCols];
+        for (int row = 0; row < Math.min(rows, newRows); row++) {
+            System.arraycopy(types, row * cols, resized, row * newCols, Math.min(cols, newCols));
+        }
+        rows = newRows;
+        cols = newCols;
+        types = resized;
+        markModified();
+        relayout();
+    }
+
+    private void relayout() {
+        // The same geometry the game uses, so the editor shows the level as it will be played
+        layout = Level.layoutFor(rows, cols);
+        redraw();
+    }
+
+    private void paint(MouseEvent e) {
+        int col = (int) Math.floor((e.getX() - layout.cellX(0)) / (layout.getCellWidth() + layout.getSpacing()));
+        int row = (int) Math.floor((e.getY() - layout.cellY(0)) / (layout.getCellHeight() + layout.getSpacing()));
+        if (row < 0 || col < 0 || row >= rows || col >= cols) return;
+        int type = e.getButton() == MouseButton.SECONDARY ? LevelCells.EMPTY : (int) palette.getSelectedToggle().getUserData();
+        int cell = row * cols + col;
+        if (types[cell] == type) return;
+        types[cell] = (byte) type;
+        markModified();
+        drawCell(canvas.getGraphicsContext2D(), cell);
+    }
+
+    private void markModified() {
+        if (!modified) {
+            modified = true;
+            status.setText("Editing " + Level.sourceFile(difficulty, level) + " (unsaved)");
+        }
+    }
+
+    private void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(Color.BLACK);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int cell = 0; cell < types.length; cell++) {
+            drawCell(gc, cell);
+        }
+    }
+
+    private void drawCell(GraphicsContext gc, int cell) {
+        double x = layout.cellXOf(cell);
+        double y = layout.cellYOf(cell);
+        gc.setFill(COLORS[types[cell]]);
+        gc.fillRect(x, y, layout.getCellWidth(), layout.getCellHeight());
+        gc.setStroke(types[cell] == LevelCells.EMPTY ? Color.DIMGRAY : Color.BLACK);
+        gc.strokeRect(x, y, layout.getCellWidth(), layout.getCellHeight());
+    }
+
+    /**
+     * Writes the level next to the file and moves it into place. Returns false if that failed.
+     */
+    private boolean save() {
+        Path file = Level.sourceFile(difficulty, level);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            LevelCells cells = LevelCompiler.pack(rows, cols, Arrays.copyOf(types, types.length));
+            Files.createDirectories(file.getParent());
+            Files.writeString(temporary, LevelCompiler.toText(cells));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Level.edited(difficulty, level, cells);
+            modified = false;
+            status.setText("Saved " + file);
+            return true;
+        } catch (IOException e) {
+            status.setText("Could not save " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
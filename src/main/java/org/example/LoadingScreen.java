@@ -0,0 +1,86 @@
+package org.example;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import org.example.asset.AssetLoader;
+import org.example.asset.Assets;
+import org.example.audio.MusicPlayer;
+import org.example.perf.StartupTimer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shown once at launch while {@link AssetLoader} loads the images, levels and audio
+ * in parallel, with a bar of how many are done. After that no game needs to read
+ * an asset from disk.
+ */
+public class LoadingScreen {
+    private static final String[] AUDIO_FOLDERS = {"audio/sound_effects", "audio/background_musics"};
+
+    public static void show(Stage stage, Runnable onLoaded) {
+        Text title = new Text("ARKANOID");
+        title.setFont(Font.font("Arial", FontWeight.EXTRA_BOLD, 48));
+        title.setFill(Color.ORANGE);
+
+        ProgressBar bar = new ProgressBar(0);
+        bar.setPrefWidth(400);
+
+        Text status = new Text("Loading...");
+        status.setFont(Font.font(16));
+        status.setFill(Color.LIGHTGRAY);
+
+        VBox layout = new VBox(20);
+        layout.setStyle("-fx-background-color: black; -fx-alignment: center;");
+        layout.getChildren().addAll(title, bar, status);
+
+        stage.setScene(new Scene(layout, 800, 600));
+        stage.setTitle("Arkanoid - Loading");
+        stage.show();
+
+        List<AssetLoader.Job> jobs = jobs(AssetLoader.shared(), SoundManager.oneAndOnly());
+        AssetLoader.shared().load(jobs, (name, done, total) -> Platform.runLater(() -> {
+            // Jobs finish on several threads, so their reports can arrive out of order
+            bar.setProgress(Math.max(bar.getProgress(), (double) done / total));
+            status.setText("Loaded " + name);
+        })).thenRun(() -> Platform.runLater(() -> {
+            StartupTimer.mark("assets preloaded (" + jobs.size() + ")");
+            onLoaded.run();
+        }));
+    }
+
+    private static List<AssetLoader.Job> jobs(AssetLoader loader, SoundManager soundManager) {
+        Assets assets = loader.getAssets();
+        List<AssetLoader.Job> jobs = new ArrayList<>();
+        try {
+            for (String name : assets.list("")) {
+                if (name.endsWith(".png")) jobs.add(loader.imageJob(name));
+            }
+            // Audio is opened by URL, so packed files are copied out now rather than on first play
+            for (String folder : AUDIO_FOLDERS) {
+                for (String name : assets.list(folder)) {
+                    if (MusicPlayer.isPlayable(name)) jobs.add(loader.fileJob(name));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not list assets: " + e.getMessage());
+        }
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int level = 1; level <= Level.LEVEL_COUNT; level++) {
+                int number = level;
+                jobs.add(new AssetLoader.Job("level " + difficulty.name().toLowerCase() + "/" + number,
+                        () -> Level.loadCells(difficulty, number)));
+            }
+        }
+        jobs.add(new AssetLoader.Job("sound effects", () -> soundManager.effectsLoaded().join()));
+        return jobs;
+    }
+}
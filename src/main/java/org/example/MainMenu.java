@@ -11,7 +11,6 @@ import javafx.stage.Stage;
 
 public class MainMenu {
 
-    private static boolean isFirstShow = true;
 
     public static void show(Stage stage) {
         Text title = new Text("ARKANOID");
@@ -19,17 +18,23 @@ public class MainMenu {
         title.setFill(Color.ORANGE);
 
         Button playButton = new Button("Play");
+        Button endlessButton = new Button("Endless");
+        Button editorButton = new Button("Level Editor");
         Button settingsButton = new Button("Settings");
         Button instructionsButton = new Button("Instructions");
         Button quitButton = new Button("Quit");
 
         // Basic button styling
         playButton.setFont(Font.font(20));
+        endlessButton.setFont(Font.font(20));
+        editorButton.setFont(Font.font(20));
         settingsButton.setFont(Font.font(20));
         instructionsButton.setFont(Font.font(20));
         quitButton.setFont(Font.font(20));
 
         playButton.setMinWidth(200);
+        endlessButton.setMinWidth(200);
+        editorButton.setMinWidth(200);
         settingsButton.setMinWidth(200);
         instructionsButton.setMinWidth(200);
         quitButton.setMinWidth(200);
@@ -37,7 +42,7 @@ public class MainMenu {
         // Create layout
         VBox layout = new VBox(20);
         layout.setStyle("-fx-background-color: black; -fx-alignment: center;");
-        layout.getChildren().addAll(title, playButton, settingsButton, instructionsButton, quitButton);
+        layout.getChildren().addAll(title, playButton, endlessButton, editorButton, settingsButton, instructionsButton, quitButton);
 
         Scene menuScene = new Scene(layout, 800, 600);
 
@@ -47,6 +52,15 @@ public class MainMenu {
             game.start(stage);
         });
 
+        endlessButton.setOnAction(e -> {
+            Game game = new Game(GameSettings.getDifficulty(), true, 1);
+            game.start(stage);
+        });
+
+        editorButton.setOnAction(e -> {
+            LevelEditor.show(stage);
+        });
+
         settingsButton.setOnAction(e -> {
             showSettings(stage);
         });
@@ -62,11 +76,8 @@ public class MainMenu {
         stage.setScene(menuScene);
         stage.setTitle("Arkanoid - Main Menu");
         
-        // Only play menu music if this is the first show or coming back from game
-        if (isFirstShow || SoundManager.oneAndOnly().getCurrentBackgroundMusic() == null) {
-            SoundManager.oneAndOnly().playBackgroundMusic("menu_theme");
-            isFirstShow = false;
-        }
+        // Crossfades from the game music; a no-op when coming back from a sub-menu
+        SoundManager.oneAndOnly().playBackgroundMusic("menu_theme");
 
         stage.show();
     }
@@ -4,6 +4,8 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 public class Paddle extends GameObject {
+    public static final Color COLOR = Color.LIGHTGREEN;
+
     private double speed = 6;
     private double baseWidth;
 
@@ -17,7 +19,7 @@ public class Paddle extends GameObject {
         if (rightPressed) x += speed;
 
         if (x < 0) x = 0;
-        if (x + width > 800) x = 800 - width;
+        if (x + width > GameWorld.WIDTH) x = GameWorld.WIDTH - width;
     }
 
     public void scaleWidth(double mult) {
@@ -30,7 +32,7 @@ public class Paddle extends GameObject {
 
     @Override
     public void draw(GraphicsContext gc) {
-        gc.setFill(Color.LIGHTGREEN);
+        gc.setFill(COLOR);
         gc.fillRect(x, y, width, height);
     }
 }
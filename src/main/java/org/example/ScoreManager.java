@@ -71,10 +71,42 @@ public class ScoreManager {
         return String.format("%06d", highScore);
     }
 
+    /**
+     * How many digits String.format("%0<minWidth>d") writes for a non-negative value:
+     * its own digit count, or minWidth if that is more.
+     */
+    public static int digitCount(int value, int minWidth) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return Math.max(digits, minWidth);
+    }
+
+    /**
+     * Writes value as zero-padded decimal digits into buffer[offset, offset + width),
+     * the allocation-free equivalent of String.format("%0<width>d").
+     * Only the lowest width digits are kept, so size width with {@link #digitCount}.
+     */
+    public static void writeDigits(int value, char[] buffer, int offset, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
     /**
      * Draws the lives display using heart images.
      */
     public void drawLives(GraphicsContext gc, Image heartImage, Image heartEmptyImage, int x, int y) {
+        drawLives(gc, lives, heartImage, heartEmptyImage, x, y);
+    }
+
+    /**
+     * Draws the lives display for a given number of lives.
+     */
+    public static void drawLives(GraphicsContext gc, int lives, Image heartImage, Image heartEmptyImage, int x, int y) {
         double heartSize = 24;
         double spacing = 30;
 
@@ -1,34 +1,98 @@
 package org.example;
 
-import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.AudioClip;
-import java.io.File;
+import org.example.asset.Assets;
+import org.example.audio.EffectMixer;
+import org.example.audio.MusicPlayer;
+import org.example.audio.VoiceLimiter;
+import org.example.jfr.SoundEvent;
+import org.example.perf.StartupTimer;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Plays sound effects and background music. Nothing is loaded up front: a background
+ * thread decodes the short effects first, and each music track is opened the first
+ * time it is asked for, so constructing the manager never delays the first frame.
+ * An effect requested before it has loaded is skipped rather than played late.
+ * Music is streamed and crossfaded by a {@link MusicPlayer}, which keeps at most
+ * the current and the previous track open.
+ * <p>
+ * Effects that Java Sound can decode (a {@code .wav} next to the listed file is
+ * preferred) are played through the low-latency {@link EffectMixer}; the rest
+ * through {@link AudioClip}s behind a {@link VoiceLimiter}. Either way a burst of
+ * identical triggers is coalesced and capped.
+ * Everything except loading happens on the FX thread.
+ */
+public class SoundManager implements AudioSink {
+    private static final Map<String, String> EFFECT_FILES = new LinkedHashMap<>();
+    private static final String MUSIC_FOLDER = "audio/background_musics";
+    private static final Map<String, Integer> EFFECT_IDS = new HashMap<>();
+
+    static {
+        EFFECT_FILES.put("brick_break", "audio/sound_effects/brick_break.mp3");
+        EFFECT_FILES.put("fast_ball", "audio/sound_effects/fast_ball.mp3");
+        EFFECT_FILES.put("triple_ball", "audio/sound_effects/triple_ball.mp3");
+        EFFECT_FILES.put("bigger_paddle", "audio/sound_effects/bigger_paddle.mp3");
+        EFFECT_FILES.put("life_lost", "audio/sound_effects/life_lost.mp3");
+        EFFECT_FILES.put("game_over", "audio/sound_effects/game_over.mp3");
+        EFFECT_FILES.put("victory", "audio/sound_effects/victory.mp3");
+
+        for (String name : EFFECT_FILES.keySet()) {
+            EFFECT_IDS.put(name, EFFECT_IDS.size());
+        }
+    }
 
-public class SoundManager {
     private static SoundManager oneAndOnlyManager;
-    private Map<String, MediaPlayer> backgroundMusic;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "arkanoid-audio-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
     private Map<String, AudioClip> soundEffects;
-    private MediaPlayer currentBackgroundMusic;
+    // Effect name to mixer id, for effects the mixer decoded
+    private final Map<String, Integer> mixedEffects = new ConcurrentHashMap<>();
+    private volatile EffectMixer mixer;
+    private final VoiceLimiter clipLimiter = new VoiceLimiter(EFFECT_FILES.size());
+    private final Assets assets = Assets.shared();
+    // Opens its tracks on the loader thread, queued behind the effects
+    private final MusicPlayer music = new MusicPlayer(assets, MUSIC_FOLDER, loader);
     private boolean soundEnabled;
     private boolean musicEnabled;
-    private double musicVolume;
-    private double effectsVolume;
+    private volatile double musicVolume;
+    private volatile double effectsVolume;
+    private final CompletableFuture<Void> effectsLoaded;
     
     public MediaPlayer getCurrentBackgroundMusic() {
-        return currentBackgroundMusic;
+        return music.getCurrentPlayer();
+    }
+
+    /** The track playing or about to play, or null. */
+    public String getCurrentMusicTrack() {
+        return music.getCurrentTrack();
     }
 
     private SoundManager() {
-        backgroundMusic = new HashMap<>();
-        soundEffects = new HashMap<>();
+        soundEffects = new ConcurrentHashMap<>();
         soundEnabled = true;
         musicEnabled = true;
         musicVolume = 1.0;
         effectsVolume = 1.0;
-        loadSounds();
+        effectsLoaded = CompletableFuture.runAsync(this::loadSoundEffects, loader);
+    }
+
+    /** Completes once every effect has been decoded, or has failed to. */
+    public CompletableFuture<Void> effectsLoaded() {
+        return effectsLoaded;
     }
 
     public static SoundManager oneAndOnly() {
@@ -38,45 +102,47 @@ public class SoundManager {
         return oneAndOnlyManager;
     }
 
-    private void loadSounds() {
-        try {
-            // Load background music and themes
-            loadBackgroundMusic("main_theme", "assets/audio/background_musics/main_theme.mp3");
-            loadBackgroundMusic("menu_theme", "assets/audio/background_musics/menu_theme.mp3");
-
-            // Load sound effects
-            loadSoundEffect("brick_break", "assets/audio/sound_effects/brick_break.mp3");
-            loadSoundEffect("fast_ball", "assets/audio/sound_effects/fast_ball.mp3");
-            loadSoundEffect("triple_ball", "assets/audio/sound_effects/triple_ball.mp3");
-            loadSoundEffect("bigger_paddle", "assets/audio/sound_effects/bigger_paddle.mp3");
-            loadSoundEffect("life_lost", "assets/audio/sound_effects/life_lost.mp3");
-            loadSoundEffect("game_over", "assets/audio/sound_effects/game_over.mp3");
-            loadSoundEffect("victory", "assets/audio/sound_effects/victory.mp3");
-
-        } catch (Exception e) {
-            System.err.println("Error loading sounds: " + e.getMessage());
+    /**
+     * Loader thread: decodes every effect, in the order they are listed, into the
+     * mixer if there is an output line and the file can be decoded, else as a clip.
+     */
+    private void loadSoundEffects() {
+        EffectMixer candidate = EffectMixer.open();
+        Map<String, Integer> decoded = new HashMap<>();
+        for (Map.Entry<String, String> effect : EFFECT_FILES.entrySet()) {
+            int id = candidate == null ? -1 : loadMixed(candidate, effect.getValue());
+            if (id >= 0) {
+                decoded.put(effect.getKey(), id);
+            } else {
+                loadSoundEffect(effect.getKey(), effect.getValue());
+            }
         }
+        if (!decoded.isEmpty()) {
+            candidate.setVolume(effectsVolume);
+            candidate.start();
+            mixer = candidate;
+            mixedEffects.putAll(decoded);
+        } else if (candidate != null) {
+            candidate.close();
+        }
+        StartupTimer.mark("sound effects loaded (" + decoded.size() + " mixed, "
+                + (EFFECT_FILES.size() - decoded.size()) + " as clips)");
     }
 
-    private void loadBackgroundMusic(String name, String path) {
-        try {
-            File file = new File(path);
-            if (file.exists()) {
-                Media media = new Media(file.toURI().toString());
-                MediaPlayer player = new MediaPlayer(media);
-                player.setVolume(musicVolume);
-                backgroundMusic.put(name, player);
-            }
-        } catch (Exception e) {
-            System.err.println("Could not load background music: " + path);
+    private int loadMixed(EffectMixer mixer, String asset) {
+        String wav = asset.replaceFirst("\\.[^.]+$", ".wav");
+        try (InputStream in = assets.open(assets.contains(wav) ? wav : asset)) {
+            return mixer.load(in);
+        } catch (IOException e) {
+            return -1;
         }
     }
 
-    private void loadSoundEffect(String name, String path) {
+    private void loadSoundEffect(String name, String asset) {
         try {
-            File file = new File(path);
-            if (file.exists()) {
-                AudioClip clip = new AudioClip(file.toURI().toString());
+            if (assets.contains(asset)) {
+                // AudioClip needs a URL, so a packed effect is copied out to a file first
+                AudioClip clip = new AudioClip(assets.file(asset).toUri().toString());
                 clip.setVolume(effectsVolume);
                 soundEffects.put(name, clip);
             }
@@ -85,53 +151,68 @@ public class SoundManager {
         }
     }
 
-
+    @Override
     public void playBackgroundMusic(String musicName) {
         if (!musicEnabled) return;
 
-        stopBackgroundMusic();
-
-        MediaPlayer player = backgroundMusic.get(musicName);
-        if (player != null) {
-            currentBackgroundMusic = player;
-            player.setCycleCount(MediaPlayer.INDEFINITE);
-            player.play();
-        }
+        SoundEvent event = new SoundEvent();
+        event.begin();
+        boolean found = music.play(musicName);
+        commit(event, "music", musicName, found);
     }
 
     public void stopBackgroundMusic() {
-        if (currentBackgroundMusic != null) {
-            currentBackgroundMusic.stop();
-            currentBackgroundMusic = null;
-        }
+        music.stop();
     }
 
+    @Override
     public void pauseBackgroundMusic() {
-        if (currentBackgroundMusic != null) {
-            currentBackgroundMusic.pause();
-        }
+        SoundEvent event = new SoundEvent();
+        event.begin();
+        music.pause();
+        commit(event, "pause", null, true);
     }
 
     public void resumeBackgroundMusic() {
-        if (currentBackgroundMusic != null && musicEnabled) {
-            currentBackgroundMusic.play();
-        }
+        if (!musicEnabled) return;
+        SoundEvent event = new SoundEvent();
+        event.begin();
+        music.resume();
+        commit(event, "resume", null, true);
     }
 
+    @Override
     public void playSoundEffect(String effectName) {
         if (!soundEnabled) return;
 
+        SoundEvent event = new SoundEvent();
+        event.begin();
+        Integer mixed = mixedEffects.get(effectName);
+        if (mixed != null) {
+            mixer.trigger(mixed);
+            commit(event, "effect", effectName, true);
+            return;
+        }
         AudioClip clip = soundEffects.get(effectName);
-        if (clip != null) {
+        if (clip != null && clipLimiter.tryStart(EFFECT_IDS.get(effectName), System.nanoTime())) {
             clip.play();
         }
+        commit(event, "effect", effectName, clip != null);
     }
 
+    /**
+     * Plays an effect at its own volume. Mixed effects ignore the volume and are
+     * played like {@link #playSoundEffect(String)}.
+     */
     public void playSoundEffect(String effectName, double volume) {
         if (!soundEnabled) return;
 
+        if (mixedEffects.containsKey(effectName)) {
+            playSoundEffect(effectName);
+            return;
+        }
         AudioClip clip = soundEffects.get(effectName);
-        if (clip != null) {
+        if (clip != null && clipLimiter.tryStart(EFFECT_IDS.get(effectName), System.nanoTime())) {
             double originalVolume = clip.getVolume();
             clip.setVolume(volume);
             clip.play();
@@ -139,15 +220,34 @@ public class SoundManager {
         }
     }
 
+    @Override
     public void stopAllSoundEffects() {
+        EffectMixer m = mixer;
+        if (m != null) {
+            m.stopAll();
+        }
         for (AudioClip clip : soundEffects.values()) {
             clip.stop();
         }
     }
 
+    @Override
     public void stopAllSounds() {
+        SoundEvent event = new SoundEvent();
+        event.begin();
         stopBackgroundMusic();
         stopAllSoundEffects();
+        commit(event, "stop", null, true);
+    }
+
+    private static void commit(SoundEvent event, String action, String sound, boolean loaded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.sound = sound;
+            event.loaded = loaded;
+            event.commit();
+        }
     }
 
     public void setSoundEnabled(boolean enabled) {
@@ -161,7 +261,7 @@ public class SoundManager {
         this.musicEnabled = enabled;
         if (!enabled) {
             stopBackgroundMusic();
-        } else if (currentBackgroundMusic != null) {
+        } else if (music.getCurrentTrack() != null) {
             resumeBackgroundMusic();
         }
     }
@@ -174,9 +274,7 @@ public class SoundManager {
             return;
         }
         this.musicVolume = volume;
-        if (currentBackgroundMusic != null) {
-            currentBackgroundMusic.setVolume(musicVolume);
-        }
+        music.setVolume(volume);
     }
 
     public void setEffectsVolume(double volume) {
@@ -184,6 +282,10 @@ public class SoundManager {
             return;
         }
         this.effectsVolume = volume;
+        EffectMixer m = mixer;
+        if (m != null) {
+            m.setVolume(volume);
+        }
         for (AudioClip clip : soundEffects.values()) {
             clip.setVolume(effectsVolume);
         }
@@ -208,7 +310,8 @@ public class SoundManager {
 
     public void cleanup() {
         stopAllSounds();
-        backgroundMusic.clear();
+        music.close();
         soundEffects.clear();
+        mixedEffects.clear();
     }
 }
@@ -0,0 +1,107 @@
+package org.example.asset;
+
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads assets ahead of time on a small fixed pool of {@link #THREADS} threads, and
+ * keeps the decoded {@link Image}s for the rest of the session, so a game that starts
+ * after the preload finds everything in memory. Anything asked for before it has been
+ * preloaded is loaded on the calling thread instead.
+ */
+public final class AssetLoader {
+    public static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /** One thing to load, named for progress reports. */
+    public record Job(String name, Callable<?> work) {
+    }
+
+    /** Told about every finished job, on the thread that ran it. */
+    public interface Progress {
+        void loaded(String name, int done, int total);
+    }
+
+    private static class Holder {
+        static final AssetLoader SHARED = new AssetLoader(Assets.shared());
+    }
+
+    private final Assets assets;
+    private final ExecutorService executor;
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+
+    public AssetLoader(Assets assets) {
+        this.assets = assets;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task, "arkanoid-asset-loader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static AssetLoader shared() {
+        return Holder.SHARED;
+    }
+
+    public Assets getAssets() {
+        return assets;
+    }
+
+    /**
+     * The decoded image, from the cache if it has been loaded before.
+     */
+    public Image image(String name) throws IOException {
+        Image cached = images.get(name);
+        if (cached != null) return cached;
+        Image image;
+        try (InputStream in = assets.open(name)) {
+            image = new Image(in);
+        }
+        if (image.isError()) {
+            throw new IOException("Could not decode " + name + ": " + image.getException());
+        }
+        Image raced = images.putIfAbsent(name, image);
+        return raced != null ? raced : image;
+    }
+
+    public Job imageJob(String name) {
+        return new Job(name, () -> image(name));
+    }
+
+    /** Copies a packed asset out to a file ahead of time; see {@link Assets#file}. */
+    public Job fileJob(String name) {
+        return new Job(name, () -> assets.file(name));
+    }
+
+    /**
+     * Runs the jobs in parallel. A job that fails is reported and counted as done,
+     * leaving that asset to be loaded when it is first used. The future completes
+     * once every job has finished.
+     */
+    public CompletableFuture<Void> load(List<Job> jobs, Progress progress) {
+        AtomicInteger done = new AtomicInteger();
+        CompletableFuture<?>[] running = new CompletableFuture<?>[jobs.size()];
+        for (int i = 0; i < running.length; i++) {
+            Job job = jobs.get(i);
+            running[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    job.work().call();
+                } catch (Exception e) {
+                    System.err.println("Could not preload " + job.name() + ": " + e.getMessage());
+                }
+                progress.loaded(job.name(), done.incrementAndGet(), running.length);
+            }, executor);
+        }
+        return CompletableFuture.allOf(running);
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.asset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An archive of asset files, written by {@link AssetPackBuilder} and read by mapping
+ * the whole file once. Entries are found by binary search over an index sorted by
+ * name, and served as read-only slices of the mapping, so nothing is copied or
+ * opened per asset. Names are paths relative to the asset root with {@code /}
+ * separators. The layout is little-endian:
+ * <pre>
+ *   0  int  magic 0x504B5241 ("ARKP" in file order)
+ *   4  int  format version
+ *   8  int  entry count
+ *  12  int  size of the name block
+ *  16  index, one 24-byte record per entry in unsigned UTF-8 order of the names:
+ *        long data offset, long data length, int name offset, int name length
+ *      name block, the UTF-8 names
+ *      data, each entry starting on an 8-byte boundary
+ * </pre>
+ */
+public final class AssetPack {
+    public static final int MAGIC = 0x504B5241;
+    public static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 24;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int namesStart;
+
+    private AssetPack(Path file, ByteBuffer buffer, int count, int namesStart) {
+        this.file = file;
+        this.buffer = buffer;
+        this.count = count;
+        this.namesStart = namesStart;
+    }
+
+    /**
+     * Writes the files to an archive under the given names, replacing it, with a
+     * temporary file and a rename so a reader never maps a half-written pack.
+     */
+    public static void write(Path file, Map<String, Path> files) throws IOException {
+        byte[][] names = new byte[files.size()][];
+        Path[] sources = new Path[files.size()];
+        int next = 0;
+        for (Map.Entry<String, Path> entry : files.entrySet()) {
+            names[next] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            sources[next++] = entry.getValue();
+        }
+        Integer[] order = new Integer[names.length];
+        Arrays.setAll(order, n -> n);
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(names[a], names[b]));
+
+        int nameBytes = 0;
+        for (byte[] name : names) nameBytes += name.length;
+        long dataStart = align(HEADER_BYTES + (long) RECORD_BYTES * names.length + nameBytes);
+        ByteBuffer head = ByteBuffer.allocate((int) dataStart).order(ByteOrder.LITTLE_ENDIAN);
+        head.putInt(MAGIC).putInt(VERSION).putInt(names.length).putInt(nameBytes);
+        long[] offsets = new long[order.length];
+        long dataOffset = dataStart;
+        int nameOffset = 0;
+        for (int i = 0; i < order.length; i++) {
+            long size = Files.size(sources[order[i]]);
+            offsets[i] = dataOffset;
+            head.putLong(dataOffset).putLong(size).putInt(nameOffset).putInt(names[order[i]].length);
+            dataOffset = align(dataOffset + size);
+            nameOffset += names[order[i]].length;
+        }
+        if (dataOffset > Integer.MAX_VALUE) {
+            throw new IOException(file + " would be " + dataOffset + " bytes, more than one mapping can hold");
+        }
+        for (int entry : order) head.put(names[entry]);
+        head.clear();
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (head.hasRemaining()) out.write(head);
+            for (int i = 0; i < order.length; i++) {
+                try (FileChannel in = FileChannel.open(sources[order[i]], StandardOpenOption.READ)) {
+                    long size = in.size();
+                    for (long done = 0; done < size; ) {
+                        done += in.transferTo(done, size - done, out.position(offsets[i] + done));
+                    }
+                }
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /**
+     * Maps an archive read-only and checks its header and that every entry lies inside it.
+     */
+    public static AssetPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not an asset pack (" + size + " bytes)");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(file + " is not a version " + VERSION + " asset pack");
+            }
+            int count = buffer.getInt(8);
+            int nameBytes = buffer.getInt(12);
+            long namesStart = HEADER_BYTES + (long) RECORD_BYTES * count;
+            if (count < 0 || nameBytes < 0 || namesStart + nameBytes > size) {
+                throw new IOException(file + " is corrupt: index doesn't fit");
+            }
+            for (int i = 0; i < count; i++) {
+                int record = HEADER_BYTES + RECORD_BYTES * i;
+                long offset = buffer.getLong(record);
+                long length = buffer.getLong(record + 8);
+                int nameOffset = buffer.getInt(record + 16);
+                int nameLength = buffer.getInt(record + 20);
+                // Compared against what is left rather than summed, so huge values can't wrap around
+                if (offset < 0 || length < 0 || offset > size || length > size - offset
+                        || nameOffset < 0 || nameLength < 0 || nameOffset > nameBytes
+                        || nameLength > nameBytes - nameOffset) {
+                    throw new IOException(file + " is corrupt: entry " + i + " lies outside the file");
+                }
+            }
+            return new AssetPack(file, buffer, count, (int) namesStart);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * The entry's bytes as a read-only slice of the mapping, or null if there is no such entry.
+     */
+    public ByteBuffer find(String name) {
+        int entry = search(name.getBytes(StandardCharsets.UTF_8));
+        return entry < 0 ? null : data(entry);
+    }
+
+    /**
+     * The names of the entries directly inside a directory, in order.
+     */
+    public List<String> list(String directory) {
+        String prefix = directory.isEmpty() || directory.endsWith("/") ? directory : directory + "/";
+        List<String> names = new ArrayList<>();
+        // Entries of a directory are contiguous in the index, starting where the prefix would be
+        int entry = search(prefix.getBytes(StandardCharsets.UTF_8));
+        for (int i = entry < 0 ? -entry - 1 : entry; i < count; i++) {
+            String name = name(i);
+            if (!name.startsWith(prefix)) break;
+            if (name.indexOf('/', prefix.length()) < 0) names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * The index of the entry, or -(insertion point) - 1 if it isn't there.
+     */
+    private int search(byte[] key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareName(mid, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int compareName(int entry, byte[] key) {
+        int record = HEADER_BYTES + RECORD_BYTES * entry;
+        int start = namesStart + buffer.getInt(record + 16);
+        int length = buffer.getInt(record + 20);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private String name(int entry) {
+        int record = HEADER_BYTES + RECORD_BYTES * entry;
+        byte[] bytes = new byte[buffer.getInt(record + 20)];
+        buffer.get(namesStart + buffer.getInt(record + 16), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer data(int entry) {
+        int record = HEADER_BYTES + RECORD_BYTES * entry;
+        return buffer.slice((int) buffer.getLong(record), (int) buffer.getLong(record + 8))
+                .asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.asset;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Packs asset directories into one {@link AssetPack}:
+ * {@code AssetPackBuilder <pack> <dir>|<prefix>=<dir>...}. Each file is named by its
+ * path under its directory, behind the prefix if one is given; a later directory
+ * replaces an earlier one's file of the same name. The build runs it in the
+ * process-classes phase, after the levels are compiled.
+ */
+public final class AssetPackBuilder {
+
+    private AssetPackBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: AssetPackBuilder <pack> <dir>|<prefix>=<dir>...");
+            System.exit(2);
+        }
+        Path pack = Path.of(args[0]);
+        Map<String, Path> files = new TreeMap<>();
+        for (int i = 1; i < args.length; i++) {
+            int equals = args[i].indexOf('=');
+            String prefix = equals < 0 ? "" : args[i].substring(0, equals) + "/";
+            Path root = Path.of(equals < 0 ? args[i] : args[i].substring(equals + 1));
+            List<Path> found;
+            try (Stream<Path> walk = Files.walk(root)) {
+                found = walk.filter(Files::isRegularFile)
+                        .filter(p -> !p.getFileName().toString().startsWith(".")
+                                && !p.getFileName().toString().endsWith(".tmp"))
+                        .toList();
+            }
+            for (Path file : found) {
+                files.put(prefix + root.relativize(file).toString().replace('\\', '/'), file);
+            }
+        }
+        AssetPack.write(pack, files);
+        System.out.println("Packed " + files.size() + " assets into " + pack + " (" + Files.size(pack) + " bytes)");
+    }
+}
@@ -0,0 +1,265 @@
+package org.example.asset;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The game's assets, by name: a path under {@code assets/} with {@code /} separators,
+ * such as {@code Heart.png} or {@code audio/sound_effects/victory.mp3}. Compiled
+ * levels are named {@code levels/<difficulty>/<n>.lvl}.
+ * <p>
+ * The build packs everything into {@code target/assets.pack}, which is mapped once, so
+ * an asset is a slice of that mapping and costs no file open. An asset that isn't in
+ * the pack, or every asset if there is no pack, is read from the loose files instead:
+ * {@code assets/}, then {@code target/} for the compiled levels.
+ * <p>
+ * All of these are found relative to the base directory, not the working directory:
+ * the {@code arkanoid.home} system property if set, else the nearest directory above
+ * the game's classes or jar that holds {@code assets/}, or failing that
+ * {@code assets.pack}.
+ */
+public final class Assets {
+    public static final String PACK_NAME = "assets.pack";
+    public static final String HOME_PROPERTY = "arkanoid.home";
+
+    private static class Holder {
+        static final Assets SHARED = open(findBase());
+    }
+
+    private final Path base;
+    private final AssetPack pack;
+    private final List<Path> looseRoots;
+    // Packed assets copied out for APIs that can only open a URL
+    private final Map<String, Path> extracted = new ConcurrentHashMap<>();
+    private Path extractDirectory;
+
+    private Assets(Path base, AssetPack pack) {
+        this.base = base;
+        this.pack = pack;
+        this.looseRoots = List.of(base.resolve("assets"), base.resolve("target"));
+    }
+
+    public static Assets shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * The assets under a base directory, packed if it (or its {@code target/}) holds a
+     * readable pack. A pack that can't be read is reported and the loose files used.
+     */
+    public static Assets open(Path base) {
+        for (Path candidate : List.of(base.resolve(PACK_NAME), base.resolve("target").resolve(PACK_NAME))) {
+            if (!Files.isRegularFile(candidate)) continue;
+            try {
+                return new Assets(base, AssetPack.open(candidate));
+            } catch (IOException e) {
+                System.err.println("Ignoring asset pack: " + e.getMessage());
+            }
+        }
+        return new Assets(base, null);
+    }
+
+    private static Path findBase() {
+        String home = System.getProperty(HOME_PROPERTY);
+        if (home != null) {
+            return Path.of(home).toAbsolutePath();
+        }
+        try {
+            Path code = Path.of(Assets.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            for (Path dir = code; dir != null; dir = dir.getParent()) {
+                if (Files.isDirectory(dir.resolve("assets"))) return dir;
+            }
+            for (Path dir = code; dir != null; dir = dir.getParent()) {
+                if (Files.isRegularFile(dir.resolve(PACK_NAME))) return dir;
+            }
+        } catch (URISyntaxException | SecurityException | NullPointerException e) {
+            // No usable code source; fall back to the working directory
+        }
+        return Path.of("").toAbsolutePath();
+    }
+
+    public Path getBase() {
+        return base;
+    }
+
+    /** The mapped pack, or null if the loose files are used. */
+    public AssetPack getPack() {
+        return pack;
+    }
+
+    /**
+     * Where the loose file for an asset lives in the source tree, whether or not it exists.
+     */
+    public Path sourcePath(String name) {
+        return looseRoots.get(0).resolve(name);
+    }
+
+    /**
+     * The asset's bytes, read-only: a slice of the pack, else the mapped loose file.
+     * Returns null if there is no such asset.
+     */
+    public ByteBuffer find(String name) throws IOException {
+        ByteBuffer packed = pack == null ? null : pack.find(name);
+        if (packed != null) return packed;
+        Path loose = looseFile(name);
+        if (loose == null) return null;
+        try (FileChannel channel = FileChannel.open(loose, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asReadOnlyBuffer();
+        }
+    }
+
+    public boolean contains(String name) {
+        return (pack != null && pack.find(name) != null) || looseFile(name) != null;
+    }
+
+    /**
+     * Reads the asset as a stream over its bytes, without copying them.
+     */
+    public InputStream open(String name) throws IOException {
+        ByteBuffer bytes = find(name);
+        if (bytes == null) {
+            throw new FileNotFoundException("No asset " + name + " under " + base);
+        }
+        return new BufferInputStream(bytes);
+    }
+
+    /**
+     * The asset as a file, for APIs that only open URLs, such as JavaFX media. A
+     * loose file is used where it is; a packed asset is copied out once, to a
+     * temporary file deleted on exit.
+     */
+    public Path file(String name) throws IOException {
+        Path done = extracted.get(name);
+        if (done != null) return done;
+        ByteBuffer packed = pack == null ? null : pack.find(name);
+        if (packed == null) {
+            Path loose = looseFile(name);
+            if (loose == null) {
+                throw new FileNotFoundException("No asset " + name + " under " + base);
+            }
+            return loose;
+        }
+        synchronized (this) {
+            done = extracted.get(name);
+            if (done != null) return done;
+            if (extractDirectory == null) {
+                extractDirectory = Files.createTempDirectory("arkanoid-assets");
+                extractDirectory.toFile().deleteOnExit();
+            }
+            Path file = extractDirectory.resolve(name.replace('/', '_'));
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (packed.hasRemaining()) out.write(packed);
+            }
+            file.toFile().deleteOnExit();
+            extracted.put(name, file);
+            return file;
+        }
+    }
+
+    /**
+     * The names of the assets directly inside a directory, in order.
+     */
+    public List<String> list(String directory) throws IOException {
+        TreeSet<String> names = new TreeSet<>();
+        if (pack != null) {
+            names.addAll(pack.list(directory));
+        }
+        String prefix = directory.isEmpty() || directory.endsWith("/") ? directory : directory + "/";
+        for (Path root : looseRoots) {
+            Path dir = root.resolve(directory);
+            if (!Files.isDirectory(dir)) continue;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, Files::isRegularFile)) {
+                for (Path file : files) {
+                    names.add(prefix + file.getFileName());
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * When the asset last changed: the pack's time for a packed asset, the file's for
+     * a loose one. Returns null if there is no such asset.
+     */
+    public FileTime lastModified(String name) throws IOException {
+        if (pack != null && pack.find(name) != null) {
+            return Files.getLastModifiedTime(pack.getFile());
+        }
+        Path loose = looseFile(name);
+        return loose == null ? null : Files.getLastModifiedTime(loose);
+    }
+
+    private Path looseFile(String name) {
+        for (Path root : looseRoots) {
+            Path file = root.resolve(name);
+            if (Files.isRegularFile(file)) return file;
+        }
+        return null;
+    }
+
+    /** Reads a buffer from its position without copying it; supports mark and reset. */
+    private static class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+            buffer.mark();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int limit) {
+            buffer.mark();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.reset();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Software mixer for short sound effects. Effects are decoded once into PCM and
+ * mixed by a dedicated thread into a {@link SourceDataLine} with a buffer of a few
+ * blocks, so a trigger is heard within about {@link #LATENCY_MILLIS} ms however
+ * many arrive at once:
+ * <ul>
+ *     <li>triggers of the same effect within {@link #COALESCE_MILLIS} ms of a voice's
+ *     start are merged into that voice, which gets louder instead of doubling up;</li>
+ *     <li>each effect has at most {@link #VOICES_PER_EFFECT} voices and the mixer
+ *     {@link #MAX_VOICES}; beyond that the oldest voice is restarted.</li>
+ * </ul>
+ * Triggers go through a single-producer ring, so triggering never blocks or allocates.
+ * Load every effect, then {@link #start()}; triggers are only accepted after that.
+ */
+public class EffectMixer {
+    public static final int SAMPLE_RATE = 44100;
+    public static final int MAX_VOICES = 16;
+    public static final int VOICES_PER_EFFECT = 3;
+    public static final int COALESCE_MILLIS = 15;
+
+    private static final int BLOCK_FRAMES = 256;
+    private static final int LINE_BLOCKS = 3;
+    public static final int LATENCY_MILLIS = (LINE_BLOCKS + 1) * BLOCK_FRAMES * 1000 / SAMPLE_RATE;
+
+    private static final int COALESCE_FRAMES = SAMPLE_RATE * COALESCE_MILLIS / 1000;
+    // Each merged trigger adds this much gain to the voice, up to MAX_GAIN
+    private static final float MERGE_GAIN = 0.35f;
+    private static final float MAX_GAIN = 2.0f;
+    private static final float KNEE = 0.75f;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+
+    private final SourceDataLine line;
+    // Interleaved stereo samples in -1..1, per effect id
+    private final List<float[]> effects = new ArrayList<>();
+
+    // Trigger ring, FX thread to mixer thread
+    private final int[] triggers = new int[256];
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private volatile boolean stopRequested;
+    private volatile float volume = 1.0f;
+    private volatile boolean running;
+
+    // Mixer-thread state
+    private final int[] voiceEffect = new int[MAX_VOICES];
+    private final int[] voicePosition = new int[MAX_VOICES];
+    private final long[] voiceStart = new long[MAX_VOICES];
+    private final float[] voiceGain = new float[MAX_VOICES];
+    private int voiceCount;
+    private long mixedFrames;
+    private final float[] mix = new float[BLOCK_FRAMES * 2];
+    private final byte[] out = new byte[BLOCK_FRAMES * 4];
+
+    private EffectMixer(SourceDataLine line) {
+        this.line = line;
+    }
+
+    /**
+     * Opens the default output line, or returns null if there is none.
+     */
+    public static EffectMixer open() {
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, LINE_BLOCKS * BLOCK_FRAMES * FORMAT.getFrameSize());
+            return new EffectMixer(line);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decodes an effect to PCM. Returns its id, or -1 if Java Sound can't decode the stream
+     * (it reads WAV, AIFF and AU; compressed formats need a decoder on the class path).
+     * The stream must support mark and reset; it is closed once read.
+     */
+    public int load(InputStream stream) {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(stream)) {
+            AudioFormat in = source.getFormat();
+            AudioFormat pcm = new AudioFormat(in.getSampleRate(), 16, in.getChannels(), true, false);
+            try (AudioInputStream decoded = AudioSystem.getAudioInputStream(pcm, source)) {
+                effects.add(toStereo(decoded.readAllBytes(), pcm));
+                return effects.size() - 1;
+            }
+        } catch (UnsupportedAudioFileException | IllegalArgumentException | IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Converts 16-bit little-endian PCM to interleaved stereo floats at {@link #SAMPLE_RATE},
+     * resampling linearly.
+     */
+    private static float[] toStereo(byte[] bytes, AudioFormat format) {
+        int channels = format.getChannels();
+        int sourceFrames = bytes.length / (2 * channels);
+        double step = format.getSampleRate() / SAMPLE_RATE;
+        int frames = (int) (sourceFrames / step);
+        float[] samples = new float[frames * 2];
+        for (int f = 0; f < frames; f++) {
+            double position = f * step;
+            int i = (int) position;
+            float t = (float) (position - i);
+            for (int c = 0; c < 2; c++) {
+                int channel = Math.min(c, channels - 1);
+                float a = sample(bytes, i, channel, channels, sourceFrames);
+                float b = sample(bytes, i + 1, channel, channels, sourceFrames);
+                samples[f * 2 + c] = a + (b - a) * t;
+            }
+        }
+        return samples;
+    }
+
+    private static float sample(byte[] bytes, int frame, int channel, int channels, int frames) {
+        if (frame >= frames) return 0;
+        int i = (frame * channels + channel) * 2;
+        return (short) ((bytes[i] & 0xFF) | bytes[i + 1] << 8) / 32768f;
+    }
+
+    public void start() {
+        running = true;
+        line.start();
+        Thread thread = new Thread(this::run, "arkanoid-effect-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Queues an effect to start on the next block. Call from one thread only.
+     * Returns false if the trigger queue is full.
+     */
+    public boolean trigger(int effect) {
+        long t = tail.get();
+        if (t - head.get() >= triggers.length) return false;
+        triggers[(int) t & (triggers.length - 1)] = effect;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    public void setVolume(double volume) {
+        this.volume = (float) volume;
+    }
+
+    /** Silences every voice at the next block. */
+    public void stopAll() {
+        stopRequested = true;
+    }
+
+    /**
+     * Stops the mixer thread after its current block, or closes the line if it never started.
+     */
+    public void close() {
+        if (running) {
+            running = false;
+        } else {
+            line.close();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (stopRequested) {
+                stopRequested = false;
+                voiceCount = 0;
+            }
+            long h = head.get();
+            long t = tail.get();
+            for (long n = h; n < t; n++) {
+                startVoice(triggers[(int) n & (triggers.length - 1)]);
+            }
+            head.lazySet(t);
+
+            mixBlock();
+            // Blocks once the line holds LINE_BLOCKS blocks, which paces the loop
+            line.write(out, 0, out.length);
+            mixedFrames += BLOCK_FRAMES;
+        }
+        line.drain();
+        line.close();
+    }
+
+    private void startVoice(int effect) {
+        int sameEffect = 0;
+        int oldestSame = -1;
+        for (int v = 0; v < voiceCount; v++) {
+            if (voiceEffect[v] != effect) continue;
+            if (mixedFrames - voiceStart[v] <= COALESCE_FRAMES) {
+                voiceGain[v] = Math.min(MAX_GAIN, voiceGain[v] + MERGE_GAIN);
+                return;
+            }
+            sameEffect++;
+            if (oldestSame < 0 || voiceStart[v] < voiceStart[oldestSame]) oldestSame = v;
+        }
+
+        int voice;
+        if (sameEffect >= VOICES_PER_EFFECT) {
+            voice = oldestSame;
+        } else if (voiceCount < MAX_VOICES) {
+            voice = voiceCount++;
+        } else {
+            voice = 0;
+            for (int v = 1; v < voiceCount; v++) {
+                if (voiceStart[v] < voiceStart[voice]) voice = v;
+            }
+        }
+        voiceEffect[voice] = effect;
+        voicePosition[voice] = 0;
+        voiceStart[voice] = mixedFrames;
+        voiceGain[voice] = 1.0f;
+    }
+
+    private void mixBlock() {
+        Arrays.fill(mix, 0);
+        for (int v = 0; v < voiceCount; v++) {
+            float[] samples = effects.get(voiceEffect[v]);
+            int position = voicePosition[v];
+            int count = Math.min(mix.length, samples.length - position);
+            float gain = voiceGain[v];
+            for (int i = 0; i < count; i++) {
+                mix[i] += samples[position + i] * gain;
+            }
+            voicePosition[v] = position + count;
+        }
+        // Drop finished voices by moving the last one into their slot
+        for (int v = voiceCount - 1; v >= 0; v--) {
+            if (voicePosition[v] >= effects.get(voiceEffect[v]).length) {
+                voiceCount--;
+                voiceEffect[v] = voiceEffect[voiceCount];
+                voicePosition[v] = voicePosition[voiceCount];
+                voiceStart[v] = voiceStart[voiceCount];
+                voiceGain[v] = voiceGain[voiceCount];
+            }
+        }
+
+        float master = volume;
+        for (int i = 0; i < mix.length; i++) {
+            // Soft clip above the knee, so stacked voices saturate instead of wrapping
+            float x = mix[i] * master;
+            float magnitude = Math.abs(x);
+            if (magnitude > KNEE) {
+                x = Math.signum(x) * (KNEE + (1 - KNEE) * (float) Math.tanh((magnitude - KNEE) / (1 - KNEE)));
+            }
+            int s = (int) (x * 32767);
+            out[i * 2] = (byte) s;
+            out[i * 2 + 1] = (byte) (s >> 8);
+        }
+    }
+}
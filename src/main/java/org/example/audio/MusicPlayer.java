@@ -0,0 +1,223 @@
+package org.example.audio;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+import org.example.asset.Assets;
+import org.example.perf.StartupTimer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Background music, streamed from disk and crossfaded between tracks.
+ * Tracks are the playable assets of one folder, named by file name without extension.
+ * At most two {@link MediaPlayer}s exist at a time, the current track and the one
+ * fading out, and a track is disposed as soon as it is silent, so memory stays
+ * the same however many tracks the folder holds.
+ * <p>
+ * Players are opened on the given executor and used on the FX thread. A track
+ * requested before it has opened fades in once it is ready, unless something else
+ * was requested, paused or stopped in the meantime.
+ */
+public class MusicPlayer {
+    public static final Duration CROSSFADE = Duration.millis(1500);
+    public static final Duration PAUSE_FADE = Duration.millis(300);
+    // What JavaFX Media can play; FLAC and OGG, for instance, it can't
+    private static final Set<String> PLAYABLE = Set.of("mp3", "m4a", "aac", "wav", "aif", "aiff");
+
+    /** One track on its way in, playing, or on its way out. */
+    private static class Deck {
+        final String name;
+        MediaPlayer player;
+        Timeline fade;
+        boolean paused;
+
+        Deck(String name) {
+            this.name = name;
+        }
+    }
+
+    // Track name to asset name
+    private final Map<String, String> tracks = new TreeMap<>();
+    private final Assets assets;
+    private final Executor opener;
+    private Deck current;
+    private Deck outgoing;
+    private double volume = 1.0;
+
+    public MusicPlayer(Assets assets, String folder, Executor opener) {
+        this.assets = assets;
+        this.opener = opener;
+        List<String> files;
+        try {
+            files = assets.list(folder);
+        } catch (IOException e) {
+            System.err.println("Could not list music: " + e.getMessage());
+            return;
+        }
+        for (String asset : files) {
+            String name = asset.substring(asset.lastIndexOf('/') + 1);
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) continue;
+            if (isPlayable(name)) {
+                tracks.put(name.substring(0, dot), asset);
+            } else {
+                System.err.println("Skipping music " + name + ": " + name.substring(dot) + " can't be played by JavaFX");
+            }
+        }
+    }
+
+    /** True if JavaFX can play a file with this name's extension. */
+    public static boolean isPlayable(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && PLAYABLE.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    public Set<String> getTracks() {
+        return tracks.keySet();
+    }
+
+    /** The track playing or about to play, or null. */
+    public String getCurrentTrack() {
+        return current == null ? null : current.name;
+    }
+
+    public MediaPlayer getCurrentPlayer() {
+        return current == null ? null : current.player;
+    }
+
+    /**
+     * Crossfades to the track, from the start. Does nothing if it is already playing.
+     * Returns false if there is no such track.
+     */
+    public boolean play(String name) {
+        String asset = tracks.get(name);
+        if (asset == null) return false;
+        if (current != null && current.name.equals(name) && !current.paused) return true;
+
+        retire(current);
+        Deck deck = new Deck(name);
+        current = deck;
+        opener.execute(() -> {
+            MediaPlayer player = null;
+            try {
+                // Media needs a URL, so a packed track is copied out to a file first
+                player = new MediaPlayer(new Media(assets.file(asset).toUri().toString()));
+            } catch (Exception e) {
+                System.err.println("Could not load background music: " + asset);
+            }
+            MediaPlayer opened = player;
+            Platform.runLater(() -> opened(deck, opened));
+        });
+        return true;
+    }
+
+    private void opened(Deck deck, MediaPlayer player) {
+        if (player == null) return;
+        deck.player = player;
+        if (deck != current) {
+            // Superseded while it was opening
+            dispose(deck);
+            return;
+        }
+        // Tracks are opened again on every crossfade; only the first is part of startup
+        StartupTimer.markFirst("first music opened");
+        player.setCycleCount(MediaPlayer.INDEFINITE);
+        player.setVolume(0);
+        player.setOnError(() -> {
+            System.err.println("Music " + deck.name + " failed: " + player.getError());
+            dispose(deck);
+        });
+        if (!deck.paused) {
+            player.play();
+            fade(deck, volume, CROSSFADE, null);
+        }
+    }
+
+    /**
+     * Fades the current track out and pauses it, keeping its position.
+     */
+    public void pause() {
+        Deck deck = current;
+        if (deck == null || deck.paused) return;
+        deck.paused = true;
+        if (deck.player != null) {
+            fade(deck, 0, PAUSE_FADE, () -> deck.player.pause());
+        }
+    }
+
+    public void resume() {
+        Deck deck = current;
+        if (deck == null || !deck.paused) return;
+        deck.paused = false;
+        if (deck.player != null) {
+            deck.player.play();
+            fade(deck, volume, PAUSE_FADE, null);
+        }
+    }
+
+    /**
+     * Fades the current track out and releases it.
+     */
+    public void stop() {
+        retire(current);
+        current = null;
+    }
+
+    public void setVolume(double volume) {
+        this.volume = volume;
+        if (current != null && current.player != null && !current.paused) {
+            fade(current, volume, PAUSE_FADE, null);
+        }
+    }
+
+    /**
+     * Releases every player at once, without fading.
+     */
+    public void close() {
+        if (outgoing != null) dispose(outgoing);
+        if (current != null) dispose(current);
+        outgoing = null;
+        current = null;
+    }
+
+    private void retire(Deck deck) {
+        if (deck == null) return;
+        // Never more than two players: one still fading out from before is cut short
+        if (outgoing != null) dispose(outgoing);
+        outgoing = deck;
+        if (deck.player == null) return;  // disposed when it finishes opening
+        fade(deck, 0, deck.paused ? Duration.ONE : CROSSFADE, () -> {
+            dispose(deck);
+            if (outgoing == deck) outgoing = null;
+        });
+    }
+
+    private static void fade(Deck deck, double target, Duration duration, Runnable then) {
+        if (deck.fade != null) deck.fade.stop();
+        Timeline fade = new Timeline(new KeyFrame(duration, new KeyValue(deck.player.volumeProperty(), target)));
+        if (then != null) {
+            fade.setOnFinished(e -> then.run());
+        }
+        deck.fade = fade;
+        fade.play();
+    }
+
+    private static void dispose(Deck deck) {
+        if (deck.fade != null) deck.fade.stop();
+        if (deck.player != null) {
+            deck.player.stop();
+            deck.player.dispose();
+        }
+    }
+}
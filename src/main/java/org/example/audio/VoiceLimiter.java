@@ -0,0 +1,45 @@
+package org.example.audio;
+
+import java.util.Arrays;
+
+/**
+ * Polyphony cap and coalescing for effects played through JavaFX {@code AudioClip}s,
+ * which can't be mixed or made louder once started. The same rules as
+ * {@link EffectMixer}, approximated from start times: a trigger within
+ * {@link EffectMixer#COALESCE_MILLIS} ms of the effect's last start is merged into it
+ * (dropped), and at most {@link EffectMixer#VOICES_PER_EFFECT} starts of one effect
+ * may fall within {@link #VOICE_MILLIS} ms, the assumed length of a voice.
+ * Use from one thread.
+ */
+public class VoiceLimiter {
+    public static final int VOICE_MILLIS = 250;
+
+    private static final long COALESCE_NANOS = EffectMixer.COALESCE_MILLIS * 1_000_000L;
+    private static final long VOICE_NANOS = VOICE_MILLIS * 1_000_000L;
+
+    // Per effect, the last VOICES_PER_EFFECT start times as a ring
+    private final long[][] starts;
+    private final int[] next;
+
+    public VoiceLimiter(int effects) {
+        starts = new long[effects][EffectMixer.VOICES_PER_EFFECT];
+        next = new int[effects];
+        for (long[] effect : starts) {
+            Arrays.fill(effect, Long.MIN_VALUE / 2);
+        }
+    }
+
+    /**
+     * Whether the effect may start a voice now; if so, records the start.
+     */
+    public boolean tryStart(int effect, long nowNanos) {
+        long[] recent = starts[effect];
+        int newest = (next[effect] + recent.length - 1) % recent.length;
+        if (nowNanos - recent[newest] < COALESCE_NANOS) return false;
+        // The slot about to be overwritten holds the oldest of the recent starts
+        if (nowNanos - recent[next[effect]] < VOICE_NANOS) return false;
+        recent[next[effect]] = nowNanos;
+        next[effect] = (next[effect] + 1) % recent.length;
+        return true;
+    }
+}
@@ -3,6 +3,7 @@ package org.example.ball;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.example.GameObject;
+import org.example.render.Sprite;
 
 public class Ball extends GameObject {
     private double dx, dy;
@@ -88,6 +89,10 @@ public class Ball extends GameObject {
         return breakerMode;
     }
 
+    public Sprite getSprite() {
+        return breakerMode ? Sprite.BALL_BREAKER : Sprite.BALL;
+    }
+
     /**
      * Draws the ball on the canvas.
      */
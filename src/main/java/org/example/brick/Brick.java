@@ -3,6 +3,9 @@ package org.example.brick;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.example.GameObject;
+import org.example.render.Sprite;
+
+import java.util.function.Consumer;
 
 public abstract class Brick extends GameObject {
     protected boolean destroyed = false;
@@ -11,7 +14,7 @@ public abstract class Brick extends GameObject {
     protected int hitToBreak;
     protected int currentHits;
     protected Color brickColor;
-
+    private Consumer<Brick> changeListener;
     
     public Brick(double x, double y, double width, double height, 
                  String brickType, int points, int hitToBreak) {
@@ -28,6 +31,7 @@ public abstract class Brick extends GameObject {
         currentHits++;
         if (currentHits >= hitToBreak) {
             destroyed = true;
+            notifyChanged();
             return true;
         }
         return false;
@@ -38,7 +42,9 @@ public abstract class Brick extends GameObject {
     }
 
     public void destroy() {
+        if (destroyed) return;
         destroyed = true;
+        notifyChanged();
     }
 
     public String getBrickType() {
@@ -61,5 +67,32 @@ public abstract class Brick extends GameObject {
         return brickColor;
     }
 
+    public Sprite getSprite() {
+        return Sprite.forBrickColor(brickColor);
+    }
+
+    /**
+     * Changes the brick colour and tells the listener if it actually changed.
+     */
+    protected void setBrickColor(Color color) {
+        if (color.equals(brickColor)) return;
+        brickColor = color;
+        notifyChanged();
+    }
+
+    /**
+     * Registers a callback fired whenever this brick looks different
+     * (destroyed or recoloured), so cached layers can redraw just this brick.
+     */
+    public void setChangeListener(Consumer<Brick> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    protected void notifyChanged() {
+        if (changeListener != null) {
+            changeListener.accept(this);
+        }
+    }
+
     public abstract void draw(GraphicsContext gc);
 }
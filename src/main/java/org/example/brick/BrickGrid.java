@@ -0,0 +1,92 @@
+package org.example.brick;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The bricks of a level laid out on a {@link GridLayout}.
+ * Empty cells hold null. {@link #getBricks()} lists the non-empty cells in row-major order.
+ * Cells can be replaced after construction with {@link #set}, which rebuilds the
+ * list once on the next {@link #getBricks()} however many cells changed.
+ */
+public class BrickGrid {
+    private final GridLayout layout;
+    private final Brick[] cells;
+    private final List<Brick> bricks = new ArrayList<>();
+    // Built once: getBricks() is called several times a tick and mustn't allocate
+    private final List<Brick> bricksView = Collections.unmodifiableList(bricks);
+    private boolean bricksStale;
+
+    public BrickGrid(GridLayout layout) {
+        this.layout = layout;
+        this.cells = new Brick[layout.getCellCount()];
+    }
+
+    /**
+     * An empty grid, used when a level has no bricks at all.
+     */
+    public static BrickGrid empty() {
+        return new BrickGrid(new GridLayout(0, 0, 0, 0, 0, 0, 0));
+    }
+
+    /**
+     * Places a brick during level construction. Cells must be filled in row-major order.
+     */
+    public void put(int row, int col, Brick brick) {
+        cells[row * layout.getCols() + col] = brick;
+        bricks.add(brick);
+    }
+
+    public GridLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * How far the grid has scrolled down from its layout. The layout itself never
+     * moves, so renderers can keep a cached image of it and just draw that this
+     * far down; the bricks' own positions include the scroll. Always 0 for a plain grid.
+     */
+    public double getScrollY() {
+        return 0;
+    }
+
+    /**
+     * Moves the grid on by one tick. Returns true if bricks were added, removed or
+     * moved between cells, so anything kept per cell must be rebuilt. A plain grid
+     * never moves.
+     */
+    public boolean advance() {
+        return false;
+    }
+
+    /**
+     * True if the level has rows still to come beyond the ones in this grid.
+     */
+    public boolean hasMoreRows() {
+        return false;
+    }
+
+    /**
+     * Replaces the brick in a cell, or empties it if {@code brick} is null.
+     */
+    public void set(int index, Brick brick) {
+        cells[index] = brick;
+        bricksStale = true;
+    }
+
+    public Brick getCell(int index) {
+        return cells[index];
+    }
+
+    public List<Brick> getBricks() {
+        if (bricksStale) {
+            bricksStale = false;
+            bricks.clear();
+            for (Brick brick : cells) {
+                if (brick != null) bricks.add(brick);
+            }
+        }
+        return bricksView;
+    }
+}
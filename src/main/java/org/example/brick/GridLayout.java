@@ -0,0 +1,58 @@
+package org.example.brick;
+
+/**
+ * Immutable geometry of a brick grid: how many cells there are and where each one sits.
+ * Cells are indexed row-major, index = row * cols + col.
+ */
+public final class GridLayout {
+    private final int rows;
+    private final int cols;
+    private final double startX;
+    private final double startY;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final double spacing;
+
+    public GridLayout(int rows, int cols, double startX, double startY,
+                      double cellWidth, double cellHeight, double spacing) {
+        this.rows = rows;
+        this.cols = cols;
+        this.startX = startX;
+        this.startY = startY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.spacing = spacing;
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getCellCount() { return rows * cols; }
+    public double getCellWidth() { return cellWidth; }
+    public double getCellHeight() { return cellHeight; }
+    public double getSpacing() { return spacing; }
+
+    /**
+     * The same grid moved down by {@code dy} (up if negative).
+     */
+    public GridLayout offsetY(double dy) {
+        return new GridLayout(rows, cols, startX, startY + dy, cellWidth, cellHeight, spacing);
+    }
+
+    public double getStartY() { return startY; }
+
+    public double cellX(int col) {
+        return startX + col * (cellWidth + spacing);
+    }
+
+    public double cellY(int row) {
+        return startY + row * (cellHeight + spacing);
+    }
+
+    public double cellXOf(int index) {
+        return cellX(index % cols);
+    }
+
+    public double cellYOf(int index) {
+        return cellY(index / cols);
+    }
+}
@@ -25,9 +25,9 @@ public class StrongBrick extends Brick {
 
         int remainingHits = hitToBreak - currentHits;
         if (remainingHits == 2) {
-            this.brickColor = Color.ORANGE;
+            setBrickColor(Color.ORANGE);
         } else if (remainingHits == 1) {
-            this.brickColor = Color.YELLOW;
+            setBrickColor(Color.YELLOW);
         }
 
         return isDestroyed;
@@ -0,0 +1,62 @@
+package org.example.core;
+
+import org.example.AudioSink;
+
+/**
+ * Audio requests from the simulation thread, queued and replayed on the FX thread.
+ * Sound and music names are constants, so queueing allocates nothing.
+ */
+public class AudioQueue implements AudioSink {
+    private static final int PLAY_EFFECT = 0;
+    private static final int PLAY_MUSIC = 1;
+    private static final int PAUSE_MUSIC = 2;
+    private static final int STOP_EFFECTS = 3;
+    private static final int STOP_ALL = 4;
+
+    private final SpscRing ring = new SpscRing(256);
+    private final SpscRing.Handler dispatcher;
+
+    public AudioQueue(AudioSink target) {
+        dispatcher = (code, name) -> {
+            switch (code) {
+                case PLAY_EFFECT -> target.playSoundEffect((String) name);
+                case PLAY_MUSIC -> target.playBackgroundMusic((String) name);
+                case PAUSE_MUSIC -> target.pauseBackgroundMusic();
+                case STOP_EFFECTS -> target.stopAllSoundEffects();
+                case STOP_ALL -> target.stopAllSounds();
+            }
+        };
+    }
+
+    /**
+     * Plays everything queued so far. Call on the thread that owns the target sink.
+     */
+    public void dispatch() {
+        ring.drain(dispatcher);
+    }
+
+    @Override
+    public void playSoundEffect(String effectName) {
+        ring.offer(PLAY_EFFECT, effectName);
+    }
+
+    @Override
+    public void playBackgroundMusic(String musicName) {
+        ring.offer(PLAY_MUSIC, musicName);
+    }
+
+    @Override
+    public void pauseBackgroundMusic() {
+        ring.offer(PAUSE_MUSIC, null);
+    }
+
+    @Override
+    public void stopAllSoundEffects() {
+        ring.offer(STOP_EFFECTS, null);
+    }
+
+    @Override
+    public void stopAllSounds() {
+        ring.offer(STOP_ALL, null);
+    }
+}
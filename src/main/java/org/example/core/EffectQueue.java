@@ -0,0 +1,79 @@
+package org.example.core;
+
+import org.example.effects.EffectSink;
+import org.example.effects.ParticleSystem;
+import org.example.render.Sprite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Effect events from the simulation thread, queued for the FX thread.
+ * A single-producer/single-consumer ring of fixed-size primitive records, so
+ * reporting an effect never blocks or allocates. Events that don't fit are dropped.
+ */
+public class EffectQueue implements EffectSink {
+    private static final int BRICK_DESTROYED = 0;
+    private static final int POWERUP_COLLECTED = 1;
+
+    private final int mask;
+    private final int[] types;
+    private final int[] sprites;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] widths;
+    private final double[] heights;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    public EffectQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mask = size - 1;
+        types = new int[size];
+        sprites = new int[size];
+        xs = new double[size];
+        ys = new double[size];
+        widths = new double[size];
+        heights = new double[size];
+    }
+
+    @Override
+    public void brickDestroyed(double x, double y, double width, double height, Sprite sprite) {
+        offer(BRICK_DESTROYED, x, y, width, height, sprite);
+    }
+
+    @Override
+    public void powerUpCollected(double x, double y, double size, Sprite sprite) {
+        offer(POWERUP_COLLECTED, x, y, size, size, sprite);
+    }
+
+    private void offer(int type, double x, double y, double w, double h, Sprite sprite) {
+        long t = tail.get();
+        if (t - head.get() > mask) return;
+        int i = (int) t & mask;
+        types[i] = type;
+        sprites[i] = sprite.ordinal();
+        xs[i] = x;
+        ys[i] = y;
+        widths[i] = w;
+        heights[i] = h;
+        tail.lazySet(t + 1);
+    }
+
+    /**
+     * Turns every queued event into particles. Call from the consumer thread only.
+     */
+    public void drainTo(ParticleSystem particles) {
+        long h = head.get();
+        long t = tail.get();
+        for (long n = h; n < t; n++) {
+            int i = (int) n & mask;
+            Sprite sprite = Sprite.byOrdinal(sprites[i]);
+            if (types[i] == BRICK_DESTROYED) {
+                particles.emitBrickDebris(xs[i], ys[i], widths[i], heights[i], sprite);
+            } else {
+                particles.emitPowerUpRing(xs[i], ys[i], widths[i], sprite);
+            }
+        }
+        head.lazySet(t);
+    }
+}
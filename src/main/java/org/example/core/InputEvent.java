@@ -0,0 +1,24 @@
+package org.example.core;
+
+/**
+ * Player input forwarded from the FX thread to the simulation thread, plus level
+ * edits made while the game runs.
+ */
+public enum InputEvent {
+    LEFT_PRESSED,
+    LEFT_RELEASED,
+    RIGHT_PRESSED,
+    RIGHT_RELEASED,
+    /** Any key on the level cleared screen. */
+    CONTINUE,
+    PAUSE,
+    RESUME,
+    /** A level file changed on disk; the argument is a {@link org.example.level.LevelEdit}. */
+    EDIT_LEVEL;
+
+    private static final InputEvent[] VALUES = values();
+
+    public static InputEvent byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
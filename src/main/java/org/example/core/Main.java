@@ -1,9 +1,22 @@
 package org.example.core;
 
 import javafx.application.Application;
+import javafx.scene.Scene;
 import javafx.stage.Stage;
-import org.example.Game;
+import org.example.Difficulty;
+import org.example.GameSettings;
+import org.example.Level;
+import org.example.LoadingScreen;
 import org.example.MainMenu;
+import org.example.level.LevelWatcher;
+import org.example.perf.PerfCounters;
+import org.example.perf.StartupTimer;
+import org.example.render.RendererType;
+import org.example.telemetry.TelemetryWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Main entry point of the game.
@@ -13,11 +26,115 @@ public class Main extends Application {
 
     /**
      * Called when JavaFX starts.
-     * Initializes and starts the Game on the provided Stage.
+     * Applies launch options, then shows the loading screen and, once the assets are
+     * loaded, the main menu on the provided Stage.
+     * Supported options: --renderer=canvas|software, --perf-counters=off|FILE, --telemetry=on|off|DIRECTORY,
+     * --endless-seed=N
      */
     @Override
     public void start(Stage stage) {
-        MainMenu.show(stage);
+        StartupTimer.mark("JavaFX started");
+        GameSettings.setRendererType(RendererType.parse(getParameters().getNamed().get("renderer")));
+        GameSettings.setPerfCounters(openPerfCounters(getParameters().getNamed().get("perf-counters")));
+        GameSettings.setTelemetry(startTelemetry(getParameters().getNamed().get("telemetry")));
+        GameSettings.setEndlessSeed(parseSeed(getParameters().getNamed().get("endless-seed")));
+        GameSettings.setLevelWatcher(watchLevels());
+        LoadingScreen.show(stage, () -> MainMenu.show(stage));
+        reportFirstFrame(stage.getScene());
+    }
+
+    /**
+     * The first pulse after the loading screen is shown lays out and renders its first frame.
+     */
+    private static void reportFirstFrame(Scene scene) {
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                StartupTimer.mark("first frame");
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+    }
+
+    /**
+     * Finishes the telemetry file and removes the counter file so readers don't
+     * mistake it for a running game.
+     */
+    @Override
+    public void stop() {
+        GameSettings.getTelemetry().close();
+        if (GameSettings.getLevelWatcher() != null) {
+            GameSettings.getLevelWatcher().close();
+        }
+        try {
+            GameSettings.getPerfCounters().close();
+        } catch (IOException e) {
+            System.err.println("Could not remove perf counter file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Level files are watched for the whole session when run from a source tree, the only
+     * place they can be edited. Saved edits replace the kept cells; a running game adds its
+     * own listener to play them.
+     */
+    private static LevelWatcher watchLevels() {
+        Path directory = Level.sourceDirectory();
+        if (!Files.isDirectory(directory)) return null;
+        try {
+            LevelWatcher watcher = LevelWatcher.start(directory);
+            watcher.addListener((file, cells) -> {
+                for (Difficulty difficulty : Difficulty.values()) {
+                    int level = Level.levelNumberOf(difficulty, file);
+                    if (level > 0) Level.edited(difficulty, level, cells);
+                }
+            });
+            return watcher;
+        } catch (IOException e) {
+            System.err.println("Level hot reload disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Endless games get a new seed each game unless one is given.
+     */
+    private static Long parseSeed(String option) {
+        if (option == null) return null;
+        try {
+            return Long.parseLong(option);
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring --endless-seed=" + option + ": not a number");
+            return null;
+        }
+    }
+
+    /**
+     * Telemetry is off unless asked for, since it writes to the player's home directory:
+     * {@code on} uses ~/.arkanoid/telemetry, anything else is a directory. 1 MB of records
+     * per file, newest 100 files kept.
+     */
+    private static TelemetryWriter startTelemetry(String option) {
+        if (option == null || "off".equals(option)) return TelemetryWriter.DISABLED;
+        Path directory = "on".equals(option) ? TelemetryWriter.defaultDirectory() : Path.of(option);
+        TelemetryWriter writer = new TelemetryWriter(directory, 1 << 20, 100);
+        writer.start();
+        return writer;
+    }
+
+    /**
+     * Counters are on by default, in a per-pid file under the temp directory.
+     */
+    private static PerfCounters openPerfCounters(String option) {
+        if ("off".equals(option)) return PerfCounters.DISABLED;
+        Path file = option != null ? Path.of(option) : PerfCounters.defaultFile(ProcessHandle.current().pid());
+        try {
+            return PerfCounters.create(file);
+        } catch (IOException e) {
+            System.err.println("Perf counters disabled, could not create " + file + ": " + e.getMessage());
+            return PerfCounters.DISABLED;
+        }
     }
 
     /**
@@ -0,0 +1,286 @@
+package org.example.core;
+
+import org.example.FrameSnapshot;
+import org.example.GameState;
+import org.example.GameWorld;
+import org.example.jfr.TickEvent;
+import org.example.level.LevelEdit;
+import org.example.perf.FrameProfiler;
+import org.example.perf.GcMonitor;
+import org.example.perf.PerfCounter;
+import org.example.perf.PerfCounters;
+import org.example.perf.Phase;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs a {@link GameWorld} on its own thread at a fixed 60 Hz, independent of rendering.
+ * Input arrives through a single-producer/single-consumer ring filled by the FX thread,
+ * and each tick's state is published through a triple buffer of preallocated
+ * {@link FrameSnapshot}s, so neither thread ever blocks on the other.
+ * While paused or outside {@link GameState#PLAYING} nothing can change until
+ * input arrives, so the thread parks until {@link #offerInput} wakes it.
+ */
+public class SimulationLoop implements Runnable {
+    public static final long TICK_NANOS = 1_000_000_000L / 60;
+    // If we fall further behind than this we drop the backlog instead of fast-forwarding
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    // GC totals are polled once a second rather than every tick
+    private static final int GC_SAMPLE_TICKS = 60;
+
+    private final GameWorld world;
+    private final TripleBuffer<FrameSnapshot> frames = new TripleBuffer<>(FrameSnapshot::new);
+    // Bits of heldInput
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+    private static final int PAUSED = 4;
+
+    // Discrete events, applied in order; only CONTINUE and EDIT_LEVEL go through here
+    private final SpscRing input = new SpscRing(64);
+    private final SpscRing.Handler inputHandler = (code, argument) -> apply(InputEvent.byOrdinal(code), argument);
+
+    // Held keys and pause, written only by the FX thread and read every tick. Being state
+    // rather than queued events, they can't be dropped however far the simulation falls behind.
+    private volatile int heldInput;
+    private volatile boolean running;
+    private volatile Thread thread;
+    private Runnable onResume = () -> {};
+    private Consumer<RuntimeException> onFailure = e -> {};
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+    private PerfCounters counters = PerfCounters.DISABLED;
+    private GcMonitor gcMonitor;
+
+    // Simulation-thread state
+    private boolean leftPressed, rightPressed;
+    private boolean paused;
+    private boolean edited;
+
+    public SimulationLoop(GameWorld world) {
+        this.world = world;
+        world.writeSnapshot(frames.back());
+        frames.publish();
+    }
+
+    /**
+     * Called on the simulation thread whenever it has published a frame the FX thread
+     * isn't already rendering: on leaving the idle state, or after a level edit while
+     * idle. Set before {@link #start()}.
+     */
+    public void setOnResume(Runnable onResume) {
+        this.onResume = onResume;
+    }
+
+    /**
+     * Called on the simulation thread if a tick throws, for instance because a level
+     * can't be loaded. The thread has stopped by then. Set before {@link #start()}.
+     */
+    public void setOnFailure(Consumer<RuntimeException> onFailure) {
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Times input handling and, through the world, the rest of each tick. Set before {@link #start()}.
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+        world.setProfiler(profiler);
+    }
+
+    /**
+     * Publishes per-tick counters to an external reader. Set before {@link #start()}.
+     */
+    public void setCounters(PerfCounters counters) {
+        this.counters = counters;
+        gcMonitor = counters.isEnabled() ? new GcMonitor() : null;
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this, "arkanoid-simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the simulation thread and waits briefly for it to finish its tick.
+     */
+    public void stop() {
+        running = false;
+        if (thread == null) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * False once the loop has been stopped or a tick has failed.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Called from the FX thread. Returns false if the input queue was full.
+     */
+    public boolean offerInput(InputEvent event) {
+        return offerInput(event, null);
+    }
+
+    /**
+     * Called from the FX thread, for events that carry an argument. Paddle keys and
+     * pause only update the held state the next tick reads, and always succeed. Other
+     * events are queued and return false if the queue was full; CONTINUE can simply
+     * be pressed again, and an EDIT_LEVEL should be offered again later.
+     */
+    public boolean offerInput(InputEvent event, Object argument) {
+        boolean offered = switch (event) {
+            case LEFT_PRESSED -> hold(LEFT, true);
+            case LEFT_RELEASED -> hold(LEFT, false);
+            case RIGHT_PRESSED -> hold(RIGHT, true);
+            case RIGHT_RELEASED -> hold(RIGHT, false);
+            case PAUSE -> hold(PAUSED, true);
+            case RESUME -> hold(PAUSED, false);
+            default -> input.offer(event.ordinal(), argument);
+        };
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+        return offered;
+    }
+
+    private boolean hold(int bit, boolean on) {
+        // Only the FX thread writes, so this read-modify-write can't race
+        heldInput = on ? heldInput | bit : heldInput & ~bit;
+        return true;
+    }
+
+    /**
+     * Called from the FX thread: the newest published frame.
+     */
+    public FrameSnapshot latestFrame() {
+        return frames.acquire();
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime();
+        boolean wasIdle = false;
+        while (running) {
+            try {
+                long inputStart = profiler.now();
+                int held = heldInput;
+                leftPressed = (held & LEFT) != 0;
+                rightPressed = (held & RIGHT) != 0;
+                paused = (held & PAUSED) != 0;
+                input.drain(inputHandler);
+                profiler.lap(Phase.INPUT, inputStart);
+                if (!paused) {
+                    tick();
+                    world.writeSnapshot(frames.back());
+                    frames.publish();
+                } else if (edited) {
+                    world.writeSnapshot(frames.back());
+                    frames.publish();
+                }
+                if (edited) {
+                    edited = false;
+                    if (isIdle()) onResume.run();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Simulation stopped: " + e);
+                e.printStackTrace();
+                running = false;
+                onFailure.accept(e);
+                return;
+            }
+
+            if (isIdle()) {
+                // Sleep until input arrives (or a spurious wakeup, which just re-checks)
+                wasIdle = true;
+                LockSupport.park(this);
+                nextTick = System.nanoTime();
+                continue;
+            }
+            if (wasIdle) {
+                wasIdle = false;
+                onResume.run();
+            }
+
+            nextTick += TICK_NANOS;
+            long now = System.nanoTime();
+            if (now - nextTick > MAX_CATCH_UP_TICKS * TICK_NANOS) {
+                counters.add(PerfCounter.DROPPED_TICKS, (now - nextTick) / TICK_NANOS);
+                nextTick = now;
+            }
+            long wait;
+            while (running && (wait = nextTick - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    private void tick() {
+        TickEvent event = new TickEvent();
+        event.begin();
+        long start = System.nanoTime();
+        world.tick(leftPressed, rightPressed);
+        long tickNanos = System.nanoTime() - start;
+        event.end();
+        if (counters.isEnabled()) {
+            publishCounters(tickNanos);
+        }
+        if (event.shouldCommit()) {
+            event.tick = world.getTickCount();
+            event.level = world.getCurrentLevel();
+            event.ballCount = world.getBalls().size();
+            event.brickCount = world.countBricksLeft();
+            event.powerUpCount = world.getPowerUps().size();
+            event.score = world.getScoreManager().getScore();
+            event.commit();
+        }
+    }
+
+    private void publishCounters(long tickNanos) {
+        counters.beginUpdate();
+        counters.add(PerfCounter.TICKS, 1);
+        counters.set(PerfCounter.TICK_TIME_LAST, tickNanos);
+        counters.add(PerfCounter.TICK_TIME_TOTAL, tickNanos);
+        if (tickNanos > counters.get(PerfCounter.TICK_TIME_MAX)) {
+            counters.set(PerfCounter.TICK_TIME_MAX, tickNanos);
+        }
+        counters.set(PerfCounter.BALLS, world.getBalls().size());
+        counters.set(PerfCounter.BRICKS, world.countBricksLeft());
+        counters.set(PerfCounter.POWER_UPS, world.getPowerUps().size());
+        counters.set(PerfCounter.SCORE, world.getScoreManager().getScore());
+        counters.set(PerfCounter.LIVES, world.getScoreManager().getLives());
+        counters.set(PerfCounter.LEVEL, world.getCurrentLevel());
+        counters.set(PerfCounter.STATE, world.getGameState().ordinal());
+        if (world.getTickCount() % GC_SAMPLE_TICKS == 0) {
+            gcMonitor.sample();
+            counters.set(PerfCounter.GC_COUNT, gcMonitor.getTotalCount());
+            counters.set(PerfCounter.GC_TIME_TOTAL, gcMonitor.getTotalTimeMillis());
+        }
+        counters.set(PerfCounter.UPDATED_AT, System.currentTimeMillis());
+        counters.endUpdate();
+    }
+
+    private boolean isIdle() {
+        return paused || world.getGameState() != GameState.PLAYING;
+    }
+
+    private void apply(InputEvent event, Object argument) {
+        switch (event) {
+            case CONTINUE -> world.continueToNextLevel();
+            case EDIT_LEVEL -> {
+                LevelEdit edit = (LevelEdit) argument;
+                world.levelEdited(edit.level(), edit.cells());
+                edited = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free single-producer / single-consumer queue of (code, argument) pairs.
+ * Exactly one thread may offer and exactly one thread may drain. Slots are
+ * preallocated, so passing enum ordinals and constant arguments allocates nothing.
+ */
+public class SpscRing {
+
+    /**
+     * Receives drained entries.
+     */
+    public interface Handler {
+        void handle(int code, Object argument);
+    }
+
+    private final int mask;
+    private final int[] codes;
+    private final Object[] arguments;
+    // Next slot to read, written only by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Next slot to write, written only by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a ring holding at least the given number of entries (rounded up to a power of two).
+     */
+    public SpscRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mask = size - 1;
+        codes = new int[size];
+        arguments = new Object[size];
+    }
+
+    /**
+     * Producer side. Returns false if the ring is full and the entry was dropped.
+     */
+    public boolean offer(int code, Object argument) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            return false;
+        }
+        int i = (int) t & mask;
+        codes[i] = code;
+        arguments[i] = argument;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side. Hands every queued entry to the handler and returns how many there were.
+     */
+    public int drain(Handler handler) {
+        long h = head.get();
+        long t = tail.get();
+        for (long n = h; n < t; n++) {
+            int i = (int) n & mask;
+            Object argument = arguments[i];
+            arguments[i] = null;
+            handler.handle(codes[i], argument);
+        }
+        head.lazySet(t);
+        return (int) (t - h);
+    }
+}
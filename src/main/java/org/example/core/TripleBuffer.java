@@ -0,0 +1,51 @@
+package org.example.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer between one writer and one reader.
+ * The writer fills {@link #back()} and calls {@link #publish()}; the reader calls
+ * {@link #acquire()} to get the most recently published buffer. Neither side ever
+ * waits, and the reader never sees a buffer that is being written. Frames the
+ * reader was too slow to pick up are simply overwritten.
+ */
+public class TripleBuffer<T> {
+    // Set on the shared index when it holds a buffer the reader has not seen yet
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final T[] buffers;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 2;   // writer-owned
+    private int front = 0;  // reader-owned
+
+    @SuppressWarnings("unchecked")
+    public TripleBuffer(Supplier<T> factory) {
+        buffers = (T[]) new Object[] { factory.get(), factory.get(), factory.get() };
+    }
+
+    /**
+     * Writer side: the buffer to fill next.
+     */
+    public T back() {
+        return buffers[back];
+    }
+
+    /**
+     * Writer side: hands the filled back buffer to the reader.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Reader side: the newest published buffer, which stays valid until the next acquire.
+     */
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return buffers[front];
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.effects;
+
+import org.example.render.Sprite;
+
+/**
+ * Where the simulation reports events that deserve a visual effect.
+ * Coordinates are logical units.
+ */
+public interface EffectSink {
+    /** A sink that ignores everything, for headless runs. */
+    EffectSink NONE = new EffectSink() {};
+
+    default void brickDestroyed(double x, double y, double width, double height, Sprite sprite) {}
+
+    default void powerUpCollected(double x, double y, double size, Sprite sprite) {}
+}
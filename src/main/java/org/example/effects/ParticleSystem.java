@@ -0,0 +1,182 @@
+package org.example.effects;
+
+import org.example.render.PixelRasterizer;
+import org.example.render.Sprite;
+
+/**
+ * Fixed-capacity particle pool stored as parallel primitive arrays.
+ * Dead particles are removed by swapping the last live particle into their slot,
+ * so live particles are always packed in [0, count). Nothing is allocated after
+ * construction; emitting into a full pool drops the extra particles.
+ * Positions and velocities are in logical units (per second).
+ */
+public class ParticleSystem {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final float GRAVITY = 420f;
+    private static final int DEBRIS_PER_BRICK = 24;
+    private static final int SPARKS_PER_BRICK = 10;
+    private static final int RING_PER_POWERUP = 32;
+    private static final int SPARK_COLOR = 0xFFFFFFFF;
+
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] life;
+    private final float[] inverseMaxLife;
+    private final float[] size;
+    private final float[] gravity;
+    private final int[] color;
+    private int count;
+
+    // xorshift state; particles only need cheap, allocation-free randomness
+    private int seed = 0x2545F491;
+
+    public ParticleSystem() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new float[capacity];
+        inverseMaxLife = new float[capacity];
+        size = new float[capacity];
+        gravity = new float[capacity];
+        color = new int[capacity];
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Debris in the brick's colour plus a few white sparks from a destroyed brick.
+     */
+    public void emitBrickDebris(double bx, double by, double width, double height, Sprite sprite) {
+        int argb = PixelRasterizer.argb(sprite.getFill());
+        for (int i = 0; i < DEBRIS_PER_BRICK; i++) {
+            float px = (float) (bx + random() * width);
+            float py = (float) (by + random() * height);
+            float angle = (float) (random() * Math.PI * 2);
+            float speed = 40f + random() * 120f;
+            spawn(px, py, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed - 60f,
+                    0.6f + random() * 0.6f, 2.5f, GRAVITY, argb);
+        }
+        float cx = (float) (bx + width / 2);
+        float cy = (float) (by + height / 2);
+        for (int i = 0; i < SPARKS_PER_BRICK; i++) {
+            float angle = (float) (random() * Math.PI * 2);
+            float speed = 200f + random() * 200f;
+            spawn(cx, cy, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed,
+                    0.15f + random() * 0.2f, 1.5f, 0f, SPARK_COLOR);
+        }
+    }
+
+    /**
+     * An expanding ring in the power-up's colour.
+     */
+    public void emitPowerUpRing(double px, double py, double sizeUnits, Sprite sprite) {
+        int argb = PixelRasterizer.argb(sprite.getFill());
+        float cx = (float) (px + sizeUnits / 2);
+        float cy = (float) (py + sizeUnits / 2);
+        for (int i = 0; i < RING_PER_POWERUP; i++) {
+            float angle = (float) (Math.PI * 2 * i / RING_PER_POWERUP);
+            float speed = 150f + random() * 30f;
+            spawn(cx, cy, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed,
+                    0.4f + random() * 0.1f, 2f, 0f, argb);
+        }
+    }
+
+    /**
+     * Adds one particle. Returns false if the pool is full.
+     */
+    public boolean spawn(float px, float py, float velocityX, float velocityY,
+                         float lifetime, float particleSize, float particleGravity, int argb) {
+        if (count == capacity) return false;
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = velocityX;
+        vy[i] = velocityY;
+        life[i] = lifetime;
+        inverseMaxLife[i] = 1f / lifetime;
+        size[i] = particleSize;
+        gravity[i] = particleGravity;
+        color[i] = argb;
+        return true;
+    }
+
+    /**
+     * Integrates all particles by dt seconds and compacts out the dead ones.
+     */
+    public void update(float dt) {
+        int i = 0;
+        while (i < count) {
+            float remaining = life[i] - dt;
+            if (remaining <= 0) {
+                removeAt(i);
+                continue;
+            }
+            life[i] = remaining;
+            vy[i] += gravity[i] * dt;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            i++;
+        }
+    }
+
+    /**
+     * Plots every live particle as a small square, fading with remaining life.
+     *
+     * @param scale pixels per logical unit of the target
+     */
+    public void draw(PixelRasterizer target, double scale) {
+        for (int i = 0; i < count; i++) {
+            float fade = life[i] * inverseMaxLife[i];
+            double s = size[i] * scale;
+            target.blendRect(x[i] * scale - s / 2, y[i] * scale - s / 2, s, s, fadePremultiplied(color[i], fade));
+        }
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        life[i] = life[last];
+        inverseMaxLife[i] = inverseMaxLife[last];
+        size[i] = size[last];
+        gravity[i] = gravity[last];
+        color[i] = color[last];
+    }
+
+    private static int fadePremultiplied(int argb, float fade) {
+        int f = (int) (fade * 256);
+        int rb = ((argb & 0x00FF00FF) * f >>> 8) & 0x00FF00FF;
+        int ag = (((argb >>> 8) & 0x00FF00FF) * f) & 0xFF00FF00;
+        return ag | rb;
+    }
+
+    // Uniform float in [0, 1)
+    private float random() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return (seed >>> 8) * (1f / (1 << 24));
+    }
+}
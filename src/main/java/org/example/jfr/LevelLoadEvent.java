@@ -0,0 +1,34 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reading and building one level's brick grid.
+ */
+@Name("arkanoid.LevelLoad")
+@Label("Level Load")
+@Category({"Arkanoid", "Gameplay"})
+@Description("A level file read and turned into bricks")
+public class LevelLoadEvent extends Event {
+    @Label("Difficulty")
+    public String difficulty;
+
+    @Label("Level")
+    public int level;
+
+    @Label("Source")
+    public String source;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Columns")
+    public int columns;
+
+    @Label("Bricks")
+    public int brickCount;
+}
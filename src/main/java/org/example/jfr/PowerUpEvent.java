@@ -0,0 +1,28 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A power-up caught by the paddle and applied.
+ */
+@Name("arkanoid.PowerUp")
+@Label("Power-up Applied")
+@Category({"Arkanoid", "Gameplay"})
+@Description("A power-up collected by the paddle")
+public class PowerUpEvent extends Event {
+    @Label("Type")
+    public String type;
+
+    @Label("Level")
+    public int level;
+
+    @Label("Balls After")
+    public int ballCount;
+
+    @Label("Paddle Width After")
+    public double paddleWidth;
+}
@@ -0,0 +1,31 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One frame drawn by a {@link org.example.render.GameRenderer}.
+ */
+@Name("arkanoid.Render")
+@Label("Render")
+@Category({"Arkanoid", "Game Loop"})
+@Description("One frame rendered on the FX thread")
+public class RenderEvent extends Event {
+    @Label("Simulation Tick")
+    public long tick;
+
+    @Label("Renderer")
+    public String renderer;
+
+    @Label("Render Scale")
+    public double renderScale;
+
+    @Label("Balls")
+    public int ballCount;
+
+    @Label("Particles")
+    public int particleCount;
+}
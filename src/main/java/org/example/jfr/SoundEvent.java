@@ -0,0 +1,26 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A playback call into {@link org.example.SoundManager}.
+ */
+@Name("arkanoid.Sound")
+@Label("Sound Playback")
+@Category({"Arkanoid", "Audio"})
+@Description("A sound effect or music call and how long it took")
+public class SoundEvent extends Event {
+    @Label("Action")
+    public String action;
+
+    @Label("Sound")
+    public String sound;
+
+    @Label("Loaded")
+    @Description("False if the sound was not loaded, so nothing played")
+    public boolean loaded;
+}
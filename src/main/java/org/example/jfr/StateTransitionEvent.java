@@ -0,0 +1,31 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The world moving from one {@link org.example.GameState} to another.
+ */
+@Name("arkanoid.StateTransition")
+@Label("State Transition")
+@Category({"Arkanoid", "Gameplay"})
+@Description("Game state change such as level cleared or game over")
+public class StateTransitionEvent extends Event {
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+
+    @Label("Level")
+    public int level;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Lives")
+    public int lives;
+}
@@ -0,0 +1,34 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One fixed simulation step of {@link org.example.GameWorld}.
+ */
+@Name("arkanoid.Tick")
+@Label("Tick")
+@Category({"Arkanoid", "Game Loop"})
+@Description("One 60 Hz simulation step")
+public class TickEvent extends Event {
+    @Label("Tick")
+    public long tick;
+
+    @Label("Level")
+    public int level;
+
+    @Label("Balls")
+    public int ballCount;
+
+    @Label("Bricks Left")
+    public int brickCount;
+
+    @Label("Power-ups")
+    public int powerUpCount;
+
+    @Label("Score")
+    public int score;
+}
@@ -0,0 +1,103 @@
+package org.example.level;
+
+import org.example.Difficulty;
+import org.example.Level;
+import org.example.brick.BrickGrid;
+import org.example.jfr.LevelLoadEvent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Endless levels from a {@link LevelGenerator}. A background thread generates and
+ * builds levels in order, up to {@link #AHEAD} ahead of the game, into a bounded
+ * queue, so a transition only takes the next grid off the queue and memory stays
+ * the same however far the player gets. If the generator has fallen behind, the
+ * level is generated on the calling thread and the generator skips ahead to the
+ * level after it.
+ * <p>
+ * Levels must be loaded in order, from one thread.
+ */
+public class EndlessLevelSource implements LevelSource {
+    public static final int AHEAD = 3;
+
+    private record Generated(int level, BrickGrid grid) {
+    }
+
+    private final Difficulty difficulty;
+    private final LevelGenerator generator;
+    private final BlockingQueue<Generated> queue = new ArrayBlockingQueue<>(AHEAD);
+    private final Thread thread;
+    // The first level the game hasn't loaded yet
+    private volatile int nextWanted = 1;
+    private int misses;
+
+    public EndlessLevelSource(Difficulty difficulty, long seed) {
+        this.difficulty = difficulty;
+        // Harder games start further along the ramp
+        this.generator = new LevelGenerator(seed, 2 * difficulty.ordinal());
+        thread = new Thread(this::run, "arkanoid-level-generator");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            for (int level = 1; !Thread.currentThread().isInterrupted(); level++) {
+                level = Math.max(level, nextWanted);
+                queue.put(new Generated(level, build(level)));
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        }
+    }
+
+    private BrickGrid build(int level) {
+        LevelLoadEvent event = new LevelLoadEvent();
+        event.begin();
+        BrickGrid grid = Level.build(generator.generate(level));
+        event.end();
+        if (event.shouldCommit()) {
+            event.difficulty = difficulty.name();
+            event.level = level;
+            event.source = "generated, seed " + generator.getSeed();
+            event.rows = grid.getLayout().getRows();
+            event.columns = grid.getLayout().getCols();
+            event.brickCount = grid.getBricks().size();
+            event.commit();
+        }
+        return grid;
+    }
+
+    @Override
+    public BrickGrid load(int level) {
+        nextWanted = level + 1;
+        Generated next;
+        while ((next = queue.poll()) != null) {
+            if (next.level() == level) return next.grid();
+            // An earlier level the generator finished after it was generated here
+        }
+        misses++;
+        return build(level);
+    }
+
+    @Override
+    public boolean hasLevel(int level) {
+        return true;
+    }
+
+    public long getSeed() {
+        return generator.getSeed();
+    }
+
+    /** Levels that weren't ready and were generated on the calling thread. */
+    public int getMisses() {
+        return misses;
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.level;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The cell types of a level, packed four 2-bit cells to a byte, row-major, lowest
+ * bits first. The bytes are either parsed from a text level or a read-only view of
+ * a mapped {@link LevelFile}; either way reading a cell is a shift and a mask.
+ */
+public final class LevelCells {
+    public static final int EMPTY = 0;
+    public static final int NORMAL = 1;
+    public static final int STRONG = 2;
+    public static final int UNBREAKABLE = 3;
+
+    private final int rows;
+    private final int cols;
+    private final ByteBuffer packed;
+
+    LevelCells(int rows, int cols, ByteBuffer packed) {
+        this.rows = rows;
+        this.cols = cols;
+        this.packed = packed;
+    }
+
+    /** Bytes needed to pack this many cells. */
+    public static int packedBytes(int cells) {
+        return (cells + 3) / 4;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getCellCount() {
+        return rows * cols;
+    }
+
+    /** The type of the cell at row * cols + col, one of the constants above. */
+    public int type(int index) {
+        return (packed.get(index >> 2) >> ((index & 3) << 1)) & 3;
+    }
+
+    /** The packed bytes, positioned at zero; the buffer is shared, so don't modify it. */
+    ByteBuffer packed() {
+        return packed.duplicate().clear();
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Validates text levels and compiles them to {@link LevelFile}s. The text format is
+ * the authoring source: one line per row of space-separated cell types 0 to 3
+ * (empty, normal, strong, unbreakable), every row the same width.
+ * <pre>
+ * java -cp target/classes org.example.level.LevelCompiler [source dir] [target dir]
+ * </pre>
+ * compiles every {@code .txt} under the source directory (default {@code assets/levels})
+ * into the same relative path under the target (default {@code target/levels}), and
+ * fails on the first invalid level. The build runs it in the process-classes phase.
+ */
+public final class LevelCompiler {
+    public static final String SOURCE_SUFFIX = ".txt";
+
+    private LevelCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path source = Path.of(args.length > 0 ? args[0] : "assets/levels");
+        Path target = Path.of(args.length > 1 ? args[1] : "target/levels");
+        List<Path> levels;
+        try (Stream<Path> files = Files.walk(source)) {
+            levels = files.filter(p -> p.toString().endsWith(SOURCE_SUFFIX)).sorted().toList();
+        }
+        for (Path level : levels) {
+            String relative = source.relativize(level).toString();
+            Path compiled = target.resolve(relative.substring(0, relative.length() - SOURCE_SUFFIX.length()) + LevelFile.SUFFIX);
+            LevelCells cells = parse(level);
+            LevelFile.write(compiled, cells);
+        }
+        System.out.println("Compiled " + levels.size() + " levels from " + source + " to " + target);
+    }
+
+    /**
+     * Reads and validates a text level. Trailing blank lines are ignored; anything
+     * else that isn't a rectangle of cell types 0 to 3 is reported with its line.
+     */
+    public static LevelCells parse(Path file) throws IOException {
+        byte[] text = Files.readAllBytes(file);
+        int length = text.length;
+        while (length > 0 && isSpace(text[length - 1])) length--;
+        if (length == 0) {
+            throw new IOException(file + ": no rows");
+        }
+
+        // Cell types one per byte while scanning, packed at the end
+        byte[] types = new byte[Math.max(16, length / 2 + 1)];
+        int count = 0;
+        int rows = 0;
+        int cols = -1;
+        int line = 1;
+        int rowCells = 0;
+        int i = 0;
+        while (i <= length) {
+            if (i == length || text[i] == '\n') {
+                if (rowCells == 0) {
+                    throw new IOException(file + ":" + line + ": empty row");
+                }
+                if (cols < 0) {
+                    cols = rowCells;
+                } else if (rowCells != cols) {
+                    throw new IOException(file + ":" + line + ": " + rowCells + " cells, expected " + cols);
+                }
+                rows++;
+                rowCells = 0;
+                line++;
+                i++;
+            } else if (isSpace(text[i])) {
+                i++;
+            } else {
+                int start = i;
+                while (i < length && !isSpace(text[i]) && text[i] != '\n') i++;
+                if (i - start != 1 || text[start] < '0' || text[start] > '3') {
+                    throw new IOException(file + ":" + line + ": '" + new String(text, start, i - start)
+                            + "' is not a cell type 0-3");
+                }
+                if (count == types.length) {
+                    types = Arrays.copyOf(types, types.length * 2);
+                }
+                types[count++] = (byte) (text[start] - '0');
+                rowCells++;
+            }
+        }
+        if ((long) rows * cols > LevelFile.MAX_CELLS) {
+            throw new IOException(file + ": more than " + LevelFile.MAX_CELLS + " cells");
+        }
+        return pack(rows, cols, types);
+    }
+
+    /**
+     * The level in the text format, one line per row.
+     */
+    public static String toText(LevelCells cells) {
+        StringBuilder text = new StringBuilder(cells.getCellCount() * 2);
+        for (int row = 0; row < cells.getRows(); row++) {
+            for (int col = 0; col < cells.getCols(); col++) {
+                if (col > 0) text.append(' ');
+                text.append(cells.type(row * cells.getCols() + col));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Packs one cell type per byte, row-major, into a level.
+     */
+    public static LevelCells pack(int rows, int cols, byte[] types) {
+        int cells = rows * cols;
+        ByteBuffer packed = ByteBuffer.allocate(LevelCells.packedBytes(cells));
+        for (int c = 0; c < cells; c++) {
+            int b = c >> 2;
+            packed.put(b, (byte) (packed.get(b) | (types[c] & 3) << ((c & 3) << 1)));
+        }
+        return new LevelCells(rows, cols, packed.asReadOnlyBuffer());
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.level;
+
+/**
+ * New cells for a level of the game in progress, sent to the simulation thread.
+ */
+public record LevelEdit(int level, LevelCells cells) {
+}
@@ -0,0 +1,105 @@
+package org.example.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The compiled level format, written by {@link LevelCompiler} and read by mapping the
+ * file, or in place from an asset pack, so loading is a checksum pass over the packed
+ * cells and nothing is parsed. The layout is little-endian:
+ * <pre>
+ *   0  int  magic 0x4C4B5241 ("ARKL" in file order)
+ *   4  int  format version
+ *   8  int  rows
+ *  12  int  columns
+ *  16  int  CRC32 of the packed cells
+ *  20  int  reserved, 0
+ *  24  packed cells, see {@link LevelCells}
+ * </pre>
+ */
+public final class LevelFile {
+    public static final int MAGIC = 0x4C4B5241;
+    public static final int VERSION = 1;
+    public static final String SUFFIX = ".lvl";
+    static final int HEADER_BYTES = 24;
+    // Generous upper bound, so a corrupt header can't ask for a huge mapping
+    static final int MAX_CELLS = 1 << 24;
+
+    private LevelFile() {
+    }
+
+    /**
+     * Writes the cells to a file, replacing it, with a temporary file and a rename so a
+     * reader never maps a half-written level.
+     */
+    public static void write(Path file, LevelCells cells) throws IOException {
+        ByteBuffer packed = cells.packed();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(cells.getRows()).putInt(cells.getCols())
+                .putInt(checksum(packed)).putInt(0).flip();
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining() || packed.hasRemaining()) {
+                channel.write(new ByteBuffer[] {header, packed});
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Maps a compiled level read-only and checks its header, size and checksum.
+     */
+    public static LevelCells read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a level file (" + size + " bytes)");
+            }
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), file.toString());
+        }
+    }
+
+    /**
+     * Checks a compiled level already in memory, such as a slice of an asset pack,
+     * and reads its cells in place. {@code name} is only used in errors.
+     */
+    public static LevelCells read(ByteBuffer bytes, String name) throws IOException {
+        ByteBuffer buffer = bytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int size = buffer.remaining();
+        if (size < HEADER_BYTES) {
+            throw new IOException(name + " is not a level file (" + size + " bytes)");
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException(name + " is not a version " + VERSION + " level file");
+        }
+        int rows = buffer.getInt(8);
+        int cols = buffer.getInt(12);
+        if (rows < 0 || cols < 0 || (long) rows * cols > MAX_CELLS
+                || size != HEADER_BYTES + LevelCells.packedBytes(rows * cols)) {
+            throw new IOException(name + ": " + rows + "x" + cols + " cells don't match its " + size + " bytes");
+        }
+        ByteBuffer packed = buffer.slice(HEADER_BYTES, size - HEADER_BYTES).asReadOnlyBuffer();
+        if (checksum(packed.duplicate()) != buffer.getInt(16)) {
+            throw new IOException(name + " is corrupt: checksum mismatch");
+        }
+        return new LevelCells(rows, cols, packed);
+    }
+
+    private static int checksum(ByteBuffer packed) {
+        CRC32 crc = new CRC32();
+        crc.update(packed.duplicate());
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.level;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates endless-mode levels from a seed. The same seed and level number always
+ * give the same layout. Each level is mirrored left to right and built from:
+ * <ul>
+ *     <li>a base pattern of normal bricks: a random fill, stripes, a diamond or a checkerboard;</li>
+ *     <li>clusters of strong bricks, more and bigger as levels go on;</li>
+ *     <li>from the third step of the ramp, short unbreakable walls.</li>
+ * </ul>
+ * The ramp is the level number plus an offset for the difficulty, so harder games
+ * start further along it. Every layout is checked to be solvable, i.e. every
+ * breakable brick can be reached from below without passing an unbreakable one;
+ * layouts that aren't are generated again, and the last attempt has no walls.
+ */
+public final class LevelGenerator {
+    public static final int MAX_ROWS = 8;
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final long seed;
+    private final int rampOffset;
+
+    public LevelGenerator(long seed, int rampOffset) {
+        this.seed = seed;
+        this.rampOffset = rampOffset;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public LevelCells generate(int level) {
+        SplittableRandom random = new SplittableRandom(seed ^ (level * 0x9E3779B97F4A7C15L));
+        int ramp = Math.max(0, level - 1 + rampOffset);
+        int rows = Math.min(MAX_ROWS, 4 + ramp / 2);
+        int cols = ramp < 4 ? 8 : ramp < 8 ? 10 : 12;
+
+        for (int attempt = 1; ; attempt++) {
+            boolean walls = ramp >= 2 && attempt < MAX_ATTEMPTS;
+            byte[] types = layout(random, rows, cols, ramp, walls);
+            if (isSolvable(types, rows, cols)) {
+                return LevelCompiler.pack(rows, cols, types);
+            }
+        }
+    }
+
+    private static byte[] layout(SplittableRandom random, int rows, int cols, int ramp, boolean walls) {
+        int half = cols / 2;
+        byte[] types = new byte[rows * cols];
+        int pattern = random.nextInt(4);
+        double density = Math.min(0.9, 0.55 + ramp * 0.03);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < half; col++) {
+                boolean brick = switch (pattern) {
+                    case 0 -> random.nextDouble() < density;
+                    case 1 -> row % 2 == 0 || random.nextDouble() < density - 0.5;
+                    case 2 -> Math.abs(col - half) + Math.abs(2 * row - rows) / 2 <= half;
+                    default -> (row + col) % 2 == 0;
+                };
+                if (brick) types[row * cols + col] = LevelCells.NORMAL;
+            }
+        }
+
+        // Strong clusters: short random walks from a random cell
+        int clusters = Math.min(1 + ramp / 2, 6);
+        int clusterSize = Math.min(2 + ramp / 3, 8);
+        for (int c = 0; c < clusters; c++) {
+            int row = random.nextInt(rows);
+            int col = random.nextInt(half);
+            for (int step = 0; step < clusterSize; step++) {
+                types[row * cols + col] = LevelCells.STRONG;
+                switch (random.nextInt(4)) {
+                    case 0 -> row = Math.max(0, row - 1);
+                    case 1 -> row = Math.min(rows - 1, row + 1);
+                    case 2 -> col = Math.max(0, col - 1);
+                    default -> col = Math.min(half - 1, col + 1);
+                }
+            }
+        }
+
+        if (walls) {
+            int count = Math.min((ramp - 1) / 2, 3);
+            for (int w = 0; w < count; w++) {
+                int row = 1 + random.nextInt(rows - 1);
+                int length = 2 + random.nextInt(half - 1);
+                int start = random.nextInt(half - length + 1);
+                Arrays.fill(types, row * cols + start, row * cols + start + length, (byte) LevelCells.UNBREAKABLE);
+            }
+        }
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < half; col++) {
+                types[row * cols + cols - 1 - col] = types[row * cols + col];
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Flood-fills from below the grid through every cell that isn't unbreakable.
+     * The layout is solvable if it has a breakable brick and the fill reaches them all.
+     */
+    static boolean isSolvable(byte[] types, int rows, int cols) {
+        boolean[] reached = new boolean[types.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int col = 0; col < cols; col++) {
+            int cell = (rows - 1) * cols + col;
+            if (types[cell] != LevelCells.UNBREAKABLE) {
+                reached[cell] = true;
+                queue.add(cell);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int row = cell / cols;
+            int col = cell % cols;
+            if (row > 0) visit(types, reached, queue, cell - cols);
+            if (row < rows - 1) visit(types, reached, queue, cell + cols);
+            if (col > 0) visit(types, reached, queue, cell - 1);
+            if (col < cols - 1) visit(types, reached, queue, cell + 1);
+        }
+
+        boolean anyBreakable = false;
+        for (int cell = 0; cell < types.length; cell++) {
+            if (types[cell] == LevelCells.NORMAL || types[cell] == LevelCells.STRONG) {
+                if (!reached[cell]) return false;
+                anyBreakable = true;
+            }
+        }
+        return anyBreakable;
+    }
+
+    private static void visit(byte[] types, boolean[] reached, ArrayDeque<Integer> queue, int cell) {
+        if (!reached[cell] && types[cell] != LevelCells.UNBREAKABLE) {
+            reached[cell] = true;
+            queue.add(cell);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.level;
+
+import org.example.Difficulty;
+import org.example.Level;
+import org.example.brick.BrickGrid;
+
+import java.io.Closeable;
+
+/**
+ * Where a game's levels come from, numbered from 1. A source may be told which
+ * level comes next, so it can get it ready while the current one is played.
+ */
+public interface LevelSource extends Closeable {
+    /**
+     * Builds a level, blocking until it is ready. Throws
+     * {@link java.io.UncheckedIOException} if it can't be loaded.
+     */
+    BrickGrid load(int level);
+
+    /**
+     * Hints that the level will be loaded soon. Does nothing by default.
+     */
+    default void prefetch(int level) {
+    }
+
+    /**
+     * The level's source changed; anything prepared from the old one must be dropped.
+     * Does nothing by default.
+     */
+    default void invalidate(int level) {
+    }
+
+    /**
+     * True if there is a level with this number; the game is won after the last one.
+     */
+    boolean hasLevel(int level);
+
+    @Override
+    default void close() {
+    }
+
+    /**
+     * The bundled levels of a difficulty, loaded on the calling thread.
+     */
+    static LevelSource bundled(Difficulty difficulty) {
+        return new LevelSource() {
+            @Override
+            public BrickGrid load(int level) {
+                return Level.loadLevel(difficulty, level);
+            }
+
+            @Override
+            public boolean hasLevel(int level) {
+                return level >= 1 && level <= Level.LEVEL_COUNT;
+            }
+        };
+    }
+}
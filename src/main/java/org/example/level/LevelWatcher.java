@@ -0,0 +1,132 @@
+package org.example.level;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a level directory and its subdirectories for text levels that are created
+ * or modified, and hands each one, parsed, to its listeners on the watcher's own thread.
+ * One watcher is started for the session; games add a listener while they run.
+ * Editors often save in several writes, so changes are collected until the directory
+ * has been quiet for {@link #SETTLE_MILLIS} ms and each file is then parsed once.
+ * A level that doesn't parse is reported and skipped; the previous version stays in play.
+ */
+public class LevelWatcher implements Closeable {
+    public static final long SETTLE_MILLIS = 100;
+
+    /** Called on the watcher thread. {@code file} is relative to the watched directory. */
+    public interface Listener {
+        void levelChanged(Path file, LevelCells cells);
+    }
+
+    private final Path directory;
+    private final WatchService service;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+
+    private LevelWatcher(Path directory, WatchService service) {
+        this.directory = directory;
+        this.service = service;
+        thread = new Thread(this::run, "arkanoid-level-watcher");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Starts watching the directory and the subdirectories it has now.
+     */
+    public static LevelWatcher start(Path directory) throws IOException {
+        WatchService service = FileSystems.getDefault().newWatchService();
+        LevelWatcher watcher = new LevelWatcher(directory, service);
+        try {
+            watcher.register(directory);
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory, Files::isDirectory)) {
+                for (Path child : children) {
+                    watcher.register(child);
+                }
+            }
+        } catch (IOException e) {
+            service.close();
+            throw e;
+        }
+        watcher.thread.start();
+        return watcher;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private void register(Path dir) throws IOException {
+        dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    private void run() {
+        Set<Path> changed = new LinkedHashSet<>();
+        try {
+            while (true) {
+                // Block for the first change, then keep collecting until things settle
+                WatchKey key = changed.isEmpty() ? service.take() : service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    for (Path file : changed) {
+                        reload(file);
+                    }
+                    changed.clear();
+                    continue;
+                }
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+                    Path file = dir.resolve((Path) event.context());
+                    if (file.toString().endsWith(LevelCompiler.SOURCE_SUFFIX)) {
+                        changed.add(file);
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private void reload(Path file) {
+        if (!Files.isRegularFile(file)) return;
+        try {
+            LevelCells cells = LevelCompiler.parse(file);
+            Path name = directory.relativize(file);
+            for (Listener listener : listeners) {
+                listener.levelChanged(name, cells);
+            }
+        } catch (IOException e) {
+            System.err.println("Level not reloaded: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            service.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+        thread.interrupt();
+    }
+}
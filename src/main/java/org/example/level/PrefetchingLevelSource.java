@@ -0,0 +1,103 @@
+package org.example.level;
+
+import org.example.brick.BrickGrid;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Loads and builds the next level on a background thread while the current one is
+ * played, so moving on only swaps in the finished grid. If the prefetch hasn't
+ * started by then, the level is loaded on the calling thread instead; if it is
+ * under way, the caller waits for it rather than loading it twice. A prefetch that
+ * failed is retried synchronously, so its error reaches the caller.
+ * <p>
+ * Call {@link #load} and {@link #prefetch} from one thread.
+ */
+public class PrefetchingLevelSource implements LevelSource {
+    private final LevelSource source;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "arkanoid-level-prefetch");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private int pendingLevel;
+    private Future<BrickGrid> pending;
+    private int hits;
+    private int misses;
+
+    public PrefetchingLevelSource(LevelSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public void prefetch(int level) {
+        if (pending != null) {
+            if (pendingLevel == level) return;
+            pending.cancel(false);
+        }
+        pendingLevel = level;
+        try {
+            pending = executor.submit(() -> source.load(level));
+        } catch (RejectedExecutionException e) {
+            // Closed while the game was still ticking; load() falls back to the calling thread
+            pending = null;
+        }
+    }
+
+    @Override
+    public void invalidate(int level) {
+        if (pending != null && pendingLevel == level) {
+            pending.cancel(false);
+            pending = null;
+            prefetch(level);
+        }
+    }
+
+    @Override
+    public BrickGrid load(int level) {
+        Future<BrickGrid> prefetched = pending;
+        pending = null;
+        // cancel() fails once the load has started, and then it's quicker to wait for it
+        if (prefetched != null && pendingLevel == level && !prefetched.cancel(false)) {
+            try {
+                BrickGrid grid = prefetched.get();
+                hits++;
+                return grid;
+            } catch (ExecutionException e) {
+                // Load again below, so the failure is reported on this thread
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else if (prefetched != null) {
+            prefetched.cancel(false);
+        }
+        misses++;
+        return source.load(level);
+    }
+
+    @Override
+    public boolean hasLevel(int level) {
+        return source.hasLevel(level);
+    }
+
+    /** Loads served by a prefetch. */
+    public int getHits() {
+        return hits;
+    }
+
+    /** Loads done on the calling thread. */
+    public int getMisses() {
+        return misses;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        source.close();
+    }
+}
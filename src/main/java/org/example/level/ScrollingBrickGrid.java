@@ -0,0 +1,154 @@
+package org.example.level;
+
+import org.example.Level;
+import org.example.brick.Brick;
+import org.example.brick.BrickGrid;
+import org.example.brick.GridLayout;
+import org.example.brick.UnbreakableBrick;
+
+/**
+ * A level taller than the screen. The player starts at the bottom {@link #VIEW_ROWS}
+ * rows and the camera scrolls up as they clear them: the lowest row with a breakable
+ * brick left is pulled down to where the bottom row of a normal level sits.
+ * <p>
+ * Only a window of {@link #RESIDENT_CHUNKS} chunks of {@link #CHUNK_ROWS} rows is
+ * held as bricks; the rest of the level stays in its {@link LevelCells}, which for a
+ * compiled level is the mapped file. Rows that scroll off the bottom are cleared, and
+ * once a chunk's worth has gone the window shifts and the next chunk is read in above.
+ * Collision and rendering only ever see the window, so memory and per-tick cost are
+ * the same however tall the level is.
+ * <p>
+ * The layout stays put and scrolling only changes {@link #getScrollY()}, so renderers
+ * keep their cached brick image while the level scrolls and redraw cells only when
+ * rows are dropped or read in.
+ */
+public class ScrollingBrickGrid extends BrickGrid {
+    public static final int VIEW_ROWS = 8;
+    public static final int CHUNK_ROWS = 8;
+    public static final int RESIDENT_CHUNKS = 4;
+
+    private static final double PITCH = 30;
+    // Where the lowest live row is held, and below which cleared rows are dropped
+    private static final double BOTTOM_Y = 50 + (VIEW_ROWS - 1) * PITCH;
+    private static final double RETIRE_Y = BOTTOM_Y + PITCH;
+    private static final double MIN_SPEED = 0.5;
+    // Scrolling through a gap with nothing left to hit
+    private static final double EMPTY_SPEED = 4;
+
+    private final LevelCells cells;
+    private final int cols;
+    private final int windowRows;
+    // The level row in window row 0
+    private int top;
+    // Window rows from here down have been cleared
+    private int liveRows;
+    private double scroll;
+
+    public ScrollingBrickGrid(LevelCells cells) {
+        super(windowLayout(cells));
+        this.cells = cells;
+        this.cols = cells.getCols();
+        this.windowRows = getLayout().getRows();
+        this.top = cells.getRows() - windowRows;
+        this.liveRows = windowRows;
+        readRows(0, top, windowRows);
+    }
+
+    /**
+     * The window's layout, placed so its bottom VIEW_ROWS rows are where a normal level's rows are.
+     */
+    private static GridLayout windowLayout(LevelCells cells) {
+        int rows = Math.min(cells.getRows(), CHUNK_ROWS * RESIDENT_CHUNKS);
+        return Level.layoutFor(rows, cells.getCols()).offsetY(-(rows - VIEW_ROWS) * PITCH);
+    }
+
+    @Override
+    public double getScrollY() {
+        return scroll;
+    }
+
+    @Override
+    public boolean advance() {
+        double dy = scrollStep();
+        if (dy > 0) {
+            scroll += dy;
+            for (Brick brick : getBricks()) {
+                brick.moveBy(0, dy);
+            }
+        }
+        boolean changed = false;
+        while (liveRows > 0 && rowY(liveRows - 1) > RETIRE_Y) {
+            liveRows--;
+            for (int col = 0; col < cols; col++) {
+                set(liveRows * cols + col, null);
+            }
+            changed = true;
+        }
+        // The top row is about to come into view: shift the window up a chunk if there's room
+        while (top > 0 && rowY(0) > -PITCH) {
+            int rows = Math.min(CHUNK_ROWS, top);
+            if (windowRows - liveRows < rows) break;
+            shiftDown(rows);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /** Where a window row is on screen. */
+    private double rowY(int row) {
+        return getLayout().cellY(row) + scroll;
+    }
+
+    private double scrollStep() {
+        for (int row = liveRows - 1; row >= 0; row--) {
+            if (hasBreakable(row)) {
+                double gap = BOTTOM_Y - rowY(row);
+                return gap <= 0 ? 0 : Math.min(gap, Math.max(MIN_SPEED, gap / PITCH));
+            }
+        }
+        return top > 0 ? EMPTY_SPEED : 0;
+    }
+
+    private boolean hasBreakable(int row) {
+        for (int col = 0; col < cols; col++) {
+            Brick brick = getCell(row * cols + col);
+            if (brick != null && !brick.isDestroyed() && !(brick instanceof UnbreakableBrick)) return true;
+        }
+        return false;
+    }
+
+    private void shiftDown(int rows) {
+        int shift = rows * cols;
+        for (int cell = liveRows * cols - 1; cell >= 0; cell--) {
+            set(cell + shift, getCell(cell));
+        }
+        // Every row moved down the layout, so the same screen position is that much less scroll
+        scroll -= rows * PITCH;
+        top -= rows;
+        liveRows += rows;
+        readRows(0, top, rows);
+    }
+
+    private void readRows(int windowRow, int levelRow, int rows) {
+        GridLayout layout = getLayout();
+        for (int row = 0; row < rows; row++) {
+            int from = (levelRow + row) * cols;
+            int to = (windowRow + row) * cols;
+            for (int col = 0; col < cols; col++) {
+                Brick brick = Level.createBrick(cells.type(from + col), layout, to + col);
+                if (brick != null) brick.moveBy(0, scroll);
+                set(to + col, brick);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasMoreRows() {
+        return top > 0;
+    }
+
+    /** The level row at the top of the window, 0 once the last chunk is in. */
+    public int getTopRow() {
+        return top;
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.perf;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Per-phase frame timings and per-tick counters, kept in {@link Histogram}s.
+ * Callers time a phase by lapping a timestamp:
+ * <pre>
+ *     long t = profiler.now();
+ *     ...integrate...
+ *     t = profiler.lap(Phase.INTEGRATE, t);
+ *     ...collide...
+ *     t = profiler.lap(Phase.COLLIDE, t);
+ * </pre>
+ * A lap is one System.nanoTime call and one histogram record, well under a
+ * microsecond per frame for all phases together. {@link #DISABLED} skips even that.
+ */
+public class FrameProfiler {
+    public static final FrameProfiler DISABLED = new FrameProfiler(false);
+
+    private static final double[] EXPORT_PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final boolean enabled;
+    private final Histogram[] phases = new Histogram[Phase.values().length];
+    private final Histogram collisionTests = new Histogram();
+
+    public FrameProfiler() {
+        this(true);
+    }
+
+    private FrameProfiler(boolean enabled) {
+        this.enabled = enabled;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new Histogram();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long now() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since {@code start} against the phase and returns the current time,
+     * which starts the next phase.
+     */
+    public long lap(Phase phase, long start) {
+        if (!enabled) return 0;
+        long now = System.nanoTime();
+        phases[phase.ordinal()].record(now - start);
+        return now;
+    }
+
+    /**
+     * Records how many collision tests one tick performed.
+     */
+    public void recordCollisionTests(int tests) {
+        if (enabled) {
+            collisionTests.record(tests);
+        }
+    }
+
+    public Histogram getPhase(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    public Histogram getCollisionTests() {
+        return collisionTests;
+    }
+
+    /**
+     * Starts every histogram over. Each writer applies it on its next record.
+     */
+    public void reset() {
+        for (Histogram h : phases) {
+            h.requestReset();
+        }
+        collisionTests.requestReset();
+    }
+
+    /**
+     * Copies every histogram, so the copy can be exported off the recording threads.
+     */
+    public FrameProfiler copy() {
+        FrameProfiler copy = new FrameProfiler(enabled);
+        for (int i = 0; i < phases.length; i++) {
+            phases[i].copyInto(copy.phases[i]);
+        }
+        collisionTests.copyInto(copy.collisionTests);
+        return copy;
+    }
+
+    /**
+     * Writes a CSV with one summary row per phase followed by the raw non-empty buckets.
+     * Times are in microseconds; collision tests are plain counts.
+     */
+    public void export(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("series,count,mean,p50,p90,p99,p999,max");
+            out.newLine();
+            for (Phase phase : Phase.values()) {
+                writeSummary(out, phase.getLabel() + "_us", getPhase(phase), 1000.0);
+            }
+            writeSummary(out, "collision_tests", collisionTests, 1.0);
+
+            out.newLine();
+            out.write("series,bucket_low,bucket_high,count");
+            out.newLine();
+            for (Phase phase : Phase.values()) {
+                writeBuckets(out, phase.getLabel() + "_ns", getPhase(phase));
+            }
+            writeBuckets(out, "collision_tests", collisionTests);
+        }
+    }
+
+    private static void writeSummary(BufferedWriter out, String name, Histogram h, double divisor)
+            throws IOException {
+        StringBuilder line = new StringBuilder(name).append(',').append(h.getCount())
+                .append(',').append(format(h.getMean() / divisor));
+        for (double p : EXPORT_PERCENTILES) {
+            line.append(',').append(format(h.percentile(p) / divisor));
+        }
+        line.append(',').append(format(h.getMax() / divisor));
+        out.write(line.toString());
+        out.newLine();
+    }
+
+    private static void writeBuckets(BufferedWriter out, String name, Histogram h) throws IOException {
+        for (int i = 0; i < h.bucketCount(); i++) {
+            long n = h.countAt(i);
+            if (n == 0) continue;
+            out.write(name + ',' + Histogram.lowerBound(i) + ',' + Histogram.upperBound(i) + ',' + n);
+            out.newLine();
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
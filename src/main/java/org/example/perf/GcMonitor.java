@@ -0,0 +1,60 @@
+package org.example.perf;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Samples the JVM's garbage collectors. Each {@link #sample()} computes how many
+ * collections ran and how long they took since the previous sample.
+ * Meant to be polled a few times a second, not every frame.
+ */
+public class GcMonitor {
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private long lastCount;
+    private long lastTimeMillis;
+    private long totalCount;
+    private long totalTimeMillis;
+    private long recentCount;
+    private long recentTimeMillis;
+
+    public GcMonitor() {
+        sample();
+        recentCount = 0;
+        recentTimeMillis = 0;
+    }
+
+    public void sample() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        recentCount = count - lastCount;
+        recentTimeMillis = time - lastTimeMillis;
+        lastCount = count;
+        lastTimeMillis = time;
+        totalCount = count;
+        totalTimeMillis = time;
+    }
+
+    /** Collections since the previous sample. */
+    public long getRecentCount() {
+        return recentCount;
+    }
+
+    /** Milliseconds spent collecting since the previous sample. */
+    public long getRecentTimeMillis() {
+        return recentTimeMillis;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getTotalTimeMillis() {
+        return totalTimeMillis;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.perf;
+
+/**
+ * Slots of the {@link PerfCounters} file. A counter's ordinal fixes its offset, so
+ * new counters are only ever appended.
+ */
+public enum PerfCounter {
+    TICKS("sim.ticks", "count"),
+    TICK_TIME_LAST("sim.tickTime.last", "ns"),
+    TICK_TIME_TOTAL("sim.tickTime.total", "ns"),
+    TICK_TIME_MAX("sim.tickTime.max", "ns"),
+    /** Ticks skipped because the simulation fell too far behind to catch up. */
+    DROPPED_TICKS("sim.droppedTicks", "count"),
+    BALLS("world.balls", "count"),
+    BRICKS("world.bricks", "count"),
+    POWER_UPS("world.powerUps", "count"),
+    SCORE("world.score", "points"),
+    LIVES("world.lives", "count"),
+    LEVEL("world.level", "number"),
+    /** {@link org.example.GameState} ordinal. */
+    STATE("world.state", "ordinal"),
+    GC_COUNT("gc.collections", "count"),
+    GC_TIME_TOTAL("gc.time.total", "ms"),
+    /** Wall-clock time of the last simulation update. */
+    UPDATED_AT("sim.updatedAt", "epoch ms"),
+    FRAMES_RENDERED("render.frames", "count");
+
+    private final String name;
+    private final String unit;
+
+    PerfCounter(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+}
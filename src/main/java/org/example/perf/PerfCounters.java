@@ -0,0 +1,217 @@
+package org.example.perf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Live counters in a small memory-mapped file, so other processes can read them
+ * without attaching to the JVM (like the JVM's own hsperfdata). Writing a counter
+ * is a plain store into the mapping: no locks, no allocation and no system call.
+ * <p>
+ * The layout is fixed and little-endian:
+ * <pre>
+ *   0  int   magic 0x41524B43 ("CKRA" in file order)
+ *   4  int   layout version
+ *   8  long  pid of the writer
+ *  16  long  start time, epoch ms
+ *  24  int   number of counters
+ *  28  int   bytes per name
+ *  32  long  sequence: odd while the simulation thread is updating its counters
+ *  64  long  counter values, in {@link PerfCounter} order
+ * 576  name table: one NUL-padded ASCII "name unit" entry per counter
+ * </pre>
+ * The simulation thread writes its counters between {@link #beginUpdate()} and
+ * {@link #endUpdate()}, which bump the sequence, so a reader can retry until it
+ * sees one tick's values together. {@link PerfCounter#FRAMES_RENDERED} has its own
+ * writer (the FX thread) and is stored outside the sequence.
+ */
+public class PerfCounters implements Closeable {
+    public static final PerfCounters DISABLED = new PerfCounters();
+
+    public static final int MAGIC = 0x41524B43;
+    public static final int VERSION = 1;
+    static final int SEQUENCE_OFFSET = 32;
+    static final int COUNTERS_OFFSET = 64;
+    static final int MAX_COUNTERS = 64;
+    static final int NAMES_OFFSET = COUNTERS_OFFSET + 8 * MAX_COUNTERS;
+    static final int NAME_BYTES = 32;
+    static final int FILE_SIZE = 4096;
+
+    // Aligned long access through a view var handle is atomic on direct buffers
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final PerfCounter[] COUNTERS = PerfCounter.values();
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final boolean writable;
+    private long sequence;
+
+    private PerfCounters() {
+        file = null;
+        buffer = null;
+        writable = false;
+    }
+
+    private PerfCounters(Path file, MappedByteBuffer buffer, boolean writable) {
+        this.file = file;
+        this.buffer = buffer;
+        this.writable = writable;
+    }
+
+    /**
+     * Where a game with the given pid publishes its counters by default.
+     */
+    public static Path defaultFile(long pid) {
+        return defaultDirectory().resolve(Long.toString(pid));
+    }
+
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("java.io.tmpdir"), "arkanoid-perf");
+    }
+
+    /**
+     * Creates (or replaces) the counter file, writes the header and maps it for writing.
+     */
+    public static PerfCounters create(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, ProcessHandle.current().pid());
+            buffer.putLong(16, System.currentTimeMillis());
+            buffer.putInt(24, COUNTERS.length);
+            buffer.putInt(28, NAME_BYTES);
+            for (PerfCounter counter : COUNTERS) {
+                byte[] name = (counter.getName() + ' ' + counter.getUnit()).getBytes(StandardCharsets.US_ASCII);
+                buffer.put(NAMES_OFFSET + counter.ordinal() * NAME_BYTES, name, 0, Math.min(name.length, NAME_BYTES - 1));
+            }
+            // Magic last, so a reader never accepts a half-written header
+            buffer.putInt(0, MAGIC);
+            return new PerfCounters(file, buffer, true);
+        }
+    }
+
+    /**
+     * Maps an existing counter file read-only, for a reader in another process.
+     */
+    public static PerfCounters open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < FILE_SIZE) {
+                throw new IOException(file + " is not a counter file (" + channel.size() + " bytes)");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(file + " is not a version " + VERSION + " counter file");
+            }
+            return new PerfCounters(file, buffer, false);
+        }
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getPid() {
+        return buffer.getLong(8);
+    }
+
+    public long getStartTimeMillis() {
+        return buffer.getLong(16);
+    }
+
+    /**
+     * Number of counters the writer knows, which may be fewer than this build does.
+     */
+    public int getCounterCount() {
+        return Math.min(buffer.getInt(24), COUNTERS.length);
+    }
+
+    /**
+     * Simulation thread: starts a group of updates readers should see together.
+     */
+    public void beginUpdate() {
+        if (!writable) return;
+        LONGS.setOpaque(buffer, SEQUENCE_OFFSET, ++sequence);
+        VarHandle.storeStoreFence();
+    }
+
+    public void endUpdate() {
+        if (!writable) return;
+        LONGS.setRelease(buffer, SEQUENCE_OFFSET, ++sequence);
+    }
+
+    /**
+     * Stores a value. Each counter must only be written by one thread.
+     */
+    public void set(PerfCounter counter, long value) {
+        if (!writable) return;
+        LONGS.setOpaque(buffer, offset(counter), value);
+    }
+
+    public void add(PerfCounter counter, long delta) {
+        if (!writable) return;
+        int offset = offset(counter);
+        LONGS.setOpaque(buffer, offset, (long) LONGS.getOpaque(buffer, offset) + delta);
+    }
+
+    public long get(PerfCounter counter) {
+        return buffer == null ? 0 : (long) LONGS.getOpaque(buffer, offset(counter));
+    }
+
+    /**
+     * Copies every counter into {@code values} (indexed by ordinal), retrying while
+     * the simulation thread is mid-update. Returns false if it never got a clean read,
+     * in which case the values are still filled in but may mix two ticks.
+     */
+    public boolean read(long[] values) {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            long before = (long) LONGS.getAcquire(buffer, SEQUENCE_OFFSET);
+            copy(values);
+            VarHandle.loadLoadFence();
+            long after = (long) LONGS.getOpaque(buffer, SEQUENCE_OFFSET);
+            if ((before & 1) == 0 && before == after) return true;
+            Thread.onSpinWait();
+        }
+        copy(values);
+        return false;
+    }
+
+    private void copy(long[] values) {
+        int count = getCounterCount();
+        for (int i = 0; i < count; i++) {
+            values[i] = (long) LONGS.getOpaque(buffer, COUNTERS_OFFSET + 8 * i);
+        }
+    }
+
+    private static int offset(PerfCounter counter) {
+        return COUNTERS_OFFSET + 8 * counter.ordinal();
+    }
+
+    /**
+     * The writer deletes its file; a reader just drops the mapping.
+     */
+    @Override
+    public void close() throws IOException {
+        if (writable) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.perf;
+
+import org.example.GameState;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Command-line reader for {@link PerfCounters} files. Without arguments it lists the
+ * games publishing counters; given a pid or a file it prints one line per interval
+ * until the game exits:
+ * <pre>
+ * java -cp target/classes org.example.perf.PerfCountersReader [pid|file] [--interval=ms] [--count=n]
+ * </pre>
+ */
+public class PerfCountersReader {
+    private static final String HEADER = String.format(Locale.ROOT,
+            "%-8s %7s %8s %8s %7s %6s %6s %6s %6s %8s %5s %5s %-9s %6s %7s",
+            "time", "ticks/s", "tick_us", "max_us", "dropped", "fps",
+            "balls", "bricks", "pwrups", "score", "level", "lives", "state", "gc", "gc_ms");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String target = null;
+        long intervalMillis = 1000;
+        long count = Long.MAX_VALUE;
+        for (String arg : args) {
+            if (arg.startsWith("--interval=")) intervalMillis = Long.parseLong(arg.substring(11));
+            else if (arg.startsWith("--count=")) count = Long.parseLong(arg.substring(8));
+            else if (!arg.startsWith("--")) target = arg;
+            else {
+                System.err.println("Unknown option " + arg + "; usage: [pid|file] [--interval=ms] [--count=n]");
+                System.exit(2);
+            }
+        }
+        if (target == null) {
+            list();
+            return;
+        }
+        Path file = target.chars().allMatch(Character::isDigit)
+                ? PerfCounters.defaultFile(Long.parseLong(target)) : Path.of(target);
+        tail(PerfCounters.open(file), intervalMillis, count);
+    }
+
+    private static void list() throws IOException {
+        Path dir = PerfCounters.defaultDirectory();
+        if (!Files.isDirectory(dir)) {
+            System.out.println("No counter files in " + dir);
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                try {
+                    PerfCounters counters = PerfCounters.open(file);
+                    long pid = counters.getPid();
+                    String status = ProcessHandle.of(pid).isPresent() ? "running" : "stale";
+                    System.out.printf(Locale.ROOT, "%-8d %-8s started %s  %s%n", pid, status,
+                            Instant.ofEpochMilli(counters.getStartTimeMillis()), file);
+                } catch (IOException e) {
+                    System.out.println("?        unreadable  " + file + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void tail(PerfCounters counters, long intervalMillis, long count) throws InterruptedException {
+        long[] previous = new long[PerfCounter.values().length];
+        long[] current = new long[previous.length];
+        counters.read(previous);
+        long previousNanos = System.nanoTime();
+        System.out.println(HEADER);
+
+        for (long line = 0; line < count; line++) {
+            Thread.sleep(intervalMillis);
+            boolean clean = counters.read(current);
+            long now = System.nanoTime();
+            double seconds = (now - previousNanos) / 1e9;
+
+            long ticks = delta(current, previous, PerfCounter.TICKS);
+            long tickNanos = delta(current, previous, PerfCounter.TICK_TIME_TOTAL);
+            int state = (int) value(current, PerfCounter.STATE);
+            System.out.printf(Locale.ROOT, "%-8s %7.1f %8.1f %8.1f %7d %6.1f %6d %6d %6d %8d %5d %5d %-9s %6d %7d%s%n",
+                    LocalTime.now(ZoneId.systemDefault()).withNano(0),
+                    ticks / seconds,
+                    ticks == 0 ? 0.0 : tickNanos / 1e3 / ticks,
+                    value(current, PerfCounter.TICK_TIME_MAX) / 1e3,
+                    delta(current, previous, PerfCounter.DROPPED_TICKS),
+                    delta(current, previous, PerfCounter.FRAMES_RENDERED) / seconds,
+                    value(current, PerfCounter.BALLS),
+                    value(current, PerfCounter.BRICKS),
+                    value(current, PerfCounter.POWER_UPS),
+                    value(current, PerfCounter.SCORE),
+                    value(current, PerfCounter.LEVEL),
+                    value(current, PerfCounter.LIVES),
+                    state >= 0 && state < GameState.values().length ? GameState.values()[state].name() : "?",
+                    delta(current, previous, PerfCounter.GC_COUNT),
+                    delta(current, previous, PerfCounter.GC_TIME_TOTAL),
+                    clean ? "" : "  (torn)");
+
+            long[] swap = previous;
+            previous = current;
+            current = swap;
+            previousNanos = now;
+            if (!Files.exists(counters.getFile()) || ProcessHandle.of(counters.getPid()).isEmpty()) {
+                System.out.println("Game exited");
+                return;
+            }
+        }
+    }
+
+    private static long value(long[] values, PerfCounter counter) {
+        return values[counter.ordinal()];
+    }
+
+    private static long delta(long[] current, long[] previous, PerfCounter counter) {
+        return current[counter.ordinal()] - previous[counter.ordinal()];
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.perf;
+
+/**
+ * Timed parts of a frame. The first four run on the simulation thread once per
+ * tick, the rest on the FX thread once per rendered frame.
+ */
+public enum Phase {
+    INPUT("input"),
+    INTEGRATE("integrate"),
+    COLLIDE("collide"),
+    EFFECTS("effects"),
+    AUDIO_DISPATCH("audio"),
+    RENDER_WORLD("world"),
+    RENDER_HUD("hud");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.perf;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports startup milestones (first frame, audio ready, ...) as time since the JVM
+ * started, so changes to what happens at startup show up as numbers.
+ */
+public final class StartupTimer {
+    private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final Set<String> REACHED = ConcurrentHashMap.newKeySet();
+
+    private StartupTimer() {
+    }
+
+    public static long sinceJvmStartMillis() {
+        return System.currentTimeMillis() - JVM_START_MILLIS;
+    }
+
+    /**
+     * Prints one line for the milestone. Safe to call from any thread.
+     */
+    public static void mark(String milestone) {
+        System.out.println("Startup: " + milestone + " after " + sinceJvmStartMillis() + " ms");
+    }
+
+    /**
+     * Prints the milestone only the first time it is reached, for things that also
+     * happen later in the session. Safe to call from any thread.
+     */
+    public static void markFirst(String milestone) {
+        if (REACHED.add(milestone)) {
+            mark(milestone);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.example.Paddle;
 import org.example.ball.Ball;
+import org.example.render.Sprite;
 
 /**
  * BiggerPaddlePowerUp power-up: increases paddle width by x times for a limited time.
@@ -32,6 +33,11 @@ public class BiggerPaddle extends PowerUp {
         paddle.resetWidth();
     }
 
+    @Override
+    public Sprite getSprite() {
+        return Sprite.POWERUP_BIGGER_PADDLE;
+    }
+
     @Override
     public void draw(GraphicsContext gc) {
         if (collected) return;
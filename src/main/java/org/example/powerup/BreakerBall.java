@@ -4,6 +4,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.canvas.GraphicsContext;
 import org.example.ball.Ball;
 import org.example.Paddle;
+import org.example.render.Sprite;
 
 /**
  * Power-up that allows the ball to destroy all bricks in its path
@@ -39,6 +40,11 @@ public class BreakerBall extends PowerUp {
         active = false;
     }
 
+    @Override
+    public Sprite getSprite() {
+        return Sprite.POWERUP_BREAKER_BALL;
+    }
+
     @Override
     public void draw(GraphicsContext gc) {
         if (collected) return;
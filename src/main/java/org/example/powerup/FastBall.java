@@ -4,6 +4,7 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.example.Paddle;
 import org.example.ball.Ball;
+import org.example.render.Sprite;
 
 /**
  * FastBall power-up: increases ball speed by x times for a limited time.
@@ -32,6 +33,11 @@ public class FastBall extends PowerUp {
         ball.resetSpeed();
     }
 
+    @Override
+    public Sprite getSprite() {
+        return Sprite.POWERUP_FAST_BALL;
+    }
+
     @Override
     public void draw(GraphicsContext gc) {
         if (collected) return;
@@ -5,6 +5,7 @@ import javafx.scene.paint.Color;
 import org.example.GameObject;
 import org.example.Paddle;
 import org.example.ball.Ball;
+import org.example.render.Sprite;
 
 public abstract class PowerUp extends GameObject {
     protected boolean collected = false;
@@ -41,6 +42,10 @@ public abstract class PowerUp extends GameObject {
         return soundEffect;
     }
 
+    public Sprite getSprite() {
+        return Sprite.POWERUP_DEFAULT;
+    }
+
     @Override
     public void draw(GraphicsContext gc) {
         if (collected) return;
@@ -4,6 +4,7 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.example.Paddle;
 import org.example.ball.Ball;
+import org.example.render.Sprite;
 
 import java.util.List;
 import java.util.Random;
@@ -58,6 +59,11 @@ public class TripleBallPowerUp extends PowerUp {
     @Override
     public void reset(Ball ball, Paddle paddle) {}
 
+    @Override
+    public Sprite getSprite() {
+        return Sprite.POWERUP_TRIPLE_BALL;
+    }
+
     @Override
     public void draw(GraphicsContext gc) {
         if (collected) return;
@@ -0,0 +1,102 @@
+package org.example.render;
+
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import org.example.FrameSnapshot;
+import org.example.brick.GridLayout;
+
+/**
+ * Retained layer for the brick field: a canvas of its own that sits in the scene
+ * under the main game canvas.
+ * Bricks are stamped from the sprite atlas into it once, and after that only cells
+ * whose sprite changed between frames (hit, destroyed, recoloured) are redrawn. The
+ * canvas keeps its texture between pulses, so an unchanged field costs nothing and a
+ * hit costs a few draw calls; nothing is read back. The layer covers the whole
+ * layout and is moved down by the frame's brick scroll, so a scrolling level costs
+ * no redraw until rows are dropped or read in. It is only reallocated when the
+ * layout needs more room.
+ */
+public class BrickLayer {
+    // Bricks sit at fractional positions and filtering bleeds one pixel out, so dirty rects are padded (logical units)
+    private static final double DIRTY_PADDING = 1;
+
+    private final int width;
+    private final int height;
+    private final double scale;
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext layerGc = canvas.getGraphicsContext2D();
+    // Logical y of the layer's first row, and how many logical rows it holds
+    private double layerTop;
+    private double layerHeight;
+    private final SpriteAtlas atlas;
+    private final SpriteBatch batch;
+    private final BrickTracker tracker = new BrickTracker();
+
+    public BrickLayer(int width, int height, double scale, SpriteAtlas atlas) {
+        this.width = width;
+        this.height = height;
+        this.scale = scale;
+        this.atlas = atlas;
+        this.batch = new SpriteBatch(atlas);
+        allocate(0, height);
+    }
+
+    /**
+     * The layer's node, in pixels of the render scale like the game canvas it goes under.
+     */
+    public Node getNode() {
+        return canvas;
+    }
+
+    private void allocate(double top, double logicalHeight) {
+        layerTop = top;
+        layerHeight = logicalHeight;
+        canvas.setWidth(Math.round(width * scale));
+        canvas.setHeight(Math.round(logicalHeight * scale));
+        layerGc.setTransform(scale, 0, 0, scale, 0, -top * scale);
+    }
+
+    /**
+     * Brings the layer up to date with the frame and moves it to the frame's scroll.
+     */
+    public void update(FrameSnapshot frame) {
+        if (tracker.sync(frame.brickLayout, frame.brickSprites)) {
+            redrawAll();
+        } else if (tracker.dirtyCount() > 0) {
+            redrawDirty();
+        }
+        canvas.setTranslateY((layerTop + frame.brickScrollY) * scale);
+    }
+
+    private void redrawAll() {
+        GridLayout layout = tracker.layout();
+        allocate(tracker.layerTop(), tracker.layerHeight(height));
+        atlas.setBrickSize(layout.getCellWidth(), layout.getCellHeight());
+        layerGc.clearRect(0, layerTop, width, layerHeight);
+        for (int cell = 0; cell < layout.getCellCount(); cell++) {
+            int sprite = tracker.drawnSprite(cell);
+            if (sprite != FrameSnapshot.NO_SPRITE) {
+                batch.add(Sprite.byOrdinal(sprite), layout.cellXOf(cell), layout.cellYOf(cell),
+                        layout.getCellWidth(), layout.getCellHeight());
+            }
+        }
+        batch.flush(layerGc);
+    }
+
+    private void redrawDirty() {
+        GridLayout layout = tracker.layout();
+        double w = layout.getCellWidth();
+        double h = layout.getCellHeight();
+        for (int i = 0; i < tracker.dirtyCount(); i++) {
+            int cell = tracker.dirtyCell(i);
+            double x = layout.cellXOf(cell);
+            double y = layout.cellYOf(cell);
+            layerGc.clearRect(x - DIRTY_PADDING, y - DIRTY_PADDING, w + 2 * DIRTY_PADDING, h + 2 * DIRTY_PADDING);
+            int sprite = tracker.drawnSprite(cell);
+            if (sprite != FrameSnapshot.NO_SPRITE) {
+                atlas.draw(layerGc, Sprite.byOrdinal(sprite), x, y, w, h);
+            }
+        }
+    }
+}
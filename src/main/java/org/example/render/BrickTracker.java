@@ -0,0 +1,71 @@
+package org.example.render;
+
+import org.example.brick.GridLayout;
+
+import java.util.Arrays;
+
+/**
+ * Remembers which sprite a renderer last drew in each brick cell, so it can
+ * redraw only the cells whose sprite changed in a new frame.
+ */
+class BrickTracker {
+    private GridLayout layout;
+    private int[] drawn = new int[0];
+    private int[] dirty = new int[0];
+    private int dirtyCount;
+
+    /**
+     * Compares the frame's cells with what was drawn last.
+     * Returns true if the layout itself changed and everything must be redrawn;
+     * otherwise the changed cells are available through {@link #dirtyCount()} and {@link #dirtyCell(int)}.
+     * Either way the new state is recorded as drawn.
+     */
+    boolean sync(GridLayout frameLayout, int[] sprites) {
+        if (frameLayout != layout || drawn.length != sprites.length) {
+            layout = frameLayout;
+            drawn = Arrays.copyOf(sprites, sprites.length);
+            dirty = new int[sprites.length];
+            dirtyCount = 0;
+            return true;
+        }
+        dirtyCount = 0;
+        for (int i = 0; i < sprites.length; i++) {
+            if (drawn[i] != sprites[i]) {
+                drawn[i] = sprites[i];
+                dirty[dirtyCount++] = i;
+            }
+        }
+        return false;
+    }
+
+    GridLayout layout() {
+        return layout;
+    }
+
+    /**
+     * Top of the area a cached layer must cover: the view's top, or the layout's
+     * if it starts above the view, as a scrolling level's does.
+     */
+    double layerTop() {
+        return Math.min(0, layout.getStartY());
+    }
+
+    /**
+     * Height of that area: the view, or the whole layout if it is taller.
+     */
+    double layerHeight(double viewHeight) {
+        return Math.max(viewHeight, layout.cellY(layout.getRows()) - layerTop());
+    }
+
+    int drawnSprite(int cell) {
+        return drawn[cell];
+    }
+
+    int dirtyCount() {
+        return dirtyCount;
+    }
+
+    int dirtyCell(int i) {
+        return dirty[i];
+    }
+}
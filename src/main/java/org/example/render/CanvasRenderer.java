@@ -0,0 +1,111 @@
+package org.example.render;
+
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import org.example.FrameSnapshot;
+import org.example.Paddle;
+import org.example.effects.ParticleSystem;
+import org.example.perf.FrameProfiler;
+import org.example.perf.Phase;
+
+/**
+ * Default backend: draws through a JavaFX Canvas.
+ * The canvas is sized to the logical playfield times the render scale and
+ * everything is drawn in logical units through a scale transform. The bricks
+ * are a retained {@link BrickLayer} canvas underneath it, over a black background,
+ * and the game canvas is cleared to transparent each frame.
+ */
+public class CanvasRenderer implements GameRenderer {
+    private final int width;
+    private final int height;
+    private final Image heartImage;
+    private final Image heartEmptyImage;
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final Pane root;
+    // A scrolling level's brick layer reaches above the playfield
+    private final Rectangle clip = new Rectangle();
+
+    private double scale;
+    private BrickLayer brickLayer;
+    private HudLayer hudLayer;
+    private SpriteBatch spriteBatch;
+    private ParticleLayer particleLayer;
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+
+    public CanvasRenderer(int width, int height, double scale, Image heartImage, Image heartEmptyImage) {
+        this.width = width;
+        this.height = height;
+        this.heartImage = heartImage;
+        this.heartEmptyImage = heartEmptyImage;
+        canvas = new Canvas();
+        gc = canvas.getGraphicsContext2D();
+        root = new Pane();
+        root.setStyle("-fx-background-color: black;");
+        root.setClip(clip);
+        setRenderScale(scale);
+    }
+
+    @Override
+    public Node getNode() {
+        return root;
+    }
+
+    @Override
+    public void setRenderScale(double scale) {
+        this.scale = scale;
+        canvas.setWidth(Math.round(width * scale));
+        canvas.setHeight(Math.round(height * scale));
+        clip.setWidth(canvas.getWidth());
+        clip.setHeight(canvas.getHeight());
+        SpriteAtlas spriteAtlas = new SpriteAtlas(scale);
+        spriteBatch = new SpriteBatch(spriteAtlas);
+        brickLayer = new BrickLayer(width, height, scale, spriteAtlas);
+        hudLayer = new HudLayer(width, height, scale, heartImage, heartEmptyImage);
+        particleLayer = new ParticleLayer(width, height, scale);
+        root.getChildren().setAll(brickLayer.getNode(), canvas);
+    }
+
+    @Override
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void render(FrameSnapshot frame, ParticleSystem particles) {
+        long phaseStart = profiler.now();
+        // Map logical units to canvas pixels
+        gc.setTransform(scale, 0, 0, scale, 0, 0);
+        gc.clearRect(0, 0, width, height);
+
+        // Draw game objects; the bricks are their own layer underneath
+        brickLayer.update(frame);
+        gc.setFill(Paddle.COLOR);
+        gc.fillRect(frame.paddleX, frame.paddleY, frame.paddleWidth, frame.paddleHeight);
+        for (int i = 0; i < frame.ballCount; i++) {
+            spriteBatch.add(Sprite.byOrdinal(frame.ballSprite[i]), frame.ballX[i], frame.ballY[i],
+                    frame.ballSize[i], frame.ballSize[i]);
+        }
+        for (int i = 0; i < frame.powerUpCount; i++) {
+            spriteBatch.add(Sprite.byOrdinal(frame.powerUpSprite[i]), frame.powerUpX[i], frame.powerUpY[i],
+                    frame.powerUpSize[i], frame.powerUpSize[i]);
+        }
+        spriteBatch.flush(gc);
+        particleLayer.draw(gc, particles);
+        phaseStart = profiler.lap(Phase.RENDER_WORLD, phaseStart);
+
+        // Display score, lives and any state overlay
+        hudLayer.update(frame);
+        hudLayer.draw(gc);
+        profiler.lap(Phase.RENDER_HUD, phaseStart);
+    }
+
+    @Override
+    public void renderPauseOverlay() {
+        PauseOverlay.draw(gc, width, height, scale);
+    }
+}
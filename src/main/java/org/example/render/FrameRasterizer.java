@@ -0,0 +1,133 @@
+package org.example.render;
+
+import javafx.scene.paint.Color;
+import org.example.FrameSnapshot;
+import org.example.Paddle;
+import org.example.brick.GridLayout;
+import org.example.effects.ParticleSystem;
+
+/**
+ * Rasterises the playfield of a {@link FrameSnapshot} into an int[] of premultiplied ARGB.
+ * Bricks and the background live in a cached backdrop that is copied in each
+ * frame, moved down by the brick scroll, and patched only where a brick cell
+ * changed; it covers the whole brick layout, which on a scrolling level is taller
+ * than the screen. The paddle is a scanline
+ * fill, balls / power-ups are stamped sprites and particles are plotted directly.
+ * Needs no FX toolkit, so it also serves headless benchmarks.
+ * Logical coordinates are multiplied by the render scale to get pixels.
+ */
+public class FrameRasterizer {
+    private static final int BACKGROUND = PixelRasterizer.argb(Color.BLACK);
+    private static final int PADDLE = PixelRasterizer.argb(Paddle.COLOR);
+
+    private final double scale;
+    private final int pixelWidth;
+    private final int pixelHeight;
+    private final PixelRasterizer frame;
+    private PixelRasterizer backdrop;
+    // Logical y of the backdrop's first row, and its height in pixels
+    private double backdropTop;
+    private int backdropRows;
+    private final int[] brickFill = new int[Sprite.count()];
+    private final int[] brickStroke = new int[Sprite.count()];
+    private final SpriteStamp[] stamps = new SpriteStamp[Sprite.count()];
+    private final BrickTracker brickTracker = new BrickTracker();
+
+    public FrameRasterizer(int width, int height, double scale) {
+        this.scale = scale;
+        pixelWidth = (int) Math.round(width * scale);
+        pixelHeight = (int) Math.round(height * scale);
+        frame = new PixelRasterizer(new int[pixelWidth * pixelHeight], pixelWidth, pixelHeight);
+        backdrop = new PixelRasterizer(new int[pixelWidth * pixelHeight], pixelWidth, pixelHeight);
+        backdropRows = pixelHeight;
+
+        for (Sprite s : Sprite.values()) {
+            if (s.isBrick()) {
+                brickFill[s.ordinal()] = PixelRasterizer.argb(s.getFill());
+                brickStroke[s.ordinal()] = PixelRasterizer.argb(s.getStroke());
+            }
+        }
+    }
+
+    /**
+     * The frame pixels, pixelWidth x pixelHeight, row-major.
+     */
+    public int[] getPixels() {
+        return frame.getPixels();
+    }
+
+    public int getPixelWidth() {
+        return pixelWidth;
+    }
+
+    public int getPixelHeight() {
+        return pixelHeight;
+    }
+
+    public void rasterize(FrameSnapshot snapshot, ParticleSystem particles) {
+        updateBackdrop(snapshot);
+        if (backdropTop == 0 && snapshot.brickScrollY == 0 && backdropRows == pixelHeight) {
+            frame.copyFrom(backdrop.getPixels());
+        } else {
+            int offset = (int) Math.round((backdropTop + snapshot.brickScrollY) * scale);
+            frame.copyFrom(backdrop.getPixels(), backdropRows, offset, BACKGROUND);
+        }
+
+        frame.fillRect(snapshot.paddleX * scale, snapshot.paddleY * scale,
+                snapshot.paddleWidth * scale, snapshot.paddleHeight * scale, PADDLE);
+        for (int i = 0; i < snapshot.powerUpCount; i++) {
+            frame.stamp(stampFor(snapshot.powerUpSprite[i], snapshot.powerUpSize[i]),
+                    snapshot.powerUpX[i] * scale, snapshot.powerUpY[i] * scale);
+        }
+        for (int i = 0; i < snapshot.ballCount; i++) {
+            frame.stamp(stampFor(snapshot.ballSprite[i], snapshot.ballSize[i]),
+                    snapshot.ballX[i] * scale, snapshot.ballY[i] * scale);
+        }
+        particles.draw(frame, scale);
+    }
+
+    private void updateBackdrop(FrameSnapshot snapshot) {
+        if (brickTracker.sync(snapshot.brickLayout, snapshot.brickSprites)) {
+            backdropTop = brickTracker.layerTop();
+            int rows = (int) Math.round(brickTracker.layerHeight(pixelHeight / scale) * scale);
+            if (rows != backdropRows) {
+                backdrop = new PixelRasterizer(new int[pixelWidth * rows], pixelWidth, rows);
+                backdropRows = rows;
+            }
+            backdrop.clear(BACKGROUND);
+            for (int cell = 0; cell < brickTracker.layout().getCellCount(); cell++) {
+                drawBrickCell(cell);
+            }
+        } else {
+            for (int i = 0; i < brickTracker.dirtyCount(); i++) {
+                drawBrickCell(brickTracker.dirtyCell(i));
+            }
+        }
+    }
+
+    private void drawBrickCell(int cell) {
+        GridLayout layout = brickTracker.layout();
+        double x = layout.cellXOf(cell) * scale;
+        double y = (layout.cellYOf(cell) - backdropTop) * scale;
+        double w = layout.getCellWidth() * scale;
+        double h = layout.getCellHeight() * scale;
+        int sprite = brickTracker.drawnSprite(cell);
+        if (sprite == FrameSnapshot.NO_SPRITE) {
+            backdrop.fillRect(x, y, w, h, BACKGROUND);
+            return;
+        }
+        backdrop.fillRect(x, y, w, h, brickFill[sprite]);
+        backdrop.strokeRect(x, y, w, h, brickStroke[sprite]);
+    }
+
+    private SpriteStamp stampFor(int spriteOrdinal, double size) {
+        int pixels = Math.max(1, (int) Math.round(size * scale));
+        SpriteStamp stamp = stamps[spriteOrdinal];
+        if (stamp == null || stamp.getWidth() != pixels) {
+            Sprite sprite = Sprite.byOrdinal(spriteOrdinal);
+            stamp = SpriteStamp.oval(pixels, sprite.getFill(), sprite.getStroke());
+            stamps[spriteOrdinal] = stamp;
+        }
+        return stamp;
+    }
+}
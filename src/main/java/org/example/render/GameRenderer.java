@@ -0,0 +1,52 @@
+package org.example.render;
+
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import org.example.FrameSnapshot;
+import org.example.effects.ParticleSystem;
+import org.example.perf.FrameProfiler;
+
+/**
+ * A way of getting a frame of the game onto the screen.
+ * Renderers run on the FX thread and only ever read {@link FrameSnapshot}s.
+ * Frames are in logical units; the renderer's node is the logical size times
+ * the render scale in pixels and is scaled to the window by the caller.
+ */
+public interface GameRenderer {
+
+    /**
+     * The scene graph node that shows the rendered frames.
+     */
+    Node getNode();
+
+    /**
+     * Sets how many pixels one logical unit covers and rebuilds any cached layers.
+     */
+    void setRenderScale(double scale);
+
+    /**
+     * Times the world and HUD parts of {@link #render} separately.
+     */
+    void setProfiler(FrameProfiler profiler);
+
+    /**
+     * Renders one full frame, with the particles on top of the playfield.
+     */
+    void render(FrameSnapshot frame, ParticleSystem particles);
+
+    /**
+     * Draws the pause overlay on top of the last rendered frame.
+     */
+    void renderPauseOverlay();
+
+    /**
+     * Creates the renderer for the given backend.
+     */
+    static GameRenderer create(RendererType type, int width, int height, double scale,
+                               Image heartImage, Image heartEmptyImage) {
+        if (type == RendererType.SOFTWARE) {
+            return new SoftwareRenderer(width, height, scale, heartImage, heartEmptyImage);
+        }
+        return new CanvasRenderer(width, height, scale, heartImage, heartEmptyImage);
+    }
+}
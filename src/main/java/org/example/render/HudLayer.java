@@ -0,0 +1,153 @@
+package org.example.render;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import org.example.FrameSnapshot;
+import org.example.GameState;
+import org.example.ScoreManager;
+
+/**
+ * Cached HUD: score, lives, high score and the game over / win / level cleared overlays.
+ * The HUD is rendered into an offscreen canvas only when one of its inputs changes
+ * and composited with a single drawImage every frame. Layout is in logical units;
+ * the layer's pixels are the logical size times the render scale.
+ */
+public class HudLayer {
+    private static final Font HUD_FONT = Font.font("Consolas", 16);
+    private static final Font TITLE_FONT = Font.font("Consolas", 28);
+
+    private static final int DIGITS = 6;
+    // Enough for any int, so scores past 999999 keep all their digits
+    private static final int MAX_DIGITS = 10;
+    private static final String SCORE_PREFIX = "Score: ";
+    private static final String HIGH_SCORE_PREFIX = "High Score: ";
+    private static final String FINAL_SCORE_PREFIX = "Final Score: ";
+
+    private final int width;
+    private final int height;
+    private final Canvas canvas;
+    private final GraphicsContext layerGc;
+    private final WritableImage image;
+    private final SnapshotParameters snapshotParameters;
+    private final Image heartImage;
+    private final Image heartEmptyImage;
+
+    // Reusable digit buffers; strings are only built when the numbers change
+    private final char[] scoreDigits = new char[MAX_DIGITS];
+    private final char[] highScoreDigits = new char[MAX_DIGITS];
+
+    private int shownScore = -1;
+    private int shownHighScore = -1;
+    private int shownLives = -1;
+    private int shownLevel = -1;
+    private GameState shownState;
+
+    public HudLayer(int width, int height, double scale, Image heartImage, Image heartEmptyImage) {
+        this.width = width;
+        this.height = height;
+        this.heartImage = heartImage;
+        this.heartEmptyImage = heartEmptyImage;
+        int pixelWidth = (int) Math.round(width * scale);
+        int pixelHeight = (int) Math.round(height * scale);
+        canvas = new Canvas(pixelWidth, pixelHeight);
+        layerGc = canvas.getGraphicsContext2D();
+        layerGc.setTransform(scale, 0, 0, scale, 0, 0);
+        image = new WritableImage(pixelWidth, pixelHeight);
+        snapshotParameters = new SnapshotParameters();
+        snapshotParameters.setFill(Color.TRANSPARENT);
+    }
+
+    /**
+     * Re-renders the HUD if score, lives, state or level changed since the last call.
+     * Returns true if it did.
+     */
+    public boolean update(FrameSnapshot frame) {
+        int score = frame.score;
+        int highScore = frame.highScore;
+        int lives = frame.lives;
+        GameState state = frame.state;
+        int level = frame.level;
+        if (score == shownScore && highScore == shownHighScore && lives == shownLives
+                && state == shownState && level == shownLevel) {
+            return false;
+        }
+        shownScore = score;
+        shownHighScore = highScore;
+        shownLives = lives;
+        shownState = state;
+        shownLevel = level;
+
+        int scoreWidth = ScoreManager.digitCount(score, DIGITS);
+        int highScoreWidth = ScoreManager.digitCount(highScore, DIGITS);
+        ScoreManager.writeDigits(score, scoreDigits, 0, scoreWidth);
+        ScoreManager.writeDigits(highScore, highScoreDigits, 0, highScoreWidth);
+        String scoreText = new String(scoreDigits, 0, scoreWidth);
+        String highScoreText = new String(highScoreDigits, 0, highScoreWidth);
+
+        layerGc.clearRect(0, 0, width, height);
+        drawTopBar(lives, scoreText, highScoreText);
+        drawStateOverlay(state, level, scoreText, highScoreText);
+        canvas.snapshot(snapshotParameters, image);
+        return true;
+    }
+
+    /**
+     * Composites the cached HUD onto the given context, whose transform maps logical units.
+     */
+    public void draw(GraphicsContext gc) {
+        gc.drawImage(image, 0, 0, width, height);
+    }
+
+    private void drawTopBar(int lives, String scoreText, String highScoreText) {
+        layerGc.setFill(Color.WHITE);
+        layerGc.setFont(HUD_FONT);
+        layerGc.setTextAlign(TextAlignment.LEFT);
+        layerGc.setTextBaseline(VPos.TOP);
+
+        layerGc.fillText(SCORE_PREFIX + scoreText, 30, 10);
+        ScoreManager.drawLives(layerGc, lives, heartImage, heartEmptyImage, width / 2 - 50, 8);
+        layerGc.fillText(HIGH_SCORE_PREFIX + highScoreText, width - 180, 10);
+    }
+
+    private void drawStateOverlay(GameState state, int level, String scoreText, String highScoreText) {
+        if (state == GameState.PLAYING) return;
+
+        layerGc.setFill(Color.WHITE);
+        layerGc.setTextAlign(TextAlignment.CENTER);
+        layerGc.setTextBaseline(VPos.CENTER);
+
+        double cx = width / 2.0;
+        double cy = height / 2.0;
+        if (state == GameState.GAME_OVER) {
+            layerGc.setFont(TITLE_FONT);
+            layerGc.fillText("GAME OVER", cx, cy - 20);
+
+            layerGc.setFont(HUD_FONT);
+            layerGc.fillText(FINAL_SCORE_PREFIX + scoreText, cx, cy + 10);
+            layerGc.fillText(HIGH_SCORE_PREFIX + highScoreText, cx, cy + 30);
+            layerGc.fillText("Press R to Restart", cx, cy + 60);
+            layerGc.fillText("Press ESC to Return to Main Menu", cx, cy + 85);
+        } else if (state == GameState.GAME_WON) {
+            layerGc.setFont(TITLE_FONT);
+            layerGc.fillText("YOU WIN!", cx, cy - 20);
+
+            layerGc.setFont(HUD_FONT);
+            layerGc.fillText(FINAL_SCORE_PREFIX + scoreText, cx, cy + 10);
+            layerGc.fillText(HIGH_SCORE_PREFIX + highScoreText, cx, cy + 30);
+            layerGc.fillText("Press ESC to Return to Main Menu", cx, cy + 60);
+        } else if (state == GameState.LEVEL_TRANSITION) {
+            layerGc.setFont(TITLE_FONT);
+            layerGc.fillText("LEVEL " + level + " CLEARED", cx, cy - 20);
+
+            layerGc.setFont(HUD_FONT);
+            layerGc.fillText("Press any key to continue", cx, cy + 20);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.render;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.example.effects.ParticleSystem;
+
+import java.nio.IntBuffer;
+
+/**
+ * Canvas-backend layer for particles. Tens of thousands of particles would be
+ * tens of thousands of GraphicsContext calls, so they are plotted into a
+ * transparent PixelBuffer instead and composited with a single drawImage.
+ * Only the area particles covered last frame is cleared.
+ */
+public class ParticleLayer {
+    private final int width;
+    private final int height;
+    private final double scale;
+    private final PixelRasterizer raster;
+    private final PixelBuffer<IntBuffer> pixelBuffer;
+    private final WritableImage image;
+    private boolean hadParticles;
+
+    public ParticleLayer(int width, int height, double scale) {
+        this.width = width;
+        this.height = height;
+        this.scale = scale;
+        int pixelWidth = (int) Math.round(width * scale);
+        int pixelHeight = (int) Math.round(height * scale);
+        int[] pixels = new int[pixelWidth * pixelHeight];
+        raster = new PixelRasterizer(pixels, pixelWidth, pixelHeight);
+        pixelBuffer = new PixelBuffer<>(pixelWidth, pixelHeight, IntBuffer.wrap(pixels),
+                PixelFormat.getIntArgbPreInstance());
+        image = new WritableImage(pixelBuffer);
+    }
+
+    /**
+     * Replots the particles and composites them onto the given context, whose transform maps logical units.
+     */
+    public void draw(GraphicsContext gc, ParticleSystem particles) {
+        if (particles.getCount() == 0 && !hadParticles) return;
+        hadParticles = particles.getCount() > 0;
+        raster.clearBlended(0);
+        particles.draw(raster, scale);
+        pixelBuffer.updateBuffer(b -> null);
+        gc.drawImage(image, 0, 0, width, height);
+    }
+}
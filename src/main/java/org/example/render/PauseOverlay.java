@@ -0,0 +1,36 @@
+package org.example.render;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Draws the overlay shown when the game is paused.
+ */
+public class PauseOverlay {
+    private static final Font TITLE_FONT = Font.font("Arial", FontWeight.BOLD, 32);
+    private static final Font TEXT_FONT = Font.font("Arial", 18);
+
+    /**
+     * Draws the overlay over a width x height logical area rendered at the given scale.
+     */
+    public static void draw(GraphicsContext gc, double width, double height, double scale) {
+        gc.setTransform(scale, 0, 0, scale, 0, 0);
+
+        gc.setFill(Color.rgb(0, 0, 0, 0.5));
+        gc.fillRect(0, 0, width, height);
+
+        gc.setFill(Color.WHITE);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setFont(TITLE_FONT);
+        gc.fillText("PAUSED", width / 2, height / 2 - 20);
+
+        gc.setFont(TEXT_FONT);
+        gc.fillText("Press P to Resume", width / 2, height / 2 + 20);
+        gc.fillText("Press ESC to Return to Main Menu", width / 2, height / 2 + 50);
+    }
+}
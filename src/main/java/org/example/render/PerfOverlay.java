@@ -0,0 +1,106 @@
+package org.example.render;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import org.example.FrameSnapshot;
+import org.example.perf.FrameProfiler;
+import org.example.perf.GcMonitor;
+import org.example.perf.Histogram;
+import org.example.perf.Phase;
+
+import java.util.Locale;
+
+/**
+ * Live performance readout: p50 / p99 / max per frame phase, entity counts,
+ * collision tests per tick and GC activity. It is its own canvas in window
+ * coordinates above the game view, and repaints a few times a second at most,
+ * so leaving it on barely shows up in the numbers it reports.
+ */
+public class PerfOverlay {
+    private static final Font FONT = Font.font("Consolas", 12);
+    private static final long REFRESH_NANOS = 250_000_000L;
+    private static final double LINE_HEIGHT = 15;
+    private static final double PADDING = 6;
+    private static final int LINES = Phase.values().length + 6;
+
+    private final FrameProfiler profiler;
+    private final GcMonitor gcMonitor = new GcMonitor();
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private long lastRefresh;
+
+    public PerfOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+        canvas = new Canvas(330, LINES * LINE_HEIGHT + 2 * PADDING);
+        canvas.setMouseTransparent(true);
+        canvas.setVisible(false);
+        gc = canvas.getGraphicsContext2D();
+    }
+
+    public Canvas getNode() {
+        return canvas;
+    }
+
+    public boolean isVisible() {
+        return canvas.isVisible();
+    }
+
+    public void toggle() {
+        canvas.setVisible(!canvas.isVisible());
+        lastRefresh = 0;
+    }
+
+    /**
+     * Repaints the readout if it is visible and the last repaint is old enough.
+     * GC figures are since the previous repaint and in total.
+     */
+    public void refresh(long now, FrameSnapshot frame, int particleCount) {
+        if (!canvas.isVisible() || now - lastRefresh < REFRESH_NANOS) return;
+        lastRefresh = now;
+        gcMonitor.sample();
+
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        gc.setFill(Color.rgb(0, 0, 0, 0.7));
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        gc.setFill(Color.LIGHTGREEN);
+        gc.setFont(FONT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.TOP);
+
+        double y = PADDING;
+        gc.fillText(String.format(Locale.ROOT, "%-10s %8s %8s %8s", "phase(us)", "p50", "p99", "max"), PADDING, y);
+        for (Phase phase : Phase.values()) {
+            Histogram h = profiler.getPhase(phase);
+            y += LINE_HEIGHT;
+            gc.fillText(String.format(Locale.ROOT, "%-10s %8.1f %8.1f %8.1f", phase.getLabel(),
+                    h.percentile(0.5) / 1000.0, h.percentile(0.99) / 1000.0, h.getMax() / 1000.0), PADDING, y);
+        }
+
+        Histogram tests = profiler.getCollisionTests();
+        y += LINE_HEIGHT;
+        gc.fillText(String.format(Locale.ROOT, "%-10s %8d %8d %8d", "tests/tick",
+                tests.percentile(0.5), tests.percentile(0.99), tests.getMax()), PADDING, y);
+        y += LINE_HEIGHT * 1.5;
+        gc.fillText(String.format(Locale.ROOT, "balls %d  power-ups %d  bricks %d  particles %d",
+                frame.ballCount, frame.powerUpCount, countBricks(frame), particleCount), PADDING, y);
+        y += LINE_HEIGHT;
+        gc.fillText(String.format(Locale.ROOT, "gc %d (%d ms) since last, %d (%d ms) total",
+                gcMonitor.getRecentCount(), gcMonitor.getRecentTimeMillis(),
+                gcMonitor.getTotalCount(), gcMonitor.getTotalTimeMillis()), PADDING, y);
+        y += LINE_HEIGHT;
+        gc.fillText("F3 hide  F4 export  F5 reset", PADDING, y);
+    }
+
+    private static int countBricks(FrameSnapshot frame) {
+        if (frame.brickLayout == null) return 0;
+        int count = 0;
+        for (int cell = 0; cell < frame.brickLayout.getCellCount(); cell++) {
+            if (frame.brickSprites[cell] != FrameSnapshot.NO_SPRITE) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.render;
+
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * Minimal software rasteriser over an int[] of premultiplied ARGB pixels.
+ * Rectangles are filled scanline by scanline; sprites are stamped with
+ * source-over blending. All coordinates are clipped to the target.
+ */
+public class PixelRasterizer {
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+
+    // Area touched by blendRect since the last clearBlended, for cheap partial clears
+    private int blendedMinX, blendedMinY, blendedMaxX, blendedMaxY;
+
+    public PixelRasterizer(int[] pixels, int width, int height) {
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        resetBlendedArea();
+    }
+
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public void clear(int argb) {
+        Arrays.fill(pixels, argb);
+    }
+
+    /**
+     * Copies a whole frame of the same size into this target.
+     */
+    public void copyFrom(int[] source) {
+        System.arraycopy(source, 0, pixels, 0, pixels.length);
+    }
+
+    /**
+     * Copies rows of the same width into this target, source row 0 landing on row
+     * {@code offsetRows}. Rows the source doesn't cover are filled with {@code fill}.
+     */
+    public void copyFrom(int[] source, int sourceRows, int offsetRows, int fill) {
+        int first = Math.max(0, offsetRows);
+        int last = Math.min(height, offsetRows + sourceRows);
+        if (last <= first) {
+            Arrays.fill(pixels, fill);
+            return;
+        }
+        Arrays.fill(pixels, 0, first * width, fill);
+        System.arraycopy(source, (first - offsetRows) * width, pixels, first * width, (last - first) * width);
+        Arrays.fill(pixels, last * width, pixels.length, fill);
+    }
+
+    /**
+     * Fills a rectangle with an opaque colour.
+     */
+    public void fillRect(double x, double y, double w, double h, int argb) {
+        int x0 = Math.max(0, (int) Math.round(x));
+        int y0 = Math.max(0, (int) Math.round(y));
+        int x1 = Math.min(width, (int) Math.round(x + w));
+        int y1 = Math.min(height, (int) Math.round(y + h));
+        if (x0 >= x1) return;
+        for (int row = y0; row < y1; row++) {
+            int offset = row * width;
+            Arrays.fill(pixels, offset + x0, offset + x1, argb);
+        }
+    }
+
+    /**
+     * Draws a one pixel outline just inside the rectangle.
+     */
+    public void strokeRect(double x, double y, double w, double h, int argb) {
+        int x0 = (int) Math.round(x);
+        int y0 = (int) Math.round(y);
+        int x1 = (int) Math.round(x + w);
+        int y1 = (int) Math.round(y + h);
+        fillRect(x0, y0, x1 - x0, 1, argb);
+        fillRect(x0, y1 - 1, x1 - x0, 1, argb);
+        fillRect(x0, y0, 1, y1 - y0, argb);
+        fillRect(x1 - 1, y0, 1, y1 - y0, argb);
+    }
+
+    /**
+     * Blends a premultiplied colour over a rectangle and records the area as touched.
+     */
+    public void blendRect(double x, double y, double w, double h, int argb) {
+        int x0 = Math.max(0, (int) x);
+        int y0 = Math.max(0, (int) y);
+        int x1 = Math.min(width, (int) Math.ceil(x + w));
+        int y1 = Math.min(height, (int) Math.ceil(y + h));
+        if (x0 >= x1 || y0 >= y1) return;
+
+        if (x0 < blendedMinX) blendedMinX = x0;
+        if (y0 < blendedMinY) blendedMinY = y0;
+        if (x1 > blendedMaxX) blendedMaxX = x1;
+        if (y1 > blendedMaxY) blendedMaxY = y1;
+
+        int alpha = argb >>> 24;
+        if (alpha == 0) return;
+        for (int row = y0; row < y1; row++) {
+            int offset = row * width;
+            if (alpha == 255) {
+                Arrays.fill(pixels, offset + x0, offset + x1, argb);
+            } else {
+                for (int d = offset + x0; d < offset + x1; d++) {
+                    pixels[d] = blend(argb, pixels[d], alpha);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills everything touched by blendRect since the last call with a colour.
+     */
+    public void clearBlended(int argb) {
+        if (blendedMinX < blendedMaxX) {
+            for (int row = blendedMinY; row < blendedMaxY; row++) {
+                int offset = row * width;
+                Arrays.fill(pixels, offset + blendedMinX, offset + blendedMaxX, argb);
+            }
+        }
+        resetBlendedArea();
+    }
+
+    private void resetBlendedArea() {
+        blendedMinX = width;
+        blendedMinY = height;
+        blendedMaxX = 0;
+        blendedMaxY = 0;
+    }
+
+    /**
+     * Blends a stamp onto the target with its top-left corner at (x, y).
+     */
+    public void stamp(SpriteStamp stamp, double x, double y) {
+        int dx = (int) Math.round(x);
+        int dy = (int) Math.round(y);
+        int sx0 = Math.max(0, -dx);
+        int sy0 = Math.max(0, -dy);
+        int sx1 = Math.min(stamp.width, width - dx);
+        int sy1 = Math.min(stamp.height, height - dy);
+        int[] src = stamp.pixels;
+
+        for (int sy = sy0; sy < sy1; sy++) {
+            int srcRow = sy * stamp.width;
+            int dstRow = (sy + dy) * width + dx;
+            for (int sx = sx0; sx < sx1; sx++) {
+                int s = src[srcRow + sx];
+                int alpha = s >>> 24;
+                if (alpha == 0) continue;
+                int d = dstRow + sx;
+                pixels[d] = alpha == 255 ? s : blend(s, pixels[d], alpha);
+            }
+        }
+    }
+
+    // Premultiplied source-over: dst = src + dst * (1 - srcAlpha), two channels per multiply
+    private static int blend(int src, int dst, int srcAlpha) {
+        int inv = 255 - srcAlpha;
+        int rb = (((dst & 0x00FF00FF) * inv) >>> 8) & 0x00FF00FF;
+        int ag = (((dst >>> 8) & 0x00FF00FF) * inv) & 0xFF00FF00;
+        return src + (ag | rb);
+    }
+
+    /**
+     * Converts a colour to premultiplied ARGB.
+     */
+    public static int argb(Color color) {
+        return argb(color, 1.0);
+    }
+
+    /**
+     * Converts a colour to premultiplied ARGB, scaling its opacity by coverage.
+     */
+    public static int argb(Color color, double coverage) {
+        double a = color.getOpacity() * coverage;
+        int ai = (int) Math.round(a * 255);
+        int r = (int) Math.round(color.getRed() * a * 255);
+        int g = (int) Math.round(color.getGreen() * a * 255);
+        int b = (int) Math.round(color.getBlue() * a * 255);
+        return (ai << 24) | (r << 16) | (g << 8) | b;
+    }
+}
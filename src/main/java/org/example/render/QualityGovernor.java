@@ -0,0 +1,64 @@
+package org.example.render;
+
+/**
+ * Chooses a render quality (fraction of the full internal resolution) from frame timings.
+ * Quality steps down when frames take longer than the budget and steps back up
+ * once rendering leaves plenty of headroom. Separate cooldowns keep it from
+ * oscillating: it reacts to overload within a second but is slow to raise quality.
+ */
+public class QualityGovernor {
+    private static final double[] LEVELS = {0.5, 0.625, 0.75, 0.875, 1.0};
+    private static final double SMOOTHING = 0.05;
+    private static final int DOWN_COOLDOWN_FRAMES = 60;
+    private static final int UP_COOLDOWN_FRAMES = 240;
+    // Frame interval above budget * this counts as over budget
+    private static final double OVER_BUDGET = 1.2;
+    // Render time below budget * this counts as headroom
+    private static final double HEADROOM = 0.4;
+
+    private final long budgetNanos;
+    private int level = LEVELS.length - 1;
+    private double averageInterval;
+    private double averageRender;
+    private int framesSinceChange;
+
+    public QualityGovernor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        this.averageInterval = budgetNanos;
+    }
+
+    /**
+     * Records one frame. Returns true if the quality changed.
+     *
+     * @param intervalNanos time since the previous frame started
+     * @param renderNanos   time spent rendering this frame
+     */
+    public boolean onFrame(long intervalNanos, long renderNanos) {
+        // Ignore huge gaps (window drags, breakpoints) so one stall doesn't tank quality
+        double interval = Math.min(intervalNanos, 4 * budgetNanos);
+        averageInterval += (interval - averageInterval) * SMOOTHING;
+        averageRender += (renderNanos - averageRender) * SMOOTHING;
+        framesSinceChange++;
+
+        if (averageInterval > budgetNanos * OVER_BUDGET && level > 0
+                && framesSinceChange > DOWN_COOLDOWN_FRAMES) {
+            return setLevel(level - 1);
+        }
+        if (averageRender < budgetNanos * HEADROOM && averageInterval <= budgetNanos * OVER_BUDGET
+                && level < LEVELS.length - 1 && framesSinceChange > UP_COOLDOWN_FRAMES) {
+            return setLevel(level + 1);
+        }
+        return false;
+    }
+
+    public double getQuality() {
+        return LEVELS[level];
+    }
+
+    private boolean setLevel(int newLevel) {
+        level = newLevel;
+        framesSinceChange = 0;
+        averageInterval = budgetNanos;
+        return true;
+    }
+}
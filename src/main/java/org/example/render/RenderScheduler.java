@@ -0,0 +1,59 @@
+package org.example.render;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Runs the render loop only while there is something to animate.
+ * The pulse handler reports whether it needs another frame; when it doesn't,
+ * the underlying AnimationTimer is stopped so a paused, idle or finished game
+ * costs no CPU. Anything that changes what is on screen (input, a resize, the
+ * simulation resuming) calls {@link #requestFrame()} to start it again.
+ * All methods must be called on the FX thread.
+ */
+public class RenderScheduler {
+
+    public interface FrameHandler {
+        /**
+         * Handles one pulse. Returns true if another frame is needed.
+         */
+        boolean onFrame(long now);
+    }
+
+    private final AnimationTimer timer;
+    private boolean running;
+    private boolean stopped;
+
+    public RenderScheduler(FrameHandler handler) {
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (!handler.onFrame(now)) {
+                    running = false;
+                    stop();
+                }
+            }
+        };
+    }
+
+    /**
+     * Makes sure a frame is rendered on the next pulse. Does nothing after {@link #shutdown()}.
+     */
+    public void requestFrame() {
+        if (running || stopped) return;
+        running = true;
+        timer.start();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops rendering for good.
+     */
+    public void shutdown() {
+        stopped = true;
+        running = false;
+        timer.stop();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.render;
+
+/**
+ * Render backends that can be picked at launch with --renderer=canvas|software.
+ */
+public enum RendererType {
+    /** JavaFX Canvas / GraphicsContext, rasterised by Prism. */
+    CANVAS,
+    /** Our own rasteriser writing into a PixelBuffer, presented once per frame. */
+    SOFTWARE;
+
+    /**
+     * Parses a launch argument value, falling back to CANVAS for anything unknown.
+     */
+    public static RendererType parse(String value) {
+        if (value == null) return CANVAS;
+        for (RendererType t : values()) {
+            if (t.name().equalsIgnoreCase(value.trim())) {
+                return t;
+            }
+        }
+        System.err.println("Unknown renderer '" + value + "', using canvas");
+        return CANVAS;
+    }
+}
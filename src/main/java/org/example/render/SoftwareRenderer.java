@@ -0,0 +1,103 @@
+package org.example.render;
+
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import org.example.FrameSnapshot;
+import org.example.effects.ParticleSystem;
+import org.example.perf.FrameProfiler;
+import org.example.perf.Phase;
+
+import java.nio.IntBuffer;
+
+/**
+ * Software backend: a {@link FrameRasterizer} draws the playfield into an
+ * IntBuffer-backed PixelBuffer, presented with one updateBuffer call per frame.
+ * Text (HUD and overlays) sits on a canvas above the image and is only
+ * repainted when the HUD changes.
+ */
+public class SoftwareRenderer implements GameRenderer {
+    private final int width;
+    private final int height;
+    private final Image heartImage;
+    private final Image heartEmptyImage;
+    private final ImageView view;
+    private final Canvas overlay;
+    private final GraphicsContext overlayGc;
+    private final Pane root;
+
+    private double scale;
+    private FrameRasterizer rasterizer;
+    private PixelBuffer<IntBuffer> pixelBuffer;
+    private HudLayer hudLayer;
+    private boolean overlayStale;
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+
+    public SoftwareRenderer(int width, int height, double scale, Image heartImage, Image heartEmptyImage) {
+        this.width = width;
+        this.height = height;
+        this.heartImage = heartImage;
+        this.heartEmptyImage = heartEmptyImage;
+
+        view = new ImageView();
+        overlay = new Canvas();
+        overlayGc = overlay.getGraphicsContext2D();
+        root = new Pane(view, overlay);
+        setRenderScale(scale);
+    }
+
+    @Override
+    public Node getNode() {
+        return root;
+    }
+
+    @Override
+    public void setRenderScale(double scale) {
+        this.scale = scale;
+        rasterizer = new FrameRasterizer(width, height, scale);
+        int pixelWidth = rasterizer.getPixelWidth();
+        int pixelHeight = rasterizer.getPixelHeight();
+        pixelBuffer = new PixelBuffer<>(pixelWidth, pixelHeight, IntBuffer.wrap(rasterizer.getPixels()),
+                PixelFormat.getIntArgbPreInstance());
+        view.setImage(new WritableImage(pixelBuffer));
+
+        overlay.setWidth(pixelWidth);
+        overlay.setHeight(pixelHeight);
+        overlayGc.setTransform(scale, 0, 0, scale, 0, 0);
+        hudLayer = new HudLayer(width, height, scale, heartImage, heartEmptyImage);
+        overlayStale = true;
+    }
+
+    @Override
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void render(FrameSnapshot snapshot, ParticleSystem particles) {
+        long phaseStart = profiler.now();
+        rasterizer.rasterize(snapshot, particles);
+        pixelBuffer.updateBuffer(b -> null);
+        phaseStart = profiler.lap(Phase.RENDER_WORLD, phaseStart);
+
+        if (hudLayer.update(snapshot) || overlayStale) {
+            overlayGc.setTransform(scale, 0, 0, scale, 0, 0);
+            overlayGc.clearRect(0, 0, width, height);
+            hudLayer.draw(overlayGc);
+            overlayStale = false;
+        }
+        profiler.lap(Phase.RENDER_HUD, phaseStart);
+    }
+
+    @Override
+    public void renderPauseOverlay() {
+        PauseOverlay.draw(overlayGc, width, height, scale);
+        overlayStale = true;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.render;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Every distinct look an entity can have.
+ * Each sprite is rasterised once into the {@link SpriteAtlas}; entities report
+ * which sprite they currently use instead of drawing themselves.
+ */
+public enum Sprite {
+    BALL(Shape.OVAL, Color.WHITE, null),
+    BALL_BREAKER(Shape.OVAL, Color.RED, null),
+
+    POWERUP_DEFAULT(Shape.OVAL, Color.LIGHTGREEN, Color.BLACK),
+    POWERUP_FAST_BALL(Shape.OVAL, Color.GOLD, Color.WHITE),
+    POWERUP_TRIPLE_BALL(Shape.OVAL, Color.RED, Color.WHITE),
+    POWERUP_BIGGER_PADDLE(Shape.OVAL, Color.CYAN, Color.WHITE),
+    POWERUP_BREAKER_BALL(Shape.OVAL, Color.GREEN, Color.WHITE),
+
+    BRICK_YELLOW(Shape.RECT, Color.YELLOW, Color.BLACK),
+    BRICK_ORANGE(Shape.RECT, Color.ORANGE, Color.BLACK),
+    BRICK_RED(Shape.RECT, Color.RED, Color.BLACK),
+    BRICK_GRAY(Shape.RECT, Color.GRAY, Color.BLACK),
+    BRICK_WHITE(Shape.RECT, Color.WHITE, Color.BLACK);
+
+    public enum Shape { OVAL, RECT }
+
+    private static final Sprite[] VALUES = values();
+
+    private final Shape shape;
+    private final Color fill;
+    private final Color stroke;
+
+    Sprite(Shape shape, Color fill, Color stroke) {
+        this.shape = shape;
+        this.fill = fill;
+        this.stroke = stroke;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public Color getFill() {
+        return fill;
+    }
+
+    /**
+     * Outline colour, or null if the sprite has no outline.
+     */
+    public Color getStroke() {
+        return stroke;
+    }
+
+    public boolean isBrick() {
+        return shape == Shape.RECT;
+    }
+
+    /**
+     * Looks up the brick sprite for a brick colour.
+     */
+    public static Sprite forBrickColor(Color color) {
+        for (Sprite s : VALUES) {
+            if (s.isBrick() && s.fill.equals(color)) {
+                return s;
+            }
+        }
+        return BRICK_WHITE;
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+
+    public static Sprite byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
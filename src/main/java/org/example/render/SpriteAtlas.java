@@ -0,0 +1,101 @@
+package org.example.render;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * One image holding a pre-rasterised copy of every {@link Sprite}.
+ * Ovals (balls and power-ups) are rasterised at {@link #OVAL_SIZE}, bricks at the
+ * brick size of the current level. Both are multiplied by the render scale so
+ * sprites stay sharp when the canvas is scaled.
+ */
+public class SpriteAtlas {
+    public static final double OVAL_SIZE = 18;
+
+    // Empty pixels between cells so filtering never bleeds a neighbour in
+    private static final int GUTTER = 2;
+
+    private final double scale;
+    private final double[] sourceX = new double[Sprite.count()];
+    private final double[] sourceWidth = new double[Sprite.count()];
+    private final double[] sourceHeight = new double[Sprite.count()];
+
+    private double brickWidth = -1;
+    private double brickHeight = -1;
+    private WritableImage image;
+
+    public SpriteAtlas(double scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * Rebuilds the atlas if the brick size differs from the one it was built for.
+     */
+    public void setBrickSize(double width, double height) {
+        if (image != null && width == brickWidth && height == brickHeight) return;
+        brickWidth = width;
+        brickHeight = height;
+        rebuild();
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Draws one sprite stretched over the given rectangle.
+     */
+    public void draw(GraphicsContext gc, Sprite sprite, double x, double y, double w, double h) {
+        int i = sprite.ordinal();
+        gc.drawImage(image, sourceX[i], 0, sourceWidth[i], sourceHeight[i], x, y, w, h);
+    }
+
+    private void rebuild() {
+        int ovalPixels = (int) Math.ceil(OVAL_SIZE * scale);
+        int brickPixelsW = Math.max(1, (int) Math.ceil(brickWidth * scale));
+        int brickPixelsH = Math.max(1, (int) Math.ceil(brickHeight * scale));
+
+        double totalWidth = 0;
+        double totalHeight = Math.max(ovalPixels, brickPixelsH);
+        for (Sprite s : Sprite.values()) {
+            int i = s.ordinal();
+            sourceX[i] = totalWidth;
+            sourceWidth[i] = s.isBrick() ? brickPixelsW : ovalPixels;
+            sourceHeight[i] = s.isBrick() ? brickPixelsH : ovalPixels;
+            totalWidth += sourceWidth[i] + GUTTER;
+        }
+
+        Canvas canvas = new Canvas(totalWidth, totalHeight);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setLineWidth(scale);
+        double inset = scale / 2;
+        for (Sprite s : Sprite.values()) {
+            int i = s.ordinal();
+            double x = sourceX[i] + inset;
+            double w = sourceWidth[i] - 2 * inset;
+            double h = sourceHeight[i] - 2 * inset;
+            gc.setFill(s.getFill());
+            if (s.getShape() == Sprite.Shape.RECT) {
+                gc.fillRect(x, inset, w, h);
+            } else {
+                gc.fillOval(x, inset, w, h);
+            }
+            if (s.getStroke() != null) {
+                gc.setStroke(s.getStroke());
+                if (s.getShape() == Sprite.Shape.RECT) {
+                    gc.strokeRect(x, inset, w, h);
+                } else {
+                    gc.strokeOval(x, inset, w, h);
+                }
+            }
+        }
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        image = canvas.snapshot(params, null);
+    }
+}
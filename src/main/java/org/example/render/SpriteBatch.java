@@ -0,0 +1,77 @@
+package org.example.render;
+
+import javafx.scene.canvas.GraphicsContext;
+
+import java.util.Arrays;
+
+/**
+ * Collects sprite draws for one frame and issues them grouped by sprite,
+ * so consecutive drawImage calls share the same source region.
+ * Storage is kept in primitive arrays that only grow, so steady-state
+ * frames allocate nothing.
+ */
+public class SpriteBatch {
+    private final SpriteAtlas atlas;
+
+    private int count;
+    private int[] sprites = new int[64];
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private double[] ws = new double[64];
+    private double[] hs = new double[64];
+    private int[] order = new int[64];
+    private final int[] bucketStart = new int[Sprite.count() + 1];
+
+    public SpriteBatch(SpriteAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    public void add(Sprite sprite, double x, double y, double w, double h) {
+        if (count == sprites.length) grow();
+        sprites[count] = sprite.ordinal();
+        xs[count] = x;
+        ys[count] = y;
+        ws[count] = w;
+        hs[count] = h;
+        count++;
+    }
+
+    /**
+     * Draws everything queued since the last flush, sorted by sprite, and empties the batch.
+     */
+    public void flush(GraphicsContext gc) {
+        if (count == 0) return;
+
+        // Counting sort by sprite ordinal
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < count; i++) {
+            bucketStart[sprites[i] + 1]++;
+        }
+        for (int s = 1; s < bucketStart.length; s++) {
+            bucketStart[s] += bucketStart[s - 1];
+        }
+        for (int i = 0; i < count; i++) {
+            order[bucketStart[sprites[i]]++] = i;
+        }
+
+        for (int k = 0; k < count; k++) {
+            int i = order[k];
+            atlas.draw(gc, Sprite.byOrdinal(sprites[i]), xs[i], ys[i], ws[i], hs[i]);
+        }
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private void grow() {
+        int capacity = sprites.length * 2;
+        sprites = Arrays.copyOf(sprites, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        ws = Arrays.copyOf(ws, capacity);
+        hs = Arrays.copyOf(hs, capacity);
+        order = new int[capacity];
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.render;
+
+import javafx.scene.paint.Color;
+
+/**
+ * A small pre-rasterised image in premultiplied ARGB, stamped by {@link PixelRasterizer}.
+ */
+public class SpriteStamp {
+    // Sub-samples per axis used to anti-alias the oval edge
+    private static final int SUPERSAMPLE = 4;
+
+    final int[] pixels;
+    final int width;
+    final int height;
+
+    private SpriteStamp(int[] pixels, int width, int height) {
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Rasterises an oval filling a size x size box, with an optional one pixel outline.
+     */
+    public static SpriteStamp oval(int size, Color fill, Color stroke) {
+        int[] pixels = new int[size * size];
+        double r = size / 2.0;
+        double innerR = stroke != null ? r - 1 : r;
+        int samples = SUPERSAMPLE * SUPERSAMPLE;
+
+        for (int py = 0; py < size; py++) {
+            for (int px = 0; px < size; px++) {
+                int fillHits = 0;
+                int strokeHits = 0;
+                for (int sy = 0; sy < SUPERSAMPLE; sy++) {
+                    for (int sx = 0; sx < SUPERSAMPLE; sx++) {
+                        double dx = px + (sx + 0.5) / SUPERSAMPLE - r;
+                        double dy = py + (sy + 0.5) / SUPERSAMPLE - r;
+                        double d2 = dx * dx + dy * dy;
+                        if (d2 <= innerR * innerR) {
+                            fillHits++;
+                        } else if (d2 <= r * r) {
+                            strokeHits++;
+                        }
+                    }
+                }
+                int fillArgb = PixelRasterizer.argb(fill, (double) fillHits / samples);
+                int strokeArgb = stroke != null
+                        ? PixelRasterizer.argb(stroke, (double) strokeHits / samples)
+                        : 0;
+                pixels[py * size + px] = addPremultiplied(fillArgb, strokeArgb);
+            }
+        }
+        return new SpriteStamp(pixels, size, size);
+    }
+
+    private static int addPremultiplied(int a, int b) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int c = ((a >>> shift) & 0xFF) + ((b >>> shift) & 0xFF);
+            result |= Math.min(c, 255) << shift;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.render;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
+import javafx.stage.Window;
+
+/**
+ * Fits a renderer into a resizable window.
+ * The playfield keeps its aspect ratio and is letterboxed; the renderer draws at
+ * window size x screen output scale x governor quality, and its node is scaled
+ * up or down to fill the available area.
+ */
+public class Viewport {
+    // Keeps offscreen layers within common texture size limits
+    private static final double MAX_RENDER_WIDTH = 4096;
+    // Scale changes smaller than this are not worth rebuilding layers for
+    private static final double MIN_SCALE_CHANGE = 0.02;
+
+    private final Pane root;
+    private final GameRenderer renderer;
+    private final QualityGovernor governor;
+    private final int logicalWidth;
+    private final int logicalHeight;
+    private final Translate offset = new Translate();
+    private final Scale fit = new Scale(1, 1, 0, 0);
+
+    private double renderScale;
+
+    public Viewport(Pane root, GameRenderer renderer, QualityGovernor governor,
+                    int logicalWidth, int logicalHeight, double initialScale) {
+        this.root = root;
+        this.renderer = renderer;
+        this.governor = governor;
+        this.logicalWidth = logicalWidth;
+        this.logicalHeight = logicalHeight;
+        this.renderScale = initialScale;
+
+        Node view = renderer.getNode();
+        view.getTransforms().setAll(offset, fit);
+        root.setStyle("-fx-background-color: black;");
+        root.widthProperty().addListener((obs, oldValue, newValue) -> update());
+        root.heightProperty().addListener((obs, oldValue, newValue) -> update());
+        root.sceneProperty().addListener((obs, oldValue, newValue) -> update());
+    }
+
+    /**
+     * Feeds one frame's timings to the governor and applies any quality change.
+     */
+    public void onFrame(long intervalNanos, long renderNanos) {
+        if (governor.onFrame(intervalNanos, renderNanos)) {
+            update();
+        }
+    }
+
+    public double getRenderScale() {
+        return renderScale;
+    }
+
+    private void update() {
+        double areaWidth = root.getWidth();
+        double areaHeight = root.getHeight();
+        if (areaWidth <= 0 || areaHeight <= 0) return;
+
+        double displayScale = Math.min(areaWidth / logicalWidth, areaHeight / logicalHeight);
+        double outputScale = 1.0;
+        if (root.getScene() != null) {
+            Window window = root.getScene().getWindow();
+            if (window != null) {
+                outputScale = window.getOutputScaleX();
+            }
+        }
+
+        double wanted = displayScale * outputScale * governor.getQuality();
+        wanted = Math.min(wanted, MAX_RENDER_WIDTH / logicalWidth);
+        if (Math.abs(wanted - renderScale) > MIN_SCALE_CHANGE) {
+            renderScale = wanted;
+            renderer.setRenderScale(renderScale);
+        }
+
+        // Node pixels are logical * renderScale; show them at logical * displayScale
+        double nodeScale = displayScale / renderScale;
+        fit.setX(nodeScale);
+        fit.setY(nodeScale);
+        offset.setX((areaWidth - logicalWidth * displayScale) / 2);
+        offset.setY((areaHeight - logicalHeight * displayScale) / 2);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.telemetry;
+
+/**
+ * Why the last ball was lost. Checked in this order.
+ */
+public enum DeathCause {
+    /** Fast Ball was active. */
+    FAST_BALL,
+    /** The ball left the field within half a paddle width of the paddle's edge. */
+    NEAR_MISS,
+    /** Anything further away. */
+    MISSED;
+
+    private static final DeathCause[] VALUES = values();
+
+    public static DeathCause byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.telemetry;
+
+/**
+ * Layout of telemetry files. Each file is gzip-compressed and holds a 16-byte header
+ * followed by fixed-size little-endian records:
+ * <pre>
+ * header:  int magic 0x41524B54, int version, int record size, int reserved
+ * record:  0  byte  type
+ *          1  byte  difficulty ordinal
+ *          2  byte  detail: power-up code, death cause or end state ordinal
+ *          3  byte  reserved
+ *          4  int   level
+ *          8  long  tick
+ *         16  long  wall clock, epoch ms
+ *         24  long  value: score, or lives left for {@link #LIFE_LOST}
+ * </pre>
+ * The first 8 bytes are one long in memory ({@link #pack}), so a record is four longs.
+ * Records of one session are contiguous and start with {@link #SESSION_START}.
+ */
+public final class TelemetryRecord {
+    public static final int MAGIC = 0x41524B54;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int BYTES = 32;
+    public static final int LONGS = BYTES / Long.BYTES;
+
+    public static final int SESSION_START = 1;
+    public static final int LEVEL_START = 2;
+    public static final int LEVEL_CLEAR = 3;
+    public static final int BRICK_DESTROYED = 4;
+    public static final int POWER_UP_SPAWNED = 5;
+    public static final int POWER_UP_COLLECTED = 6;
+    public static final int POWER_UP_MISSED = 7;
+    public static final int LIFE_LOST = 8;
+    public static final int SESSION_END = 9;
+
+    /** Power-up ids by code; unknown ids get code {@code POWER_UPS.length}. */
+    public static final String[] POWER_UPS = {"FastBall", "TripleBall", "BiggerPaddle", "BreakerBall"};
+
+    private TelemetryRecord() {
+    }
+
+    public static long pack(int type, int difficulty, int detail, int level) {
+        return (type & 0xFF) | (difficulty & 0xFF) << 8 | (detail & 0xFF) << 16 | (long) level << 32;
+    }
+
+    public static int type(long packed) {
+        return (int) packed & 0xFF;
+    }
+
+    public static int difficulty(long packed) {
+        return (int) (packed >>> 8) & 0xFF;
+    }
+
+    public static int detail(long packed) {
+        return (int) (packed >>> 16) & 0xFF;
+    }
+
+    public static int level(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    public static int powerUpCode(String id) {
+        for (int i = 0; i < POWER_UPS.length; i++) {
+            if (POWER_UPS[i].equals(id)) return i;
+        }
+        return POWER_UPS.length;
+    }
+
+    public static String powerUpName(int code) {
+        return code < POWER_UPS.length ? POWER_UPS[code] : "other";
+    }
+}
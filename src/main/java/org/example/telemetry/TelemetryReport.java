@@ -0,0 +1,232 @@
+package org.example.telemetry;
+
+import org.example.Difficulty;
+import org.example.GameState;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Offline report over the files a {@link TelemetryWriter} produced:
+ * time per level, bricks destroyed per second, power-up pickup rates and deaths
+ * by cause, all per {@link Difficulty}. Times are play time (ticks / 60), so
+ * pauses don't count.
+ * <pre>
+ * java -cp target/classes org.example.telemetry.TelemetryReport [directory]
+ * </pre>
+ * A file cut short by a crash is read up to the last complete record.
+ */
+public class TelemetryReport {
+    private static final double TICKS_PER_SECOND = 60;
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    /** Per difficulty and level. */
+    private static class LevelStats {
+        long attempts;
+        long clears;
+        long clearTicks;
+        long playTicks;
+        long bricks;
+    }
+
+    /** Per difficulty. */
+    private static class DifficultyStats {
+        long sessions;
+        long gamesWon;
+        long gamesOver;
+        final long[] spawned = new long[TelemetryRecord.POWER_UPS.length + 1];
+        final long[] collected = new long[spawned.length];
+        final long[] missed = new long[spawned.length];
+        final long[] deaths = new long[DeathCause.values().length];
+    }
+
+    /** The session a writer process is in the middle of, carried across its rotated files. */
+    private static class Session {
+        int difficulty;
+        int level;
+        long levelStartTick;
+        long lastTick;
+        boolean inLevel;
+    }
+
+    private final Map<String, LevelStats> levels = new TreeMap<>();
+    private final DifficultyStats[] difficulties = new DifficultyStats[DIFFICULTIES.length];
+    private final Map<String, Session> sessions = new HashMap<>();
+    private long records;
+    private long truncatedFiles;
+
+    private TelemetryReport() {
+        for (int i = 0; i < difficulties.length; i++) {
+            difficulties[i] = new DifficultyStats();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = args.length > 0 ? Path.of(args[0]) : TelemetryWriter.defaultDirectory();
+        List<Path> files = TelemetryWriter.listFiles(directory);
+        if (files.isEmpty()) {
+            System.out.println("No telemetry files in " + directory);
+            return;
+        }
+        TelemetryReport report = new TelemetryReport();
+        for (Path file : files) {
+            report.read(file);
+        }
+        report.finish();
+        System.out.printf(Locale.ROOT, "%d records from %d files in %s%s%n%n", report.records, files.size(), directory,
+                report.truncatedFiles > 0 ? " (" + report.truncatedFiles + " cut short)" : "");
+        report.print();
+    }
+
+    private void read(Path file) throws IOException {
+        // telemetry-<date>-<time>-<pid>-<index>.bin.gz
+        String[] parts = file.getFileName().toString().split("-");
+        String writer = parts.length >= 5 ? parts[3] : file.toString();
+        byte[] bytes = new byte[TelemetryRecord.BYTES];
+        ByteBuffer record = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            ByteBuffer header = ByteBuffer.wrap(in.readNBytes(TelemetryRecord.HEADER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.limit() < TelemetryRecord.HEADER_BYTES || header.getInt(0) != TelemetryRecord.MAGIC
+                    || header.getInt(4) != TelemetryRecord.VERSION || header.getInt(8) != TelemetryRecord.BYTES) {
+                System.err.println("Skipping " + file + ": not a version " + TelemetryRecord.VERSION + " telemetry file");
+                return;
+            }
+            while (in.readNBytes(bytes, 0, bytes.length) == bytes.length) {
+                apply(writer, record.getLong(0), record.getLong(8), record.getLong(24));
+            }
+        } catch (EOFException e) {
+            // Unfinished gzip stream from a writer that never closed its file
+            truncatedFiles++;
+        }
+    }
+
+    private void apply(String writer, long packed, long tick, long value) {
+        records++;
+        int type = TelemetryRecord.type(packed);
+        int difficulty = Math.min(TelemetryRecord.difficulty(packed), DIFFICULTIES.length - 1);
+        int detail = TelemetryRecord.detail(packed);
+        int level = TelemetryRecord.level(packed);
+        DifficultyStats stats = difficulties[difficulty];
+
+        Session session = sessions.get(writer);
+        if (type == TelemetryRecord.SESSION_START || session == null) {
+            if (session != null) endLevel(session, false);
+            session = new Session();
+            sessions.put(writer, session);
+            session.difficulty = difficulty;
+            if (type == TelemetryRecord.SESSION_START) stats.sessions++;
+        }
+        session.lastTick = tick;
+
+        switch (type) {
+            case TelemetryRecord.LEVEL_START -> {
+                endLevel(session, false);
+                session.level = level;
+                session.levelStartTick = tick;
+                session.inLevel = true;
+                levelStats(difficulty, level).attempts++;
+            }
+            case TelemetryRecord.LEVEL_CLEAR -> endLevel(session, true);
+            case TelemetryRecord.BRICK_DESTROYED -> levelStats(difficulty, level).bricks++;
+            case TelemetryRecord.POWER_UP_SPAWNED -> stats.spawned[Math.min(detail, stats.spawned.length - 1)]++;
+            case TelemetryRecord.POWER_UP_COLLECTED -> stats.collected[Math.min(detail, stats.collected.length - 1)]++;
+            case TelemetryRecord.POWER_UP_MISSED -> stats.missed[Math.min(detail, stats.missed.length - 1)]++;
+            case TelemetryRecord.LIFE_LOST -> {
+                if (detail < stats.deaths.length) stats.deaths[detail]++;
+            }
+            case TelemetryRecord.SESSION_END -> {
+                endLevel(session, false);
+                if (detail == GameState.GAME_WON.ordinal()) stats.gamesWon++;
+                if (detail == GameState.GAME_OVER.ordinal()) stats.gamesOver++;
+                sessions.remove(writer);
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Books the play time of the level in progress; {@code cleared} also counts it as a clear.
+     */
+    private void endLevel(Session session, boolean cleared) {
+        if (!session.inLevel) return;
+        LevelStats stats = levelStats(session.difficulty, session.level);
+        long ticks = session.lastTick - session.levelStartTick;
+        stats.playTicks += ticks;
+        if (cleared) {
+            stats.clears++;
+            stats.clearTicks += ticks;
+        }
+        session.inLevel = false;
+    }
+
+    private void finish() {
+        // Sessions the player quit or that were still running
+        for (Session session : sessions.values()) {
+            endLevel(session, false);
+        }
+        sessions.clear();
+    }
+
+    private LevelStats levelStats(int difficulty, int level) {
+        return levels.computeIfAbsent(String.format(Locale.ROOT, "%d-%05d", difficulty, level), k -> new LevelStats());
+    }
+
+    private void print() {
+        System.out.println("Levels (play time)");
+        System.out.printf(Locale.ROOT, "  %-10s %5s %8s %6s %12s %9s %10s%n",
+                "difficulty", "level", "attempts", "clears", "avg clear s", "bricks", "bricks/s");
+        for (Map.Entry<String, LevelStats> entry : levels.entrySet()) {
+            String[] key = entry.getKey().split("-");
+            LevelStats s = entry.getValue();
+            double playSeconds = s.playTicks / TICKS_PER_SECOND;
+            System.out.printf(Locale.ROOT, "  %-10s %5d %8d %6d %12s %9d %10.2f%n",
+                    DIFFICULTIES[Integer.parseInt(key[0])], Integer.parseInt(key[1]), s.attempts, s.clears,
+                    s.clears == 0 ? "-" : String.format(Locale.ROOT, "%.1f", s.clearTicks / TICKS_PER_SECOND / s.clears),
+                    s.bricks, playSeconds == 0 ? 0.0 : s.bricks / playSeconds);
+        }
+
+        System.out.println();
+        System.out.println("Power-ups (pickup rate = collected / (collected + missed))");
+        System.out.printf(Locale.ROOT, "  %-10s %-12s %8s %9s %7s %7s%n",
+                "difficulty", "power-up", "spawned", "collected", "missed", "pickup");
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            DifficultyStats s = difficulties[d];
+            for (int p = 0; p < s.spawned.length; p++) {
+                if (s.spawned[p] == 0 && s.collected[p] == 0) continue;
+                long resolved = s.collected[p] + s.missed[p];
+                System.out.printf(Locale.ROOT, "  %-10s %-12s %8d %9d %7d %7s%n", DIFFICULTIES[d],
+                        TelemetryRecord.powerUpName(p), s.spawned[p], s.collected[p], s.missed[p],
+                        resolved == 0 ? "-" : String.format(Locale.ROOT, "%.0f%%", 100.0 * s.collected[p] / resolved));
+            }
+        }
+
+        System.out.println();
+        System.out.println("Sessions and deaths");
+        StringBuilder causes = new StringBuilder();
+        for (DeathCause cause : DeathCause.values()) {
+            causes.append(String.format(Locale.ROOT, " %10s", cause.name().toLowerCase(Locale.ROOT)));
+        }
+        System.out.printf(Locale.ROOT, "  %-10s %8s %4s %9s%s%n", "difficulty", "sessions", "won", "game over", causes);
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            DifficultyStats s = difficulties[d];
+            if (s.sessions == 0) continue;
+            StringBuilder deaths = new StringBuilder();
+            for (long n : s.deaths) {
+                deaths.append(String.format(Locale.ROOT, " %10d", n));
+            }
+            System.out.printf(Locale.ROOT, "  %-10s %8d %4d %9d%s%n", DIFFICULTIES[d], s.sessions, s.gamesWon, s.gamesOver, deaths);
+        }
+    }
+}
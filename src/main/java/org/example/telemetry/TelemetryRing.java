@@ -0,0 +1,128 @@
+package org.example.telemetry;
+
+import org.example.Difficulty;
+import org.example.GameState;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One session's telemetry on its way from the simulation thread to the
+ * {@link TelemetryWriter}. A single-producer/single-consumer ring of
+ * {@link TelemetryRecord}s stored as longs, so reporting an event never blocks
+ * or allocates. Records that don't fit are dropped and counted.
+ */
+public class TelemetryRing implements TelemetrySink {
+    private final int mask;
+    private final long[] slots;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+
+    // Producer-owned
+    private int difficulty;
+
+    public TelemetryRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mask = size - 1;
+        slots = new long[size * TelemetryRecord.LONGS];
+    }
+
+    @Override
+    public void sessionStarted(Difficulty difficulty, long tick) {
+        this.difficulty = difficulty.ordinal();
+        offer(TelemetryRecord.SESSION_START, 0, 0, tick, 0);
+    }
+
+    @Override
+    public void levelStarted(long tick, int level) {
+        offer(TelemetryRecord.LEVEL_START, 0, level, tick, 0);
+    }
+
+    @Override
+    public void levelCleared(long tick, int level, int score) {
+        offer(TelemetryRecord.LEVEL_CLEAR, 0, level, tick, score);
+    }
+
+    @Override
+    public void brickDestroyed(long tick, int level, int score) {
+        offer(TelemetryRecord.BRICK_DESTROYED, 0, level, tick, score);
+    }
+
+    @Override
+    public void powerUpSpawned(long tick, int level, String powerUp) {
+        offer(TelemetryRecord.POWER_UP_SPAWNED, TelemetryRecord.powerUpCode(powerUp), level, tick, 0);
+    }
+
+    @Override
+    public void powerUpCollected(long tick, int level, String powerUp) {
+        offer(TelemetryRecord.POWER_UP_COLLECTED, TelemetryRecord.powerUpCode(powerUp), level, tick, 0);
+    }
+
+    @Override
+    public void powerUpMissed(long tick, int level, String powerUp) {
+        offer(TelemetryRecord.POWER_UP_MISSED, TelemetryRecord.powerUpCode(powerUp), level, tick, 0);
+    }
+
+    @Override
+    public void lifeLost(long tick, int level, DeathCause cause, int livesLeft) {
+        offer(TelemetryRecord.LIFE_LOST, cause.ordinal(), level, tick, livesLeft);
+    }
+
+    @Override
+    public void sessionEnded(long tick, int level, GameState outcome, int score) {
+        offer(TelemetryRecord.SESSION_END, outcome.ordinal(), level, tick, score);
+    }
+
+    private void offer(int type, int detail, int level, long tick, long value) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.lazySet(dropped.get() + 1);
+            return;
+        }
+        int i = ((int) t & mask) * TelemetryRecord.LONGS;
+        slots[i] = TelemetryRecord.pack(type, difficulty, detail, level);
+        slots[i + 1] = tick;
+        slots[i + 2] = System.currentTimeMillis();
+        slots[i + 3] = value;
+        tail.lazySet(t + 1);
+    }
+
+    /**
+     * Consumer side: moves as many queued records as fit into {@code out} (which must be
+     * little-endian) and returns how many were moved.
+     */
+    public int drainTo(ByteBuffer out) {
+        long h = head.get();
+        long t = Math.min(tail.get(), h + out.remaining() / TelemetryRecord.BYTES);
+        for (long n = h; n < t; n++) {
+            int i = ((int) n & mask) * TelemetryRecord.LONGS;
+            for (int k = 0; k < TelemetryRecord.LONGS; k++) {
+                out.putLong(slots[i + k]);
+            }
+        }
+        head.lazySet(t);
+        return (int) (t - h);
+    }
+
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /** Records lost because the writer fell behind. */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * The session is over; the writer drains what is left and forgets the ring.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
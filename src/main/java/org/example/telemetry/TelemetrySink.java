@@ -0,0 +1,34 @@
+package org.example.telemetry;
+
+import org.example.Difficulty;
+import org.example.GameState;
+
+/**
+ * Where the simulation reports gameplay events for offline analysis.
+ * Ticks are the world's own tick count, so times exclude pauses.
+ */
+public interface TelemetrySink {
+    /** A sink that ignores everything, for headless runs. */
+    TelemetrySink NONE = new TelemetrySink() {};
+
+    default void sessionStarted(Difficulty difficulty, long tick) {}
+
+    default void levelStarted(long tick, int level) {}
+
+    default void levelCleared(long tick, int level, int score) {}
+
+    default void brickDestroyed(long tick, int level, int score) {}
+
+    /** {@code powerUp} is a {@link org.example.powerup.PowerUp#getId()}. */
+    default void powerUpSpawned(long tick, int level, String powerUp) {}
+
+    default void powerUpCollected(long tick, int level, String powerUp) {}
+
+    /** A power-up fell past the paddle. */
+    default void powerUpMissed(long tick, int level, String powerUp) {}
+
+    default void lifeLost(long tick, int level, DeathCause cause, int livesLeft) {}
+
+    /** The game ended in {@link GameState#GAME_OVER} or {@link GameState#GAME_WON}. */
+    default void sessionEnded(long tick, int level, GameState outcome, int score) {}
+}
@@ -0,0 +1,210 @@
+package org.example.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Background thread that drains every session's {@link TelemetryRing} and appends
+ * the records, in batches, to gzip-compressed files in one directory. A file is
+ * rotated once it holds {@code rotateBytes} of records, and only the newest
+ * {@code keepFiles} files are kept. Output is sync-flushed about once a second,
+ * so a crash loses at most that much. If the disk fails the writer reports it
+ * once and from then on discards records; the game never notices.
+ */
+public class TelemetryWriter implements Closeable {
+    public static final TelemetryWriter DISABLED = new TelemetryWriter();
+
+    public static final String FILE_PREFIX = "telemetry-";
+    public static final String FILE_SUFFIX = ".bin.gz";
+
+    private static final int RING_CAPACITY = 4096;
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FLUSH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final long rotateBytes;
+    private final int keepFiles;
+    private final List<TelemetryRing> rings = new CopyOnWriteArrayList<>();
+    private final ByteBuffer batch = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+    private volatile boolean running;
+    private Thread thread;
+
+    // Writer-thread state
+    private OutputStream out;
+    private long bytesInFile;
+    private int fileIndex;
+    private long lastFlush;
+    private boolean failed;
+
+    private TelemetryWriter() {
+        directory = null;
+        rotateBytes = 0;
+        keepFiles = 0;
+    }
+
+    public TelemetryWriter(Path directory, long rotateBytes, int keepFiles) {
+        this.directory = directory;
+        this.rotateBytes = rotateBytes;
+        this.keepFiles = keepFiles;
+    }
+
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("user.home"), ".arkanoid", "telemetry");
+    }
+
+    public void start() {
+        if (directory == null) return;
+        running = true;
+        thread = new Thread(this::run, "arkanoid-telemetry");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * A sink for a new game session, drained by this writer until {@link #closeSession}.
+     */
+    public TelemetrySink openSession() {
+        if (directory == null) return TelemetrySink.NONE;
+        TelemetryRing ring = new TelemetryRing(RING_CAPACITY);
+        rings.add(ring);
+        return ring;
+    }
+
+    public void closeSession(TelemetrySink sink) {
+        if (sink instanceof TelemetryRing ring) {
+            ring.close();
+        }
+    }
+
+    /**
+     * Writes whatever is still queued and finishes the current file.
+     */
+    @Override
+    public void close() {
+        if (thread == null) return;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            drainAll();
+            LockSupport.parkNanos(this, POLL_NANOS);
+        }
+        drainAll();
+        closeFile();
+    }
+
+    private void drainAll() {
+        for (TelemetryRing ring : rings) {
+            // Read before draining: anything queued before close() is then drained too
+            boolean closed = ring.isClosed();
+            while (ring.drainTo(batch) > 0) {
+                if (!batch.hasRemaining()) writeBatch();
+            }
+            if (closed) {
+                rings.remove(ring);
+                if (ring.getDropped() > 0) {
+                    System.err.println("Telemetry dropped " + ring.getDropped() + " records of a session");
+                }
+            }
+        }
+        writeBatch();
+        long now = System.nanoTime();
+        if (out != null && now - lastFlush > FLUSH_NANOS) {
+            lastFlush = now;
+            try {
+                out.flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void writeBatch() {
+        if (batch.position() == 0) return;
+        try {
+            if (!failed) {
+                if (out == null || bytesInFile >= rotateBytes) openNextFile();
+                out.write(batch.array(), 0, batch.position());
+                bytesInFile += batch.position();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+        batch.clear();
+    }
+
+    private void openNextFile() throws IOException {
+        closeFile();
+        Files.createDirectories(directory);
+        String name = String.format("%s%s-%d-%04d%s", FILE_PREFIX, LocalDateTime.now().format(FILE_TIME),
+                ProcessHandle.current().pid(), fileIndex++, FILE_SUFFIX);
+        out = new GZIPOutputStream(Files.newOutputStream(directory.resolve(name)), 8192, true);
+        ByteBuffer header = ByteBuffer.allocate(TelemetryRecord.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(TelemetryRecord.MAGIC).putInt(TelemetryRecord.VERSION).putInt(TelemetryRecord.BYTES).putInt(0);
+        out.write(header.array());
+        bytesInFile = 0;
+        deleteOldFiles();
+    }
+
+    private void closeFile() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+        out = null;
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> files = listFiles(directory);
+        for (int i = 0; i < files.size() - keepFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private void fail(IOException e) {
+        if (!failed) {
+            System.err.println("Telemetry disabled, could not write to " + directory + ": " + e.getMessage());
+        }
+        failed = true;
+        out = null;
+    }
+
+    /**
+     * Telemetry files in a directory, oldest first.
+     */
+    public static List<Path> listFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return files;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        // Names are creation time, pid and a zero-padded index, so they sort by age
+        files.sort((a, b) -> a.getFileName().toString().compareTo(b.getFileName().toString()));
+        return files;
+    }
+}
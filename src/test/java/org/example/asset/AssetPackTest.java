@@ -0,0 +1,128 @@
+package org.example.asset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AssetPackTest {
+    @TempDir
+    Path dir;
+
+    private Path packOf(Map<String, String> contents) throws IOException {
+        Map<String, Path> files = new TreeMap<>();
+        int n = 0;
+        for (Map.Entry<String, String> entry : contents.entrySet()) {
+            Path source = dir.resolve("source" + n++);
+            Files.writeString(source, entry.getValue());
+            files.put(entry.getKey(), source);
+        }
+        Path pack = dir.resolve("assets.pack");
+        AssetPack.write(pack, files);
+        return pack;
+    }
+
+    private static String text(ByteBuffer bytes) {
+        byte[] copy = new byte[bytes.remaining()];
+        bytes.get(copy);
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void findsEveryEntryByName() throws IOException {
+        Map<String, String> contents = new TreeMap<>();
+        contents.put("Heart.png", "heart");
+        contents.put("audio/sound_effects/hit.wav", "hit");
+        contents.put("levels/easy/1.lvl", "level one");
+        contents.put("levels/easy/10.lvl", "");
+        contents.put("zé.txt", "non-ASCII name");
+        AssetPack pack = AssetPack.open(packOf(contents));
+
+        assertEquals(contents.size(), pack.size());
+        for (Map.Entry<String, String> entry : contents.entrySet()) {
+            assertEquals(entry.getValue(), text(pack.find(entry.getKey())), entry.getKey());
+        }
+        assertNull(pack.find("levels/easy/2.lvl"));
+        assertNull(pack.find("levels"));
+        assertNull(pack.find(""));
+    }
+
+    @Test
+    void listsOnlyDirectChildren() throws IOException {
+        Map<String, String> contents = new TreeMap<>();
+        contents.put("Heart.png", "");
+        contents.put("levels/easy/1.lvl", "");
+        contents.put("levels/easy/2.lvl", "");
+        contents.put("levels/hard/1.lvl", "");
+        contents.put("levelsX.txt", "");
+        AssetPack pack = AssetPack.open(packOf(contents));
+
+        assertEquals(List.of("levels/easy/1.lvl", "levels/easy/2.lvl"), pack.list("levels/easy"));
+        assertEquals(List.of("levels/easy/1.lvl", "levels/easy/2.lvl"), pack.list("levels/easy/"));
+        assertEquals(List.of(), pack.list("levels"));
+        assertEquals(List.of("Heart.png", "levelsX.txt"), pack.list(""));
+        assertEquals(List.of(), pack.list("missing"));
+    }
+
+    @Test
+    void rejectsWrongMagicAndTruncatedIndex() throws IOException {
+        Path file = packOf(Map.of("a.txt", "a", "b.txt", "b"));
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] = 'X';
+        Files.write(file, wrongMagic);
+        assertThrows(IOException.class, () -> AssetPack.open(file));
+
+        Files.write(file, Arrays.copyOf(bytes, AssetPack.HEADER_BYTES + AssetPack.RECORD_BYTES));
+        assertThrows(IOException.class, () -> AssetPack.open(file));
+
+        Files.write(file, Arrays.copyOf(bytes, AssetPack.HEADER_BYTES - 1));
+        assertThrows(IOException.class, () -> AssetPack.open(file));
+    }
+
+    @Test
+    void rejectsEntriesOutsideTheFile() throws IOException {
+        Path file = packOf(Map.of("a.txt", "a"));
+        byte[] bytes = Files.readAllBytes(file);
+        int record = AssetPack.HEADER_BYTES;
+
+        // A length that wraps offset + length around to a negative number
+        Files.write(file, withLong(bytes, record + 8, Long.MAX_VALUE));
+        assertThrows(IOException.class, () -> AssetPack.open(file));
+
+        Files.write(file, withLong(bytes, record, bytes.length + 1L));
+        assertThrows(IOException.class, () -> AssetPack.open(file));
+
+        Files.write(file, withLong(bytes, record + 8, bytes.length));
+        assertThrows(IOException.class, () -> AssetPack.open(file));
+
+        byte[] nameOutside = bytes.clone();
+        ByteBuffer.wrap(nameOutside).order(ByteOrder.LITTLE_ENDIAN).putInt(record + 20, Integer.MAX_VALUE);
+        Files.write(file, nameOutside);
+        assertThrows(IOException.class, () -> AssetPack.open(file));
+
+        // The untouched pack still opens
+        Files.write(file, bytes);
+        assertEquals("a", text(AssetPack.open(file).find("a.txt")));
+    }
+
+    private static byte[] withLong(byte[] bytes, int index, long value) {
+        byte[] copy = bytes.clone();
+        ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putLong(index, value);
+        return copy;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.core;
+
+import org.example.AudioSink;
+import org.example.Difficulty;
+import org.example.FrameSnapshot;
+import org.example.GameWorld;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationLoopTest {
+
+    private static FrameSnapshot waitForFrame(SimulationLoop loop, Predicate<FrameSnapshot> done)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        FrameSnapshot frame = loop.latestFrame();
+        while (!done.test(frame) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            frame = loop.latestFrame();
+        }
+        return frame;
+    }
+
+    @Test
+    void heldKeysAreNotDroppedWhenTheQueueIsFull() throws InterruptedException {
+        GameWorld world = new GameWorld(Difficulty.EASY, AudioSink.SILENT);
+        SimulationLoop loop = new SimulationLoop(world);
+        double startX = loop.latestFrame().paddleX;
+
+        // Before the thread runs nothing drains, as if the simulation had stalled
+        int queued = 0;
+        while (loop.offerInput(InputEvent.CONTINUE)) {
+            queued++;
+        }
+        assertTrue(queued > 0);
+        assertFalse(loop.offerInput(InputEvent.CONTINUE));
+        assertTrue(loop.offerInput(InputEvent.LEFT_PRESSED));
+        assertTrue(loop.offerInput(InputEvent.PAUSE));
+        assertTrue(loop.offerInput(InputEvent.RESUME));
+
+        loop.start();
+        try {
+            FrameSnapshot moved = waitForFrame(loop, frame -> frame.paddleX < startX);
+            assertTrue(moved.paddleX < startX, "paddle never moved left");
+
+            assertTrue(loop.offerInput(InputEvent.LEFT_RELEASED));
+            Thread.sleep(50);
+            double stoppedX = loop.latestFrame().paddleX;
+            Thread.sleep(100);
+            assertEquals(stoppedX, loop.latestFrame().paddleX, "paddle kept moving after release");
+        } finally {
+            loop.stop();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpscRingTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        SpscRing ring = new SpscRing(3);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i, null));
+        }
+        assertFalse(ring.offer(4, null));
+        assertEquals(4, ring.drain((code, argument) -> { }));
+        assertTrue(ring.offer(5, null));
+    }
+
+    @Test
+    void drainsInOrderAcrossTheWrap() {
+        SpscRing ring = new SpscRing(4);
+        List<Integer> codes = new ArrayList<>();
+        List<Object> arguments = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 3; i++, next++) {
+                ring.offer(next, "arg" + next);
+            }
+            ring.drain((code, argument) -> {
+                codes.add(code);
+                arguments.add(argument);
+            });
+        }
+        for (int i = 0; i < next; i++) {
+            assertEquals(i, codes.get(i));
+            assertEquals("arg" + i, arguments.get(i));
+        }
+        assertEquals(0, ring.drain((code, argument) -> { }));
+    }
+
+    @Test
+    void concurrentConsumerGetsEveryEntryOnce() throws InterruptedException {
+        SpscRing ring = new SpscRing(64);
+        int entries = 100_000;
+        Thread producer = new Thread(() -> {
+            for (int n = 0; n < entries; n++) {
+                // Either side may have the only CPU, so waiting yields to the other
+                while (!ring.offer(n, null)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        int[] expected = {0};
+        boolean[] ordered = {true};
+        while (expected[0] < entries) {
+            int drained = ring.drain((code, argument) -> {
+                if (code != expected[0]) ordered[0] = false;
+                expected[0]++;
+            });
+            if (drained == 0) Thread.yield();
+        }
+        producer.join();
+        assertTrue(ordered[0]);
+        assertEquals(entries, expected[0]);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TripleBufferTest {
+
+    /** A frame the writer fills field by field, so a torn read shows up as a mismatch. */
+    private static final class Frame {
+        long first;
+        long second;
+    }
+
+    @Test
+    void readerGetsNewestPublishedBuffer() {
+        TripleBuffer<Frame> buffer = new TripleBuffer<>(Frame::new);
+        Frame initial = buffer.acquire();
+
+        buffer.back().first = 1;
+        buffer.publish();
+        buffer.back().first = 2;
+        buffer.publish();
+
+        // Frame 1 was never picked up and is overwritten by frame 2
+        Frame newest = buffer.acquire();
+        assertNotSame(initial, newest);
+        assertEquals(2, newest.first);
+        // Nothing new was published, so the reader keeps what it has
+        assertSame(newest, buffer.acquire());
+    }
+
+    @Test
+    void writerNeverFillsTheReadersBuffer() {
+        TripleBuffer<Frame> buffer = new TripleBuffer<>(Frame::new);
+        for (int i = 0; i < 20; i++) {
+            Frame reading = buffer.acquire();
+            assertNotSame(reading, buffer.back());
+            buffer.publish();
+            assertNotSame(reading, buffer.back());
+            if (i % 3 == 0) buffer.publish();
+        }
+    }
+
+    @Test
+    void concurrentReaderSeesWholeFramesInOrder() throws InterruptedException {
+        TripleBuffer<Frame> buffer = new TripleBuffer<>(Frame::new);
+        long frames = 200_000;
+        Thread writer = new Thread(() -> {
+            for (long n = 1; n <= frames; n++) {
+                Frame back = buffer.back();
+                back.first = n;
+                back.second = n;
+                buffer.publish();
+            }
+        });
+        AtomicReference<String> failure = new AtomicReference<>();
+        writer.start();
+        long last = 0;
+        while (last < frames && failure.get() == null) {
+            Frame frame = buffer.acquire();
+            long first = frame.first;
+            long second = frame.second;
+            if (first != second) {
+                failure.set("torn frame " + first + "/" + second);
+            } else if (first < last) {
+                failure.set("frame " + first + " after " + last);
+            } else if (first == last) {
+                // Nothing new yet; on one CPU the writer needs a turn
+                Thread.yield();
+            }
+            last = first;
+        }
+        writer.join();
+        assertNull(failure.get());
+        assertEquals(frames, buffer.acquire().first);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.level;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LevelFileTest {
+    @TempDir
+    Path dir;
+
+    private static LevelCells sample() {
+        // 5 cells so the last packed byte is only partly used
+        return LevelCompiler.pack(1, 5, new byte[] {0, 1, 2, 3, 1});
+    }
+
+    private static void assertSameCells(LevelCells expected, LevelCells actual) {
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getCols(), actual.getCols());
+        for (int i = 0; i < expected.getCellCount(); i++) {
+            assertEquals(expected.type(i), actual.type(i), "cell " + i);
+        }
+    }
+
+    @Test
+    void textRoundTripsThroughCompiledFile() throws IOException {
+        Path text = dir.resolve("1.txt");
+        Files.writeString(text, "1 2 3\n0 1 0\n3 3 3\n\n");
+        LevelCells parsed = LevelCompiler.parse(text);
+        assertEquals(3, parsed.getRows());
+        assertEquals(3, parsed.getCols());
+        assertEquals(LevelCells.STRONG, parsed.type(1));
+        assertEquals(LevelCells.EMPTY, parsed.type(3));
+
+        Path compiled = dir.resolve("1.lvl");
+        LevelFile.write(compiled, parsed);
+        assertSameCells(parsed, LevelFile.read(compiled));
+        assertEquals("1 2 3\n0 1 0\n3 3 3\n", LevelCompiler.toText(LevelFile.read(compiled)));
+    }
+
+    @Test
+    void readsInPlaceFromABuffer() throws IOException {
+        Path compiled = dir.resolve("1.lvl");
+        LevelFile.write(compiled, sample());
+        byte[] bytes = Files.readAllBytes(compiled);
+        // As a slice of a larger buffer, the way an asset pack hands it out
+        ByteBuffer pack = ByteBuffer.allocate(bytes.length + 8);
+        pack.position(4);
+        pack.put(bytes);
+        ByteBuffer slice = pack.position(4).limit(4 + bytes.length).slice();
+        assertSameCells(sample(), LevelFile.read(slice, "packed"));
+    }
+
+    @Test
+    void rejectsBadChecksum() throws IOException {
+        Path compiled = dir.resolve("1.lvl");
+        LevelFile.write(compiled, sample());
+        byte[] bytes = Files.readAllBytes(compiled);
+        bytes[LevelFile.HEADER_BYTES] ^= 1;
+        Files.write(compiled, bytes);
+        IOException e = assertThrows(IOException.class, () -> LevelFile.read(compiled));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path compiled = dir.resolve("1.lvl");
+        LevelFile.write(compiled, sample());
+        byte[] bytes = Files.readAllBytes(compiled);
+        Files.write(compiled, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> LevelFile.read(compiled));
+        Files.write(compiled, Arrays.copyOf(bytes, LevelFile.HEADER_BYTES - 1));
+        assertThrows(IOException.class, () -> LevelFile.read(compiled));
+    }
+
+    @Test
+    void rejectsWrongMagic() throws IOException {
+        Path compiled = dir.resolve("1.lvl");
+        LevelFile.write(compiled, sample());
+        byte[] bytes = Files.readAllBytes(compiled);
+        bytes[0] = 'X';
+        Files.write(compiled, bytes);
+        assertThrows(IOException.class, () -> LevelFile.read(compiled));
+    }
+
+    @Test
+    void rejectsCellCountThatDoesNotMatchSize() throws IOException {
+        Path compiled = dir.resolve("1.lvl");
+        LevelFile.write(compiled, sample());
+        byte[] bytes = Files.readAllBytes(compiled);
+        // Claim 2 rows; the size no longer fits
+        bytes[8] = 2;
+        Files.write(compiled, bytes);
+        assertThrows(IOException.class, () -> LevelFile.read(compiled));
+    }
+
+    @Test
+    void rejectsMalformedText() throws IOException {
+        Path text = dir.resolve("bad.txt");
+        Files.writeString(text, "1 1 1\n1 1\n");
+        IOException ragged = assertThrows(IOException.class, () -> LevelCompiler.parse(text));
+        assertTrue(ragged.getMessage().contains(":2:"), ragged.getMessage());
+        Files.writeString(text, "1 4 1\n");
+        assertThrows(IOException.class, () -> LevelCompiler.parse(text));
+        Files.writeString(text, "\n\n");
+        assertThrows(IOException.class, () -> LevelCompiler.parse(text));
+    }
+}